@@ -23,6 +23,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.reactor.core)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -34,6 +37,19 @@ java {
     sourceCompatibility = JavaVersion.VERSION_17
 }
 
+// benchmark source set (src/jmh), compiled against the application classes and dependencies
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
+}
+
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
@@ -49,4 +65,21 @@ tasks.getByName("jar") {
 tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
+    // run tests on another JDK (e.g. -PtestJavaVersion=21 for the virtual-thread load tests)
+    findProperty("testJavaVersion")?.let { version ->
+        javaLauncher.set(javaToolchains.launcherFor {
+            languageVersion.set(JavaLanguageVersion.of(version.toString()))
+        })
+    }
+}
+// benchmark tasks
+// e.g. ./gradlew jmh -Pjmh.include=SyncCharge -Pjmh.threads=1,4,16
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks for each thread count and writes JSON results to build/reports/jmh."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.benchmark.PointBenchmarkMain")
+    systemProperty("jmh.include", findProperty("jmh.include") ?: ".*Benchmark.*")
+    systemProperty("jmh.threads", findProperty("jmh.threads") ?: "1,4,16")
+    systemProperty("jmh.resultDir", layout.buildDirectory.dir("reports/jmh").get().asFile.path)
 }
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 PointHistoryTable
+ * 지연 없이 내역 id만 발급하고 내역은 보관하지 않습니다(측정 중 수천만 건의 내역이 메모리에 쌓이지 않도록).
+ */
+public class NoThrottlePointHistoryTable extends PointHistoryTable {
+
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 벤치마크용 UserPointTable
+ * 테이블의 임의 지연(throttle)이 측정값을 지배하지 않도록, 지연 없이 메모리에서 조회/반영합니다.
+ */
+public class NoThrottleUserPointTable extends UserPointTable {
+
+    private final LongPointMap table = new LongPointMap();
+
+    @Override
+    public UserPoint selectById(Long id) {
+        UserPoint userPoint = table.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        table.put(id, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    @Override
+    public void restore(long id, long point, long updateMillis) {
+        table.put(id, point, updateMillis);
+    }
+
+    @Override
+    public void forEach(LongPointMap.EntryVisitor visitor) {
+        table.forEach(visitor);
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.database.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.database.LongPointMap;
+import io.hhplus.tdd.point.UserPoint;
+
+/*
+ * UserPointTable 저장 구조별 메모리 사용량 벤치마크
+ * - boxedMap : 기존 구조(ConcurrentHashMap<Long, UserPoint>)
+ * - longPointMap : primitive 배열 기반 open addressing 맵(LongPointMap)
+ * entries명의 사용자를 저장한 뒤 GC 이후 늘어난 힙 사용량을 사용자당 바이트(bytesPerEntry)로 기록한다.
+ * EVENTS 카운터는 측정 반복(iteration)마다 합산되므로 측정은 한 번만 반복한다.
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UserPointTableFootprintBenchmark {
+
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+	@Param({"1000000", "10000000"})
+	int entries;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Footprint {
+		public long bytesPerEntry;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytesPerEntry = 0;
+		}
+	}
+
+	@Benchmark
+	public Object boxedMap(Footprint footprint) {
+		long before = usedHeap();
+		Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+		for (long id = 1; id <= entries; id++) {
+			table.put(id, new UserPoint(id, id, id));
+		}
+		footprint.bytesPerEntry = (usedHeap() - before) / entries;
+		return table;
+	}
+
+	@Benchmark
+	public Object longPointMap(Footprint footprint) {
+		long before = usedHeap();
+		LongPointMap table = new LongPointMap();
+		for (long id = 1; id <= entries; id++) {
+			table.put(id, id, id);
+		}
+		footprint.bytesPerEntry = (usedHeap() - before) / entries;
+		return table;
+	}
+
+	//도달할 수 없는 객체를 정리한 뒤의 힙 사용량
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return MEMORY.getHeapMemoryUsage().getUsed();
+	}
+}
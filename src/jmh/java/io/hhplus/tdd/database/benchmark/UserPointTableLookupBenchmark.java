@@ -0,0 +1,77 @@
+package io.hhplus.tdd.database.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.database.LongPointMap;
+import io.hhplus.tdd.point.UserPoint;
+
+/*
+ * UserPointTable 저장 구조별 조회/반영 처리량 벤치마크
+ * -prof gc 옵션으로 실행하면 연산당 할당량(gc.alloc.rate.norm)을 함께 비교할 수 있다.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPointTableLookupBenchmark {
+
+	@Param({"1000000"})
+	int entries;
+
+	private Map<Long, UserPoint> boxedMap;
+
+	private LongPointMap longPointMap;
+
+	@Setup
+	public void setUp() {
+		boxedMap = new ConcurrentHashMap<>();
+		longPointMap = new LongPointMap();
+		for (long id = 1; id <= entries; id++) {
+			boxedMap.put(id, new UserPoint(id, id, id));
+			longPointMap.put(id, id, id);
+		}
+	}
+
+	@Benchmark
+	public long boxedMapSelect() {
+		return boxedMap.get(nextId()).point();
+	}
+
+	@Benchmark
+	public long longPointMapSelect() {
+		return longPointMap.point(nextId(), 0L);
+	}
+
+	@Benchmark
+	public void boxedMapUpdate() {
+		long id = nextId();
+		boxedMap.put(id, new UserPoint(id, id, System.currentTimeMillis()));
+	}
+
+	@Benchmark
+	public void longPointMapUpdate() {
+		long id = nextId();
+		longPointMap.put(id, id, System.currentTimeMillis());
+	}
+
+	private long nextId() {
+		return ThreadLocalRandom.current().nextLong(1, entries + 1L);
+	}
+}
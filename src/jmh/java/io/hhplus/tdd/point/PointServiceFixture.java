@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.NoThrottleUserPointTable;
+import io.hhplus.tdd.point.actor.PointMailboxEngine;
+import io.hhplus.tdd.point.atomic.AtomicPointStore;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+
+/*
+ * 벤치마크용 PointService 구성
+ * 스프링 컨텍스트 없이 지연 없는 테이블로 PointService를 구성하고, application.yml의 기본 설정을 따른다.
+ * 지표를 지정하지 않으면 아무것도 기록하지 않는 PointMetrics를 사용한다.
+ * */
+public class PointServiceFixture {
+
+	private final PointService pointService = new PointService();
+
+	private final PointMailboxEngine pointMailboxEngine;
+
+	private final PointHistoryWriter pointHistoryWriter;
+
+	private final AtomicPointStore atomicPointStore;
+
+	public PointServiceFixture(PointEngine engine, boolean groupCommitEnabled) {
+		this(engine, groupCommitEnabled, PointMetrics.noop());
+	}
+
+	public PointServiceFixture(PointEngine engine, boolean groupCommitEnabled, PointMetrics pointMetrics) {
+		NoThrottlePointHistoryTable pointHistoryTable = new NoThrottlePointHistoryTable();
+		this.pointMailboxEngine = new PointMailboxEngine(0, 10000, 10000L);
+		this.pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, true, 10000, 100, 4);
+		NoThrottleUserPointTable userPointTable = new NoThrottleUserPointTable();
+		UserPointCache userPointCache = new UserPointCache(userPointTable, true, 100000, 60000L);
+		this.atomicPointStore = new AtomicPointStore(userPointCache, 4, 100000);
+
+		pointService.pointHistoryTable = pointHistoryTable;
+		pointService.userPointCache = userPointCache;
+		pointService.userPointTable = userPointTable;
+		pointService.pointHistoryWriter = pointHistoryWriter;
+		pointService.userLockManager = new UserLockManager(true, 10000L, pointMetrics);
+		pointService.pointMailboxEngine = pointMailboxEngine;
+		pointService.atomicPointStore = atomicPointStore;
+		pointService.pointMetrics = pointMetrics;
+		pointService.engine = engine;
+		pointService.batchMaxOperations = 10000;
+		pointService.batchParallelism = 16;
+		pointService.groupCommitEnabled = groupCommitEnabled;
+		pointService.groupCommitWindowMillis = 1L;
+		pointService.startExecutors();
+	}
+
+	public PointService pointService() {
+		return pointService;
+	}
+
+	public void close() throws InterruptedException {
+		pointService.shutdownExecutors();
+		pointMailboxEngine.shutdown();
+		atomicPointStore.flush();
+		pointHistoryWriter.flush();
+	}
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * 벤치마크 요청의 사용자 id 분포
+ * - UNIFORM : 모든 사용자에게 고르게 요청한다.
+ * - ZIPF : 순위가 높은 소수의 사용자(hot key)에게 요청이 몰린다. k번째 사용자의 요청 비율은 1/k^s에 비례한다.
+ * */
+public enum KeyDistribution {
+	UNIFORM, ZIPF;
+
+	//Zipf 분포의 지수(s), 클수록 상위 사용자에게 요청이 더 몰린다
+	private static final double ZIPF_EXPONENT = 1.0;
+
+	/*
+	 * userCount명의 사용자 중 하나를 고르는 표본 추출기를 만든다.
+	 * ZIPF는 누적 분포를 미리 계산해두고 이진 탐색으로 표본을 추출한다.
+	 * */
+	public KeySampler sampler(int userCount) {
+		if(this == UNIFORM)
+			return () -> ThreadLocalRandom.current().nextInt(userCount);
+
+		double[] cumulative = new double[userCount];
+		double sum = 0;
+		for (int rank = 1; rank <= userCount; rank++) {
+			sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+			cumulative[rank - 1] = sum;
+		}
+		double total = sum;
+		return () -> {
+			int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble() * total);
+			return Math.min(index < 0 ? -index - 1 : index, userCount - 1);
+		};
+	}
+
+	@FunctionalInterface
+	public interface KeySampler {
+		//0 이상 userCount 미만의 사용자 순번
+		int next();
+	}
+}
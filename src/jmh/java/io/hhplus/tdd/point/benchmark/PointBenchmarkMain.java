@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.NoBenchmarksException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * 스레드 수별로 벤치마크를 실행하고 결과를 JSON으로 기록한다.
+ * - jmh.include : 실행할 벤치마크(정규식)
+ * - jmh.threads : 쉼표로 구분한 스레드 수 목록
+ * - jmh.resultDir : 결과를 기록할 디렉터리, 스레드 수마다 results-threads-{n}.json 파일로 기록한다.
+ * 메모리 사용량 벤치마크(*Footprint*)는 동시 실행 시 측정값이 섞이므로 단일 스레드로 한 번만 실행하여 results-footprint.json에 기록한다.
+ * */
+public class PointBenchmarkMain {
+
+	private static final String FOOTPRINT = ".*Footprint.*";
+
+	public static void main(String[] args) throws RunnerException {
+		String include = System.getProperty("jmh.include", ".*Benchmark.*");
+		int[] threadCounts = Arrays.stream(System.getProperty("jmh.threads", "1,4,16").split(","))
+				.map(String::trim)
+				.mapToInt(Integer::parseInt)
+				.toArray();
+		File resultDir = new File(System.getProperty("jmh.resultDir", "build/reports/jmh"));
+		resultDir.mkdirs();
+
+		//include 여러 개는 OR로 동작하므로, 전방 탐색으로 jmh.include와 FOOTPRINT를 모두 만족하는 벤치마크만 고른다
+		run(new OptionsBuilder()
+				.include("^(?=" + FOOTPRINT + ")(?=.*(?:" + include + "))")
+				.threads(1)
+				.resultFormat(ResultFormatType.JSON)
+				.result(new File(resultDir, "results-footprint.json").getPath())
+				.build());
+
+		for (int threads : threadCounts) {
+			Options options = new OptionsBuilder()
+					.include(include)
+					.exclude(FOOTPRINT)
+					.threads(threads)
+					.resultFormat(ResultFormatType.JSON)
+					.result(new File(resultDir, "results-threads-" + threads + ".json").getPath())
+					.build();
+			run(options);
+		}
+	}
+
+	//jmh.include에 해당하는 벤치마크가 없는 실행은 건너뛴다
+	private static void run(Options options) throws RunnerException {
+		try {
+			new Runner(options).run();
+		} catch(NoBenchmarksException e) {
+			System.out.println("실행할 벤치마크가 없습니다 : " + options.getIncludes());
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.point.PointEngine;
+import io.hhplus.tdd.point.PointServiceFixture;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * PointService의 동시성 제어 방식별 충전 처리량 벤치마크
+ * - syncCharge1 ~ syncCharge4 : 동시성 검증용 서비스(synchronized 메소드/블록, ConcurrentHashMap, ReentrantLock)
+ * - userLock / mailbox / atomic / groupCommit : 충전/사용 API의 동시성 제어 방식(LOCK, ACTOR, ATOMIC, 그룹 커밋)
+ * - userLockMetered : userLock과 같고, 지연 시간 분포와 이벤트 수를 실제로 기록한다(userLock과의 차이가 지표 기록 비용)
+ * 경합 수준은 사용자 수(userCount)와 사용자 id 분포(distribution)로, 스레드 수는 PointBenchmarkMain에서 조절한다.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointChargeBenchmark {
+
+	//사용자 포인트를 사용해도 잔액이 부족하지 않도록 미리 충전해두는 포인트
+	private static final long INITIAL_POINT = 5000L;
+
+	private static final long AMOUNT = 1L;
+
+	//사용자 수가 적을수록 동일 사용자에 대한 경합이 커진다
+	@Param({"1", "64", "4096"})
+	int userCount;
+
+	@Param({"UNIFORM", "ZIPF"})
+	KeyDistribution distribution;
+
+	private PointServiceFixture syncFixture;
+
+	private PointServiceFixture lockFixture;
+
+	private PointServiceFixture meteredLockFixture;
+
+	private PointServiceFixture mailboxFixture;
+
+	private PointServiceFixture atomicFixture;
+
+	private PointServiceFixture groupCommitFixture;
+
+	private KeyDistribution.KeySampler sampler;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		syncFixture = new PointServiceFixture(PointEngine.LOCK, false);
+		lockFixture = new PointServiceFixture(PointEngine.LOCK, false);
+		meteredLockFixture = new PointServiceFixture(PointEngine.LOCK, false, new PointMetrics(new SimpleMeterRegistry(), 60000L));
+		mailboxFixture = new PointServiceFixture(PointEngine.ACTOR, false);
+		atomicFixture = new PointServiceFixture(PointEngine.ATOMIC, false);
+		groupCommitFixture = new PointServiceFixture(PointEngine.LOCK, true);
+		sampler = distribution.sampler(userCount);
+
+		for (long userId = 0; userId < userCount; userId++) {
+			lockFixture.pointService().charge(userId, INITIAL_POINT);
+			meteredLockFixture.pointService().charge(userId, INITIAL_POINT);
+			mailboxFixture.pointService().charge(userId, INITIAL_POINT);
+			atomicFixture.pointService().charge(userId, INITIAL_POINT);
+			groupCommitFixture.pointService().charge(userId, INITIAL_POINT);
+		}
+		syncFixture.pointService().initPoint();
+		syncFixture.pointService().initConcurrentHashMap();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		syncFixture.close();
+		lockFixture.close();
+		meteredLockFixture.close();
+		mailboxFixture.close();
+		atomicFixture.close();
+		groupCommitFixture.close();
+	}
+
+	/*
+	 * 스레드마다 충전과 사용을 번갈아 요청하여, 측정 시간과 관계없이 잔액이 포인트 정책 범위 안에 머물도록 한다.
+	 * */
+	@State(Scope.Thread)
+	public static class Turn {
+		private boolean charge;
+
+		boolean next() {
+			charge = !charge;
+			return charge;
+		}
+	}
+
+	@Benchmark
+	public long syncCharge1() {
+		return syncFixture.pointService().syncCharge1(sampler.next(), AMOUNT);
+	}
+
+	@Benchmark
+	public long syncCharge2() {
+		return syncFixture.pointService().syncCharge2(sampler.next(), AMOUNT);
+	}
+
+	@Benchmark
+	public long syncCharge3() {
+		return syncFixture.pointService().syncCharge3(sampler.next(), AMOUNT);
+	}
+
+	@Benchmark
+	public UserPoint syncCharge4() throws InterruptedException {
+		return syncFixture.pointService().syncCharge4(sampler.next(), AMOUNT);
+	}
+
+	@Benchmark
+	public UserPoint userLock(Turn turn) throws Exception {
+		return chargeOrUse(lockFixture, turn);
+	}
+
+	@Benchmark
+	public UserPoint userLockMetered(Turn turn) throws Exception {
+		return chargeOrUse(meteredLockFixture, turn);
+	}
+
+	@Benchmark
+	public UserPoint mailbox(Turn turn) throws Exception {
+		return chargeOrUse(mailboxFixture, turn);
+	}
+
+	@Benchmark
+	public UserPoint atomic(Turn turn) throws Exception {
+		return chargeOrUse(atomicFixture, turn);
+	}
+
+	@Benchmark
+	public UserPoint groupCommit(Turn turn) throws Exception {
+		return chargeOrUse(groupCommitFixture, turn);
+	}
+
+	private UserPoint chargeOrUse(PointServiceFixture fixture, Turn turn) throws Exception {
+		long userId = sampler.next();
+		if(turn.next())
+			return fixture.pointService().charge(userId, AMOUNT);
+
+		return fixture.pointService().use(userId, AMOUNT);
+	}
+}
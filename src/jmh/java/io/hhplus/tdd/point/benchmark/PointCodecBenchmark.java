@@ -0,0 +1,139 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+
+/*
+ * 포인트 API 본문 변환 처리량 벤치마크(Jackson JSON과 binary 형식 비교)
+ * - *UserPoint : 충전/사용/조회 응답(UserPoint) 쓰기
+ * - *Histories : 내역 조회 응답(List<PointHistory>) 쓰기
+ * - *Operations : 일괄 처리 요청(List<PointOperation>) 읽기
+ * - *Results : 일괄 처리 응답(List<PointOperationResult>, 10건마다 1건 실패) 쓰기
+ * 쓰기는 HttpMessageConverter처럼 본문 전체를 바이트 배열로 만드는 비용이며, 목록 크기는 items로 조절한다.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointCodecBenchmark {
+
+	@Param({"1", "100"})
+	int items;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private ObjectWriter jsonWriter;
+
+	private ObjectReader operationsReader;
+
+	private UserPoint userPoint;
+
+	private List<PointHistory> histories;
+
+	private List<PointOperationResult> results;
+
+	private byte[] operationsJson;
+
+	private byte[] operationsBinary;
+
+	@Setup
+	public void setUp() throws IOException {
+		jsonWriter = objectMapper.writer();
+		operationsReader = objectMapper.readerFor(new TypeReference<List<PointOperation>>() {});
+
+		long millis = System.currentTimeMillis();
+		userPoint = new UserPoint(1L, 123_456L, millis);
+		histories = new ArrayList<>(items);
+		List<PointOperation> operations = new ArrayList<>(items);
+		results = new ArrayList<>(items);
+		for (int i = 0; i < items; i++) {
+			TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			histories.add(new PointHistory(i + 1, i, 1000L + i, type, millis + i));
+			PointOperation operation = new PointOperation(i, type, 100L + i);
+			operations.add(operation);
+			results.add(i % 10 == 9
+					? PointOperationResult.failure(i, operation, "잔고(0)가 부족합니다.")
+					: PointOperationResult.success(i, operation, new UserPoint(i, 1000L + i, millis)));
+		}
+
+		operationsJson = objectMapper.writeValueAsBytes(operations);
+		ByteBuffer buffer = ByteBuffer.allocate(PointBinaryCodec.operationsSize(operations));
+		PointBinaryCodec.putOperations(buffer, operations);
+		operationsBinary = buffer.array();
+	}
+
+	@Benchmark
+	public byte[] jacksonUserPoint() throws IOException {
+		return jsonWriter.writeValueAsBytes(userPoint);
+	}
+
+	@Benchmark
+	public byte[] binaryUserPoint() {
+		ByteBuffer buffer = ByteBuffer.allocate(PointBinaryCodec.USER_POINT_BYTES);
+		PointBinaryCodec.putUserPoint(buffer, userPoint);
+		return buffer.array();
+	}
+
+	@Benchmark
+	public byte[] jacksonHistories() throws IOException {
+		return jsonWriter.writeValueAsBytes(histories);
+	}
+
+	@Benchmark
+	public byte[] binaryHistories() {
+		ByteBuffer buffer = ByteBuffer.allocate(PointBinaryCodec.historiesSize(histories));
+		PointBinaryCodec.putHistories(buffer, histories);
+		return buffer.array();
+	}
+
+	@Benchmark
+	public List<PointOperation> jacksonOperations() throws IOException {
+		return operationsReader.readValue(operationsJson);
+	}
+
+	@Benchmark
+	public List<PointOperation> binaryOperations() {
+		return PointBinaryCodec.getOperations(ByteBuffer.wrap(operationsBinary));
+	}
+
+	@Benchmark
+	public byte[] jacksonResults() throws IOException {
+		return jsonWriter.writeValueAsBytes(results);
+	}
+
+	@Benchmark
+	public byte[] binaryResults() {
+		ByteBuffer buffer = ByteBuffer.allocate(PointBinaryCodec.resultsSize(results));
+		PointBinaryCodec.putResults(buffer, results);
+		return buffer.array();
+	}
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.journal.PointJournal;
+
+/*
+ * journal 복구(기동) 처리량 벤치마크
+ * - replay : RECORDS건의 충전/사용 기록을 모두 재생한다.
+ * - snapshotAndTail : 기록의 90%를 담은 스냅샷과 내역 보관 파일을 적재하고, 나머지 10%의 기록만 재생한다.
+ * 결과는 초당 복구한 기록 수(RECORDS / 기동 시간)로, 두 결과의 비율이 스냅샷으로 줄어든 기동 시간의 비율이다.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:MaxDirectMemorySize=2g"})
+public class PointJournalReplayBenchmark {
+
+	private static final int RECORDS = 1_000_000;
+
+	private static final int USER_COUNT = 10_000;
+
+	//스냅샷이 포함하는 segment가 내역 보관 파일로 압축되어 삭제되도록 segment 하나에 약 10만 건의 기록을 담는다
+	private static final long SEGMENT_BYTES = 4L * 1024 * 1024;
+
+	private Path journalDirectory;
+
+	private Path snapshotDirectory;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		journalDirectory = write(RECORDS);
+		snapshotDirectory = write(RECORDS / 10 * 9);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		delete(journalDirectory);
+		delete(snapshotDirectory);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECORDS)
+	public Object replay() throws IOException {
+		return recover(journalDirectory);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECORDS)
+	public Object snapshotAndTail() throws IOException {
+		return recover(snapshotDirectory);
+	}
+
+	private UserPointTable recover(Path directory) throws IOException {
+		UserPointTable userPointTable = new UserPointTable();
+		PointJournal journal = journal(directory, userPointTable, new PointHistoryTable());
+		journal.open();
+		journal.close();
+		return userPointTable;
+	}
+
+	//RECORDS건의 기록을 남기고, snapshotAt건을 기록한 시점에 스냅샷을 남긴다
+	private Path write(int snapshotAt) throws IOException {
+		Path directory = Files.createTempDirectory("point-journal-benchmark");
+		PointJournal journal = journal(directory, new UserPointTable(), new PointHistoryTable());
+		journal.open();
+		for (int i = 0; i < RECORDS; i++) {
+			if(i == snapshotAt)
+				journal.snapshot();
+
+			journal.append(i % USER_COUNT, i, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+		}
+		journal.close();
+		return directory;
+	}
+
+	private void delete(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	private PointJournal journal(Path directory, UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+		return new PointJournal(userPointTable, pointHistoryTable, true, directory.toString(), SEGMENT_BYTES, 1000, 0L, 0L);
+	}
+}
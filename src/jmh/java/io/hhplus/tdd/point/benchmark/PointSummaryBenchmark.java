@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.summary.PointSummary;
+import io.hhplus.tdd.point.summary.PointSummaryStore;
+
+/*
+ * 내역 요약 조회 처리량 벤치마크
+ * - summary : 내역이 추가될 때마다 갱신된 요약을 조회한다.
+ * - histories : 요약 대신 사용자의 전체 내역을 조회한다(요약을 조회할 때마다 계산하는 비용의 하한).
+ * 사용자 한 명에게 하루 histories건씩 5일 동안의 내역(충전 10포인트, 사용 5포인트 반복)을 추가하며,
+ * summary의 처리량은 내역 수와 관계없이 일정하고 histories의 처리량은 내역 수에 반비례해야 한다.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointSummaryBenchmark {
+
+	private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+	private static final long USER_ID = 1L;
+
+	@Param({"1000", "10000"})
+	int histories;
+
+	private PointHistoryTable pointHistoryTable;
+
+	private PointSummaryStore pointSummaryStore;
+
+	@Setup
+	public void setUp() {
+		pointHistoryTable = new PointHistoryTable();
+		pointSummaryStore = new PointSummaryStore(pointHistoryTable, true, "Asia/Seoul", 3);
+		long startMillis = System.currentTimeMillis() - 5 * DAY_MILLIS;
+		long point = 0L;
+		for (int day = 0; day < 5; day++) {
+			for (int i = 0; i < histories; i++) {
+				boolean charge = i % 2 == 0;
+				point += charge ? 10L : -5L;
+				pointHistoryTable.restore(USER_ID, point, charge ? TransactionType.CHARGE : TransactionType.USE, startMillis + day * DAY_MILLIS + i);
+			}
+		}
+	}
+
+	@Benchmark
+	public PointSummary summary() {
+		return pointSummaryStore.summary(USER_ID);
+	}
+
+	@Benchmark
+	public List<PointHistory> histories() {
+		return pointHistoryTable.selectAllByUserId(USER_ID);
+	}
+}
@@ -1,5 +1,9 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointPolicyException;
+import io.hhplus.tdd.point.idempotency.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.lock.PointQueueTimeoutException;
+import io.hhplus.tdd.point.shard.ShardUnavailableException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -17,6 +21,31 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "ExecutionException 에러가 발생했습니다."));
     }
     
+    @ExceptionHandler(value = PointPolicyException.class)
+    public ResponseEntity<ErrorResponse> PointPolicyException(PointPolicyException e) {
+        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    }
+    
+    @ExceptionHandler(value = IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> IdempotencyKeyConflictException(IdempotencyKeyConflictException e) {
+        return ResponseEntity.status(422).body(new ErrorResponse("422", e.getMessage()));
+    }
+    
+    @ExceptionHandler(value = PointQueueTimeoutException.class)
+    public ResponseEntity<ErrorResponse> PointQueueTimeoutException(PointQueueTimeoutException e) {
+        return ResponseEntity.status(429).body(new ErrorResponse("429", e.getMessage()));
+    }
+    
+    @ExceptionHandler(value = ShardUnavailableException.class)
+    public ResponseEntity<ErrorResponse> ShardUnavailableException(ShardUnavailableException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503", e.getMessage()));
+    }
+    
+    @ExceptionHandler(value = java.util.concurrent.RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> RejectedExecutionException(Exception e) {
+        return ResponseEntity.status(429).body(new ErrorResponse("429", "요청 대기열이 가득 찼습니다."));
+    }
+    
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
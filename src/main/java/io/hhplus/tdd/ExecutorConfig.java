@@ -0,0 +1,35 @@
+package io.hhplus.tdd;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * 요청 처리 스레드 실행 방식
+ * - PLATFORM(기본) : Tomcat의 플랫폼 스레드 풀(server.tomcat.threads.max)에서 요청을 처리한다.
+ * - VIRTUAL : 요청마다 가상 스레드를 생성하여 처리한다.
+ *   테이블의 throttle()처럼 스레드가 대부분의 시간을 대기(park)하는 경우, 스레드 풀 크기에 묶이지 않고 동시 요청을 수용할 수 있다.
+ *   PointService의 임계영역은 ReentrantLock(UserLockManager)을 사용하므로 대기 중 캐리어 스레드가 고정(pinning)되지 않는다.
+ * */
+@Configuration
+class ExecutorConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutorConfig.class);
+
+	@Bean
+	@ConditionalOnProperty(name = "point.executor", havingValue = "VIRTUAL")
+	TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> {
+			if(!VirtualThreads.isSupported()) {
+				log.warn("가상 스레드를 지원하지 않는 JVM({})이므로 플랫폼 스레드로 요청을 처리합니다.", Runtime.version());
+				return;
+			}
+
+			protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+		};
+	}
+}
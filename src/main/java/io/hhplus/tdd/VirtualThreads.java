@@ -0,0 +1,45 @@
+package io.hhplus.tdd;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * 가상 스레드(virtual thread) 실행기를 생성한다.
+ * 프로젝트는 Java 17로 컴파일되므로, Java 21 이상에서 실행될 때에만 리플렉션으로 가상 스레드 실행기를 찾아 사용한다.
+ * */
+public final class VirtualThreads {
+
+	private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = find();
+
+	private VirtualThreads() {
+	}
+
+	//현재 실행 중인 JVM이 가상 스레드를 지원하는지 여부
+	public static boolean isSupported() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	//요청(task)마다 새로운 가상 스레드를 생성하는 실행기
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		if(!isSupported())
+			throw new UnsupportedOperationException("가상 스레드는 Java 21 이상에서만 사용할 수 있습니다.");
+
+		try {
+			return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+		} catch(Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandle find() {
+		try {
+			return MethodHandles.publicLookup().findStatic(
+					Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+		} catch(NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package io.hhplus.tdd.database;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * 포인트 내역의 off-heap 열(column) 저장소입니다.
+ * - 내역은 고정 폭 행(row)으로 저장하며, 행 번호는 내역 id - 1 입니다.
+ * - 행은 chunkRows개씩 묶인 direct ByteBuffer(chunk)에 저장되고, 필요한 chunk만 차례로 할당합니다.
+ * - chunk 안에서는 열마다 연속된 구간(userId, amount, updateMillis, next, type)에 값을 저장합니다.
+ * - next는 같은 사용자의 다음 행 번호(없다면 -1)로, 사용자별 내역을 행 단위로 연결합니다.
+ * 내역이 힙 객체로 보관되지 않으므로 내역이 늘어나도 힙 사용량과 GC 대상은 늘어나지 않습니다.
+ * 같은 행에 대한 쓰기와 읽기의 가시성은 호출자(사용자별 내역의 락)가 보장합니다.
+ */
+final class HistoryColumns {
+
+    private static final int USER_ID = 0;
+    private static final int AMOUNT = 1;
+    private static final int UPDATE_MILLIS = 2;
+    private static final int NEXT = 3;
+    private static final int LONG_COLUMNS = 4;
+
+    //long 열 4개와 type(byte) 열 1개
+    static final int ROW_BYTES = LONG_COLUMNS * Long.BYTES + Byte.BYTES;
+
+    private final int chunkBits;
+    private final int chunkRows;
+
+    //chunk 배열은 교체(copy-on-grow)로만 늘어나므로 읽기는 락 없이 volatile 참조로 처리합니다
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+    HistoryColumns(int chunkBits) {
+        this.chunkBits = chunkBits;
+        this.chunkRows = 1 << chunkBits;
+    }
+
+    void write(long row, long userId, long amount, byte type, long updateMillis) {
+        ByteBuffer chunk = chunkForWrite(row);
+        int index = indexOf(row);
+        chunk.putLong(offset(USER_ID, index), userId);
+        chunk.putLong(offset(AMOUNT, index), amount);
+        chunk.putLong(offset(UPDATE_MILLIS, index), updateMillis);
+        chunk.putLong(offset(NEXT, index), -1L);
+        chunk.put(LONG_COLUMNS * Long.BYTES * chunkRows + index, type);
+    }
+
+    void link(long row, long nextRow) {
+        chunk(row).putLong(offset(NEXT, indexOf(row)), nextRow);
+    }
+
+    long userId(long row) {
+        return chunk(row).getLong(offset(USER_ID, indexOf(row)));
+    }
+
+    long amount(long row) {
+        return chunk(row).getLong(offset(AMOUNT, indexOf(row)));
+    }
+
+    long updateMillis(long row) {
+        return chunk(row).getLong(offset(UPDATE_MILLIS, indexOf(row)));
+    }
+
+    long next(long row) {
+        return chunk(row).getLong(offset(NEXT, indexOf(row)));
+    }
+
+    byte type(long row) {
+        return chunk(row).get(LONG_COLUMNS * Long.BYTES * chunkRows + indexOf(row));
+    }
+
+    //할당된 off-heap 메모리 크기
+    long allocatedBytes() {
+        return (long) chunkCount() * chunkRows * ROW_BYTES;
+    }
+
+    private int chunkCount() {
+        int count = 0;
+        for (ByteBuffer chunk : chunks) {
+            if (chunk != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private ByteBuffer chunk(long row) {
+        return chunks[(int) (row >>> chunkBits)];
+    }
+
+    private ByteBuffer chunkForWrite(long row) {
+        int chunkIndex = (int) (row >>> chunkBits);
+        ByteBuffer[] current = chunks;
+        if (chunkIndex < current.length && current[chunkIndex] != null) {
+            return current[chunkIndex];
+        }
+        return allocate(chunkIndex);
+    }
+
+    /*
+     * 행 번호(id)는 여러 사용자에게 동시에 발급되므로, 앞선 chunk가 아직 할당되지 않았더라도 필요한 chunk를 할당합니다.
+     * 배열을 늘릴 때는 두 배로 늘려 교체 횟수를 줄입니다.
+     */
+    private synchronized ByteBuffer allocate(int chunkIndex) {
+        ByteBuffer[] current = chunks;
+        if (chunkIndex < current.length && current[chunkIndex] != null) {
+            return current[chunkIndex];
+        }
+
+        ByteBuffer[] grown = chunkIndex < current.length
+                ? current.clone()
+                : Arrays.copyOf(current, Math.max(chunkIndex + 1, current.length * 2));
+        grown[chunkIndex] = ByteBuffer.allocateDirect(chunkRows * ROW_BYTES).order(ByteOrder.nativeOrder());
+        chunks = grown;
+        return grown[chunkIndex];
+    }
+
+    private int indexOf(long row) {
+        return (int) (row & (chunkRows - 1));
+    }
+
+    private int offset(int column, int index) {
+        return (column * chunkRows + index) * Long.BYTES;
+    }
+}
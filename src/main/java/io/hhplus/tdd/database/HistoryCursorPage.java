@@ -0,0 +1,15 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.List;
+
+/**
+ * cursor로 조회한 사용자 내역 페이지입니다.
+ * cursor는 페이지의 마지막 내역이 사용자의 몇 번째 내역인지(비어 있다면 요청한 cursor)로, 다음 페이지를 조회할 때 전달합니다.
+ */
+public record HistoryCursorPage(
+        List<PointHistory> histories,
+        long cursor
+) {
+}
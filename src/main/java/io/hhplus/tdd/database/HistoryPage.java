@@ -0,0 +1,77 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 내역을 PointHistory 객체 없이 읽어 오는 재사용 가능한 페이지입니다.
+ * 페이지 크기만큼의 primitive 배열만 사용하므로, 같은 페이지로 여러 번 읽으면 읽는 내역 수와 관계없이 메모리 사용량이 일정합니다.
+ */
+public final class HistoryPage {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long[] ids;
+    private final long[] userIds;
+    private final long[] amounts;
+    private final long[] updateMillis;
+    private final byte[] types;
+    private int size;
+
+    public HistoryPage(int capacity) {
+        this.ids = new long[capacity];
+        this.userIds = new long[capacity];
+        this.amounts = new long[capacity];
+        this.updateMillis = new long[capacity];
+        this.types = new byte[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return ids.length;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public long userId(int index) {
+        return userIds[index];
+    }
+
+    public long amount(int index) {
+        return amounts[index];
+    }
+
+    public TransactionType type(int index) {
+        return TYPES[types[index]];
+    }
+
+    public long updateMillis(int index) {
+        return updateMillis[index];
+    }
+
+    //마지막 내역의 id(비어 있다면 afterId)
+    public long lastId(long afterId) {
+        return size == 0 ? afterId : ids[size - 1];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isFull() {
+        return size == ids.length;
+    }
+
+    void add(long id, long userId, long amount, byte type, long updateMillis) {
+        ids[size] = id;
+        userIds[size] = userId;
+        amounts[size] = amount;
+        types[size] = type;
+        this.updateMillis[size] = updateMillis;
+        size++;
+    }
+}
@@ -0,0 +1,306 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 사용자 id(long)를 키로 포인트와 updateMillis를 저장하는 open addressing 해시 맵입니다.
+ * - 키와 값은 구간(segment)별 병렬 primitive 배열(keys, points, updateMillis)에 저장하므로, 항목마다 Long 키, UserPoint 객체, 맵 노드를 할당하지 않습니다.
+ * - 충돌은 선형 탐사(linear probing)로 해결하고, 사용률이 LOAD_FACTOR를 넘으면 구간의 배열을 두 배로 늘립니다.
+ * - 구간마다 StampedLock을 사용하며, 조회는 낙관적 읽기(optimistic read)로 락 없이 처리하고 쓰기와 겹친 경우에만 읽기 락으로 다시 조회합니다.
+ * - point/updateMillis 조회와 반영은 객체를 할당하지 않습니다. 삭제는 지원하지 않습니다(UserPointTable에 삭제 API가 없음).
+ * - 전체 항목 순회(forEach)는 구간 단위로 복사한 뒤 락 밖에서 방문하므로, 순회 중에도 다른 구간의 반영은 막히지 않습니다.
+ */
+public class LongPointMap {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    //빈 슬롯을 나타내는 키, 키가 0인 항목은 구간의 별도 필드에 저장합니다
+    private static final long EMPTY = 0L;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public LongPointMap() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * 사용자의 포인트와 updateMillis를 함께(같은 시점의 값으로) 조회합니다. 항목이 없다면 null을 반환합니다.
+     */
+    public UserPoint get(long id) {
+        long hash = mix(id);
+        return segmentOf(hash).get(id, hash);
+    }
+
+    /**
+     * 사용자의 포인트를 조회합니다. 항목이 없다면 missingPoint를 반환합니다.
+     */
+    public long point(long id, long missingPoint) {
+        long hash = mix(id);
+        return segmentOf(hash).get(id, hash, missingPoint, false);
+    }
+
+    /**
+     * 사용자의 updateMillis를 조회합니다. 항목이 없다면 missingMillis를 반환합니다.
+     */
+    public long updateMillis(long id, long missingMillis) {
+        long hash = mix(id);
+        return segmentOf(hash).get(id, hash, missingMillis, true);
+    }
+
+    public boolean contains(long id) {
+        long hash = mix(id);
+        return segmentOf(hash).contains(id, hash);
+    }
+
+    public void put(long id, long point, long updateMillis) {
+        long hash = mix(id);
+        segmentOf(hash).put(id, hash, point, updateMillis);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 모든 항목을 방문합니다. 구간마다 읽기 락 안에서 항목을 복사한 뒤 방문하므로, 구간 안에서는 같은 시점의 값이지만
+     * 구간 사이에는 순회 중의 반영이 섞일 수 있습니다(fuzzy).
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (Segment segment : segments) {
+            segment.forEach(visitor);
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(long id, long point, long updateMillis);
+    }
+
+    private Segment segmentOf(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    //연속된 사용자 id가 같은 구간, 인접한 슬롯에 몰리지 않도록 비트를 섞습니다(MurmurHash3 fmix64)
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+
+        private long[] keys = new long[INITIAL_SEGMENT_CAPACITY];
+        private long[] points = new long[INITIAL_SEGMENT_CAPACITY];
+        private long[] millis = new long[INITIAL_SEGMENT_CAPACITY];
+        private int size;
+
+        private boolean hasEmptyKey;
+        private long emptyKeyPoint;
+        private long emptyKeyMillis;
+
+        private long get(long id, long hash, long missing, boolean updateMillis) {
+            long stamp = lock.tryOptimisticRead();
+            long value = read(id, hash, missing, updateMillis);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+
+            stamp = lock.readLock();
+            try {
+                return read(id, hash, missing, updateMillis);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private UserPoint get(long id, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            int index = indexOf(keys, id, hash);
+            long[] points = this.points;
+            long[] millis = this.millis;
+            boolean found = id == EMPTY ? hasEmptyKey : index >= 0 && index < points.length && index < millis.length;
+            long point = !found ? 0L : id == EMPTY ? emptyKeyPoint : points[index];
+            long updateMillis = !found ? 0L : id == EMPTY ? emptyKeyMillis : millis[index];
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    index = indexOf(keys, id, hash);
+                    found = id == EMPTY ? hasEmptyKey : index >= 0;
+                    point = !found ? 0L : id == EMPTY ? emptyKeyPoint : this.points[index];
+                    updateMillis = !found ? 0L : id == EMPTY ? emptyKeyMillis : this.millis[index];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return found ? new UserPoint(id, point, updateMillis) : null;
+        }
+
+        private boolean contains(long id, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            boolean found = indexOf(keys, id, hash) >= 0 || (id == EMPTY && hasEmptyKey);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+
+            stamp = lock.readLock();
+            try {
+                return indexOf(keys, id, hash) >= 0 || (id == EMPTY && hasEmptyKey);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /*
+         * 낙관적 읽기 중에는 배열이 교체(resize)될 수 있으므로 배열 참조를 지역 변수로 읽고, 키 배열과 값 배열의 길이가 다를 수 있어 범위를 확인합니다.
+         * 교체 중에 읽은 값은 validate에서 버려집니다.
+         */
+        private long read(long id, long hash, long missing, boolean updateMillis) {
+            if (id == EMPTY) {
+                if (!hasEmptyKey) {
+                    return missing;
+                }
+                return updateMillis ? emptyKeyMillis : emptyKeyPoint;
+            }
+
+            long[] keys = this.keys;
+            long[] values = updateMillis ? this.millis : this.points;
+            int index = indexOf(keys, id, hash);
+            if (index < 0 || index >= values.length) {
+                return missing;
+            }
+            return values[index];
+        }
+
+        private void put(long id, long hash, long point, long updateMillis) {
+            long stamp = lock.writeLock();
+            try {
+                if (id == EMPTY) {
+                    hasEmptyKey = true;
+                    emptyKeyPoint = point;
+                    emptyKeyMillis = updateMillis;
+                    return;
+                }
+
+                int index = slotOf(keys, id, hash);
+                if (keys[index] == EMPTY) {
+                    if (size + 1 > keys.length * LOAD_FACTOR) {
+                        resize();
+                        index = slotOf(keys, id, hash);
+                    }
+                    keys[index] = id;
+                    size++;
+                }
+                points[index] = point;
+                millis[index] = updateMillis;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size + (hasEmptyKey ? 1 : 0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void forEach(EntryVisitor visitor) {
+            long[] keys;
+            long[] points;
+            long[] millis;
+            boolean hasEmptyKey;
+            long emptyKeyPoint;
+            long emptyKeyMillis;
+
+            long stamp = lock.readLock();
+            try {
+                keys = this.keys.clone();
+                points = this.points.clone();
+                millis = this.millis.clone();
+                hasEmptyKey = this.hasEmptyKey;
+                emptyKeyPoint = this.emptyKeyPoint;
+                emptyKeyMillis = this.emptyKeyMillis;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+
+            if (hasEmptyKey) {
+                visitor.visit(EMPTY, emptyKeyPoint, emptyKeyMillis);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    visitor.visit(keys[i], points[i], millis[i]);
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldPoints = points;
+            long[] oldMillis = millis;
+
+            long[] newKeys = new long[oldKeys.length << 1];
+            long[] newPoints = new long[newKeys.length];
+            long[] newMillis = new long[newKeys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                long key = oldKeys[i];
+                if (key != EMPTY) {
+                    int index = slotOf(newKeys, key, mix(key));
+                    newKeys[index] = key;
+                    newPoints[index] = oldPoints[i];
+                    newMillis[index] = oldMillis[i];
+                }
+            }
+
+            points = newPoints;
+            millis = newMillis;
+            keys = newKeys;
+        }
+
+        //키의 위치, 없다면 -1(키가 0인 항목은 배열에 저장하지 않으므로 항상 -1)
+        private static int indexOf(long[] keys, long id, long hash) {
+            if (id == EMPTY) {
+                return -1;
+            }
+
+            int mask = keys.length - 1;
+            for (int index = (int) hash & mask, probe = 0; probe < keys.length; index = (index + 1) & mask, probe++) {
+                long key = keys[index];
+                if (key == id) {
+                    return index;
+                }
+                if (key == EMPTY) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        //키의 위치, 없다면 키를 저장할 빈 슬롯의 위치
+        private static int slotOf(long[] keys, long id, long hash) {
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (keys[index] != id && keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+    }
+}
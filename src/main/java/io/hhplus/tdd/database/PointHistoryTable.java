@@ -6,26 +6,164 @@ import io.hhplus.tdd.point.TransactionType;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
 
 /**
  * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ * 내역은 힙 객체가 아닌 off-heap 열 저장소(HistoryColumns)에 고정 폭 행으로 저장하고,
+ * 사용자(userId)별로 행을 연결하여 사용자의 내역 조회 비용이 전체 내역이 아닌 해당 사용자의 내역 수에 비례하도록 합니다.
+ * 힙에는 사용자별 연결 정보(마지막 행, 건너뛰기 색인)만 남으므로 내역이 늘어나도 힙 사용량과 GC 시간이 늘어나지 않습니다.
  */
 @Component
 public class PointHistoryTable {
-    private final List<PointHistory> table = new ArrayList<>();
-    private long cursor = 1;
+    //chunk 하나에 저장하는 행 수(2^16 = 65536행, 약 2.1MB)
+    private static final int DEFAULT_CHUNK_BITS = 16;
+
+    //사용자 내역의 SKIP_INTERVAL번째 행마다 건너뛰기 색인에 기록합니다
+    private static final int SKIP_INTERVAL = 64;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Map<Long, UserHistory> table = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final HistoryColumns columns;
+
+    //내역이 추가될 때마다 내역을 전달받는 listener(복제 로그, 내역 요약), 등록은 기동 시에만 일어나므로 추가할 때마다 복사합니다
+    private final List<Consumer<PointHistory>> appendListeners = new CopyOnWriteArrayList<>();
+
+    public PointHistoryTable() {
+        this(DEFAULT_CHUNK_BITS);
+    }
+
+    /**
+     * chunk 하나에 2^chunkBits개의 행을 저장하는 테이블을 생성합니다.
+     */
+    public PointHistoryTable(int chunkBits) {
+        this.columns = new HistoryColumns(chunkBits);
+    }
 
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
         throttle(300L);
-        PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
-        table.add(pointHistory);
-        return pointHistory;
+        return append(userId, amount, type, updateMillis);
+    }
+
+    /**
+     * 여러 내역을 한 번의 기록 지연으로 id 순서대로 추가합니다(전달한 내역의 id는 사용하지 않고 새로 발급합니다).
+     * 반환하는 내역은 전달한 순서와 같습니다.
+     */
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        throttle(300L);
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        for (PointHistory history : histories) {
+            inserted.add(append(history.userId(), history.amount(), history.type(), history.updateMillis()));
+        }
+        return inserted;
+    }
+
+    //기록(journal)으로 테이블을 복구할 때 사용하며, 지연 없이 기록된 순서대로 내역을 추가(id도 순서대로 다시 발급)
+    public PointHistory restore(long userId, long amount, TransactionType type, long updateMillis) {
+        return append(userId, amount, type, updateMillis);
     }
 
     public List<PointHistory> selectAllByUserId(long userId) {
-        return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        UserHistory history = table.get(userId);
+        return history == null ? List.of() : history.select(0L, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 사용자의 내역 중 id가 afterId보다 크고, updateMillis가 fromMillis 이상 toMillis 이하인 내역을 id 순서로 최대 limit건 조회합니다.
+     * limit이 1보다 작다면 빈 목록을 반환합니다.
+     * 시작 위치는 건너뛰기 색인을 이진 탐색하여 찾고, 이후로는 연결된 행을 따라 조회합니다.
+     */
+    public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        UserHistory history = table.get(userId);
+        return history == null ? List.of() : history.select(afterId, fromMillis, toMillis, limit);
+    }
+
+    /**
+     * 사용자의 내역 중 afterCursor번째 이후의 내역에서 updateMillis가 fromMillis 이상 toMillis 이하인 내역을 순서대로 최대 limit건 조회합니다.
+     * cursor는 사용자의 내역 중 몇 번째 내역인지(1부터)를 나타내며, 내역 id와 달리 사용자의 내역만으로 정해지므로
+     * 같은 내역을 같은 순서로 추가한 다른 테이블(샤드 간 이동, 복제, 재기동)에서도 같은 내역을 가리킵니다.
+     * limit이 1보다 작다면 빈 페이지를 반환합니다.
+     */
+    public HistoryCursorPage selectByUserCursor(long userId, long afterCursor, long fromMillis, long toMillis, int limit) {
+        UserHistory history = table.get(userId);
+        return history == null ? new HistoryCursorPage(List.of(), afterCursor) : history.selectAfter(afterCursor, fromMillis, toMillis, limit);
+    }
+
+    //사용자의 내역 수(사용자의 마지막 내역의 cursor)
+    public long countByUserId(long userId) {
+        UserHistory history = table.get(userId);
+        return history == null ? 0L : history.count();
+    }
+
+    /**
+     * 사용자의 내역 중 id가 afterId보다 큰 내역을 id 순서로 페이지 크기만큼 읽어 page에 채우고, 읽은 내역 수를 반환합니다.
+     * 내역 객체를 만들지 않고 page의 배열에 복사하므로, 같은 page로 이어서 읽으면 전체 내역을 일정한 메모리로 읽을 수 있습니다.
+     */
+    public int readByUserId(long userId, long afterId, HistoryPage page) {
+        page.clear();
+        UserHistory history = table.get(userId);
+        if (history != null) {
+            history.read(afterId, page);
+        }
+        return page.size();
+    }
+
+    /**
+     * id가 afterId보다 크고 toId 이하인 모든 사용자의 내역을 id 순서로 조회합니다.
+     * id는 빈 번호 없이 발급되므로 행 번호 순서로 읽으며, 호출자는 toId까지의 내역이 모두 추가되었음을 보장해야 합니다.
+     */
+    public List<PointHistory> selectByIdRange(long afterId, long toId) {
+        List<PointHistory> histories = new ArrayList<>((int) Math.max(0L, toId - afterId));
+        for (long row = afterId; row < toId; row++) {
+            histories.add(new PointHistory(row + 1, columns.userId(row), columns.amount(row), TYPES[columns.type(row)], columns.updateMillis(row)));
+        }
+        return histories;
+    }
+
+    //마지막으로 발급한 내역 id(발급된 내역이 아직 추가되는 중일 수 있다)
+    public long lastId() {
+        return cursor.get() - 1;
+    }
+
+    /**
+     * 내역이 추가될 때마다(행 기록을 마친 뒤) 내역을 listener에 전달합니다.
+     * 사용자의 락 안에서 전달하므로 동일 사용자의 내역은 id 순서대로 전달되지만,
+     * 서로 다른 사용자의 내역은 동시에 추가되므로 전체 내역은 id 순서대로 전달되지 않을 수 있습니다.
+     */
+    public void addAppendListener(Consumer<PointHistory> listener) {
+        appendListeners.add(listener);
+    }
+
+    //내역이 있는 모든 사용자의 id를 방문합니다
+    public void forEachUserId(LongConsumer visitor) {
+        table.keySet().forEach(visitor::accept);
+    }
+
+    //내역이 있는 모든 사용자의 id를 차례로 조회합니다(조회 중 추가된 사용자는 포함되지 않을 수 있습니다)
+    public Iterator<Long> userIds() {
+        return table.keySet().iterator();
+    }
+
+    private PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        return table.computeIfAbsent(userId, key -> new UserHistory())
+                .append(userId, amount, type, updateMillis);
+    }
+
+    //off-heap에 할당된 내역 저장 공간의 크기
+    public long offHeapBytes() {
+        return columns.allocatedBytes();
     }
 
     private void throttle(long millis) {
@@ -35,4 +173,138 @@ public class PointHistoryTable {
 
         }
     }
+
+    /**
+     * 한 사용자의 내역 연결 정보
+     * 서로 다른 사용자의 내역은 동시에 추가되고, 동일 사용자의 내역은 사용자 단위로 직렬화됩니다.
+     * id를 사용자의 락 안에서 발급하므로 연결된 행은 항상 id 순서로 정렬되어 있습니다.
+     */
+    private final class UserHistory {
+        //SKIP_INTERVAL번째 행마다의 행 번호, 첫 번째 항목은 사용자의 첫 행입니다
+        private long[] skipRows = new long[1];
+        private int skipCount;
+
+        private long lastRow = -1L;
+        private long count;
+        private long lastMillis;
+
+        //updateMillis가 추가된 순서대로 증가하는지 여부(호출자가 시각을 전달하므로 역전될 수 있다)
+        private boolean sortedByMillis = true;
+
+        private synchronized PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+            if (count > 0 && lastMillis > updateMillis) {
+                sortedByMillis = false;
+            }
+
+            long id = cursor.getAndIncrement();
+            long row = id - 1;
+            columns.write(row, userId, amount, (byte) type.ordinal(), updateMillis);
+            if (lastRow >= 0) {
+                columns.link(lastRow, row);
+            }
+            if (count % SKIP_INTERVAL == 0) {
+                if (skipCount == skipRows.length) {
+                    skipRows = Arrays.copyOf(skipRows, skipCount * 2);
+                }
+                skipRows[skipCount++] = row;
+            }
+
+            lastRow = row;
+            lastMillis = updateMillis;
+            count++;
+            PointHistory history = new PointHistory(id, userId, amount, type, updateMillis);
+            for (Consumer<PointHistory> listener : appendListeners) {
+                listener.accept(history);
+            }
+            return history;
+        }
+
+        private synchronized List<PointHistory> select(long afterId, long fromMillis, long toMillis, int limit) {
+            if (count == 0 || limit <= 0) {
+                return List.of();
+            }
+
+            //조건을 만족하지 않는 것이 확실한 앞쪽 행은 건너뛰기 색인으로 건너뜁니다
+            int start = lastSkipBefore(row -> row + 1 <= afterId);
+            if (sortedByMillis) {
+                start = Math.max(start, lastSkipBefore(row -> columns.updateMillis(row) < fromMillis));
+            }
+
+            List<PointHistory> page = new ArrayList<>((int) Math.min(limit, count));
+            for (long row = skipRows[start]; row >= 0 && page.size() < limit; row = columns.next(row)) {
+                long id = row + 1;
+                long updateMillis = columns.updateMillis(row);
+                if (updateMillis > toMillis) {
+                    //updateMillis 순서로 정렬되어 있다면 이후의 내역은 모두 범위를 벗어난다
+                    if (sortedByMillis) {
+                        break;
+                    }
+                    continue;
+                }
+                if (id > afterId && updateMillis >= fromMillis) {
+                    page.add(new PointHistory(id, columns.userId(row), columns.amount(row), TYPES[columns.type(row)], updateMillis));
+                }
+            }
+            return page;
+        }
+
+        private synchronized HistoryCursorPage selectAfter(long afterCursor, long fromMillis, long toMillis, int limit) {
+            if (count <= afterCursor || limit <= 0) {
+                return new HistoryCursorPage(List.of(), afterCursor);
+            }
+
+            //색인의 i번째 항목은 사용자의 (i * SKIP_INTERVAL + 1)번째 내역입니다
+            int start = (int) Math.min(Math.max(0L, afterCursor) / SKIP_INTERVAL, skipCount - 1);
+            long cursor = (long) start * SKIP_INTERVAL;
+            long lastCursor = afterCursor;
+            List<PointHistory> page = new ArrayList<>((int) Math.min(limit, count - afterCursor));
+            for (long row = skipRows[start]; row >= 0 && page.size() < limit; row = columns.next(row)) {
+                cursor++;
+                if (cursor <= afterCursor) {
+                    continue;
+                }
+                long updateMillis = columns.updateMillis(row);
+                if (updateMillis > toMillis && sortedByMillis) {
+                    break;
+                }
+                if (updateMillis >= fromMillis && updateMillis <= toMillis) {
+                    page.add(new PointHistory(row + 1, columns.userId(row), columns.amount(row), TYPES[columns.type(row)], updateMillis));
+                    lastCursor = cursor;
+                }
+            }
+            return new HistoryCursorPage(page, lastCursor);
+        }
+
+        private synchronized long count() {
+            return count;
+        }
+
+        private synchronized void read(long afterId, HistoryPage page) {
+            if (count == 0) {
+                return;
+            }
+
+            int start = lastSkipBefore(row -> row + 1 <= afterId);
+            for (long row = skipRows[start]; row >= 0 && !page.isFull(); row = columns.next(row)) {
+                if (row + 1 > afterId) {
+                    page.add(row + 1, columns.userId(row), columns.amount(row), columns.type(row), columns.updateMillis(row));
+                }
+            }
+        }
+
+        //조건을 만족하는 마지막 색인 위치, 없다면 0(조건은 색인 순서에 대해 앞쪽에서만 만족해야 한다)
+        private int lastSkipBefore(LongPredicate before) {
+            int low = 0;
+            int high = skipCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (before.test(skipRows[mid])) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return Math.max(0, low - 1);
+        }
+    }
 }
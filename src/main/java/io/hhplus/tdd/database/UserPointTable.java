@@ -3,8 +3,6 @@ package io.hhplus.tdd.database;
 import io.hhplus.tdd.point.UserPoint;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -13,24 +11,40 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class UserPointTable {
 
-    private final Map<Long, UserPoint> table = new HashMap<>();
+    //사용자 단위 락으로 서로 다른 사용자의 요청이 병렬로 반영되므로 thread safe 자료구조를 사용
+    //사용자마다 Long 키, UserPoint, 맵 노드를 보관하지 않도록 포인트와 updateMillis를 primitive 배열에 저장
+    private final LongPointMap table = new LongPointMap();
     
     private static UserPoint user1 = UserPoint.user1();
     
-    public UserPoint selectById(Long id) {
+    {
     	//user1에 대한 정보를 table db에 생성(최초 생성)
-    	table.put(1L, UserPoint.user1());
-    	
+    	//조회할 때마다 생성하면 캐시된 정보 및 충전/사용 결과와 달라지므로 테이블 생성 시 한 번만 생성
+    	table.put(user1.id(), user1.point(), user1.updateMillis());
+    }
+    
+    public UserPoint selectById(Long id) {
         throttle(200);
-        return table.getOrDefault(id, UserPoint.empty(id));
+        UserPoint userPoint = table.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
     }
 
     public UserPoint insertOrUpdate(long id, long amount) {
     	//생성 혹은 수정된 유저정보가 db에 반영
         throttle(300);
-        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
-        table.put(id, userPoint);
-        return userPoint;
+        long updateMillis = System.currentTimeMillis();
+        table.put(id, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+    
+    //기록(journal)으로 테이블을 복구할 때 사용하며, 지연 없이 기록된 포인트와 updateMillis를 그대로 반영
+    public void restore(long id, long point, long updateMillis) {
+        table.put(id, point, updateMillis);
+    }
+    
+    //저장된 모든 사용자의 포인트를 지연 없이 방문(샤드 간 사용자 이동 시 사용)
+    public void forEach(LongPointMap.EntryVisitor visitor) {
+        table.forEach(visitor);
     }
     
     private void throttle(long millis) {
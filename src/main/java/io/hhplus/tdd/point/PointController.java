@@ -1,5 +1,11 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.HistoryCursorPage;
+import io.hhplus.tdd.point.cache.UserPointCacheStats;
+import io.hhplus.tdd.point.lock.UserQueueStatus;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import io.hhplus.tdd.point.summary.PointSummary;
+import io.hhplus.tdd.point.summary.PointSummaryRebuild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,14 +13,25 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+/**
+ * 포인트 API입니다.
+ * 조회/충전/사용/일괄 처리는 Accept, Content-Type이 application/x-point-binary라면 JSON 대신 binary 형식(PointBinaryCodec 참고)으로 주고받습니다.
+ */
 @RestController
 @RequestMapping("/point")
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+
+    //내역 페이지 조회 시 limit을 지정하지 않았을 때의 내역 수 및 최대 내역 수
+    private static final int DEFAULT_HISTORY_LIMIT = 100;
+    private static final int MAX_HISTORY_LIMIT = 1000;
     
     @Autowired
     PointService pointService;
+
+    @Autowired
+    ShardRouter shardRouter;
     
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
@@ -28,35 +45,148 @@ public class PointController {
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * 조회 조건이 없으면 전체 내역을, 있다면 id 순서로 페이지 단위의 내역을 조회합니다.
+     * - after : 이전 페이지의 마지막 내역 id(cursor)
+     * - from/to : updateMillis 조회 범위(양 끝 포함)
+     * - limit : 한 페이지의 최대 내역 수(1 이상, MAX_HISTORY_LIMIT를 넘으면 MAX_HISTORY_LIMIT)
+     * @throws PointPolicyException limit이 1보다 작은 경우
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit
+    ) throws PointPolicyException {
+        if (after == null && from == null && to == null && limit == null) {
+            return pointService.history(id);
+        }
+        if (limit != null && limit < 1) {
+            throw new PointPolicyException("조회할 내역 수(limit : " + limit + ")는 1 이상이어야 합니다.");
+        }
+
+        return pointService.history(
+                id,
+                after == null ? 0L : after,
+                from == null ? Long.MIN_VALUE : from,
+                to == null ? Long.MAX_VALUE : to,
+                limit == null ? DEFAULT_HISTORY_LIMIT : Math.min(limit, MAX_HISTORY_LIMIT)
+        );
+    }
+
+    /**
+     * 특정 유저의 충전/이용 내역을 사용자별 cursor로 페이지 단위 조회합니다.
+     * 내역 id는 사용자가 다른 샤드로 옮겨가면 다시 발급되므로 after(id)로는 이어서 조회할 수 없지만,
+     * cursor는 사용자의 몇 번째 내역인지를 나타내므로 샤드 간 이동 후에도 이전 페이지의 cursor로 이어서 조회할 수 있습니다.
+     * - cursor : 이전 페이지의 cursor(첫 페이지는 0)
+     * - from/to : updateMillis 조회 범위(양 끝 포함)
+     * - limit : 한 페이지의 최대 내역 수(1 이상, MAX_HISTORY_LIMIT를 넘으면 MAX_HISTORY_LIMIT)
+     * @throws PointPolicyException limit이 1보다 작은 경우
+     */
+    @GetMapping("{id}/histories/page")
+    public HistoryCursorPage historyPage(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit
+    ) throws PointPolicyException {
+        if (limit != null && limit < 1) {
+            throw new PointPolicyException("조회할 내역 수(limit : " + limit + ")는 1 이상이어야 합니다.");
+        }
+
+        return pointService.historyPage(
+                id,
+                cursor,
+                from == null ? Long.MIN_VALUE : from,
+                to == null ? Long.MAX_VALUE : to,
+                limit == null ? DEFAULT_HISTORY_LIMIT : Math.min(limit, MAX_HISTORY_LIMIT)
+        );
+    }
+
+    /**
+     * 특정 유저의 충전/사용 요청 대기열 상태(대기 중인 요청 수, 대기 시간)를 조회합니다.
+     */
+    @GetMapping("{id}/queue")
+    public UserQueueStatus queue(
+            @PathVariable long id
+    ) {
+        return pointService.queueStatus(id);
+    }
+
+    /**
+     * 포인트 조회 캐시의 hit/miss/eviction 통계를 조회합니다.
+     */
+    @GetMapping("cache/stats")
+    public UserPointCacheStats cacheStats() {
+        return pointService.cacheStats();
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 요약(유형별 건수/합계, 첫/마지막 이용 시각, 일자별 요약)을 조회합니다.
+     * 요약은 내역이 추가될 때마다 갱신되므로 내역 수와 관계없이 일정한 시간에 조회됩니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return pointService.history(id);
+        return pointService.summary(id);
+    }
+
+    /**
+     * 특정 유저의 내역으로 요약을 다시 계산하고, 이전 요약과 같았는지(정합성)를 함께 반환합니다.
+     */
+    @PostMapping("{id}/summary/rebuild")
+    public PointSummaryRebuild rebuildSummary(
+            @PathVariable long id
+    ) {
+        return pointService.rebuildSummary(id);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있다면 같은 키의 재요청에는 다시 충전하지 않고 최초 요청의 결과를 반환합니다.
      * @throws Exception 
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) throws Exception {
-        return pointService.charge(id, amount);
+        return pointService.charge(id, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있다면 같은 키의 재요청에는 다시 사용하지 않고 최초 요청의 결과를 반환합니다.
      * @throws Exception 
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) throws Exception {
-        return pointService.use(id, amount);
+        return pointService.use(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용 연산을 한 번에 처리합니다.
+     * 연산별 처리 결과를 요청 순서대로 반환하며, 정책에 어긋나는 연산만 실패로 응답합니다.
+     * 샤딩을 사용한다면 연산을 사용자의 소유 노드별로 나누어 처리합니다.
+     * @throws Exception 
+     */
+    @PostMapping("batch")
+    public List<PointOperationResult> batch(
+            @RequestBody List<PointOperation> operations,
+            @RequestHeader(value = ShardRouter.HOPS_HEADER, defaultValue = "0") int hops
+    ) throws Exception {
+        if (shardRouter.enabled()) {
+            return shardRouter.batch(operations, hops);
+        }
+
+        return pointService.batch(operations);
     }
 }
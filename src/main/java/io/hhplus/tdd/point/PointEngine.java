@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+
+/**
+ * 포인트 충전/사용 요청의 동시성 제어 방식
+ * - LOCK : 사용자 단위 공정 락으로 동일 사용자의 요청을 직렬화
+ * - ACTOR : 사용자별로 고정된 단일 스레드 메일박스에서 요청을 순서대로 처리
+ * - ATOMIC : 사용자별 원자적 셀에 CAS로 반영(락 없음), 잔액은 백그라운드에서 테이블에 반영
+ */
+public enum PointEngine {
+    LOCK, ACTOR, ATOMIC
+}
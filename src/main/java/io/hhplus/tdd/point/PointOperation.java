@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/*
+ * 일괄 처리(batch) 요청의 충전/사용 연산 하나
+ * */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+/*
+ * 일괄 처리(batch) 요청의 연산별 처리 결과
+ * - index : 요청 목록에서 연산의 위치
+ * - success : 반영 여부, 실패한 연산은 잔액에 반영되지 않으며 error에 실패 사유를 담는다.
+ * - userPoint : 연산을 반영한 후의 사용자 포인트(실패한 경우 null)
+ * */
+public record PointOperationResult(
+        int index,
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        UserPoint userPoint,
+        String error
+) {
+
+    public static PointOperationResult success(int index, PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(index, operation.userId(), operation.type(), operation.amount(), true, userPoint, null);
+    }
+
+    public static PointOperationResult failure(int index, PointOperation operation, String error) {
+        return new PointOperationResult(index, operation.userId(), operation.type(), operation.amount(), false, null, error);
+    }
+}
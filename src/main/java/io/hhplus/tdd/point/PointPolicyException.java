@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/*
+ * 포인트 정책(PointRule)에 어긋나는 충전/사용 요청일 때 발생하는 예외
+ * */
+public class PointPolicyException extends Exception {
+
+	public PointPolicyException(String message) {
+		super(message);
+	}
+}
@@ -9,4 +9,32 @@ public class PointRule {
 	
 	//유저가 없을 경우 : 0
 	public static final long NOT_EXIST_USER_POINT = 0L;
+	
+	/*
+	 * 충전/사용 전의 포인트(beforePoint)에 요청을 반영한 후의 포인트를 계산한다.
+	 * - 충전/사용 금액은 MIN_POINT 이상, MAX_POINT 이하여야 한다.
+	 * - 충전 후의 포인트 잔액이 MAX_POINT보다 크면 충전할 수 없다.
+	 * - 사용 시 유저 정보가 존재하지 않거나(beforePoint가 0), 사용 후의 포인트 잔액이 MIN_POINT보다 작으면 사용할 수 없다.
+	 * */
+	public static long apply(long beforePoint, TransactionType type, long amount) throws PointPolicyException {
+		if(amount < MIN_POINT || amount > MAX_POINT)
+			throw new PointPolicyException("포인트 금액(" + amount + ")은 " + MIN_POINT + " 이상, " + MAX_POINT + " 이하여야 합니다.");
+		
+		if(type == TransactionType.CHARGE) {
+			long afterPoint = beforePoint + amount;
+			if(afterPoint > MAX_POINT)
+				throw new PointPolicyException("충전 후의 포인트 잔액(" + afterPoint + ")이 최대 포인트(" + MAX_POINT + ")를 초과합니다.");
+			
+			return afterPoint;
+		}
+		
+		if(beforePoint == NOT_EXIST_USER_POINT)
+			throw new PointPolicyException("사용할 수 있는 포인트가 없습니다.");
+		
+		long afterPoint = beforePoint - amount;
+		if(afterPoint < MIN_POINT)
+			throw new PointPolicyException("포인트 잔액(" + beforePoint + ")이 부족합니다.");
+		
+		return afterPoint;
+	}
 }
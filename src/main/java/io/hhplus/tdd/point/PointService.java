@@ -1,22 +1,51 @@
 package io.hhplus.tdd.point;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.hhplus.tdd.database.HistoryCursorPage;
+import io.hhplus.tdd.database.LongPointMap;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.actor.PointMailboxEngine;
+import io.hhplus.tdd.point.atomic.AtomicPointStore;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.cache.UserPointCacheStats;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
 import io.hhplus.tdd.point.lock.ThreadLock;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.lock.UserQueueStatus;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.summary.PointSummary;
+import io.hhplus.tdd.point.summary.PointSummaryRebuild;
+import io.hhplus.tdd.point.summary.PointSummaryStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Service
 public class PointService {
 	
-	private static final Logger log = LoggerFactory.getLogger(PointService.class);
-	
 	private static final ConcurrentHashMap<Long , Long> concurrentHashMap = new ConcurrentHashMap<>();
 	
 	/*
@@ -25,57 +54,416 @@ public class PointService {
 	 * */
 	private static long POINT = 100L;
 	
+	@Autowired
+	PointHistoryTable pointHistoryTable;
+	
+	//UserPointTable의 조회/반영은 캐시를 거쳐 캐시와 테이블의 정합성을 유지한다
+	@Autowired
+	UserPointCache userPointCache;
+	
+	//샤드 간 사용자 이동 시 저장된 사용자를 지연 없이 순회하는 용도로만 직접 사용한다
 	@Autowired
 	UserPointTable userPointTable;
 	
 	@Autowired
-	PointHistoryTable pointHistoryTable;
+	PointHistoryWriter pointHistoryWriter;
+	
+	@Autowired
+	UserLockManager userLockManager;
+	
+	@Autowired
+	PointMailboxEngine pointMailboxEngine;
+	
+	@Autowired
+	AtomicPointStore atomicPointStore;
+	
+	@Autowired
+	IdempotencyCache idempotencyCache;
+	
+	//내역이 추가될 때마다 갱신되는 사용자별 내역 요약
+	@Autowired
+	PointSummaryStore pointSummaryStore;
+	
+	//조회/충전/사용의 처리 시간, 단계별 처리 시간, 정책 위반 수 기록
+	@Autowired
+	PointMetrics pointMetrics;
+	
+	//충전/사용 요청의 동시성 제어 방식(LOCK : 사용자 단위 락, ACTOR : 사용자별 단일 스레드 메일박스, ATOMIC : 사용자별 원자적 셀)
+	@Value("${point.engine:LOCK}")
+	PointEngine engine;
+	
+	//일괄 처리 요청 하나에 담을 수 있는 최대 연산 수
+	@Value("${point.batch.max-operations:10000}")
+	int batchMaxOperations;
+	
+	//LOCK인 경우 일괄 처리 요청에서 서로 다른 사용자의 연산 묶음을 동시에 처리하는 스레드 수
+	@Value("${point.batch.parallelism:16}")
+	int batchParallelism;
+	
+	private ExecutorService batchExecutor;
+	
+	//동일 사용자의 동시 충전/사용 요청을 짧은 구간(window) 동안 모아 한 번의 잔액 기록으로 반영할지 여부
+	@Value("${point.group-commit.enabled:false}")
+	boolean groupCommitEnabled;
+	
+	//그룹 커밋 시 요청을 모으는 구간
+	@Value("${point.group-commit.window-millis:5}")
+	long groupCommitWindowMillis;
+	
+	//사용자별로 요청을 모으고 있는(아직 닫히지 않은) 그룹
+	private final ConcurrentHashMap<Long, CommitGroup> openGroups = new ConcurrentHashMap<>();
+	
+	private ScheduledExecutorService groupCommitScheduler;
 	
 	//동시성 제어 테스트 검증용
 	
 	public UserPoint point(long id) {
-		return userPointTable.selectById(id);
+		long startTime = System.nanoTime();
+		UserPoint userPoint = engine == PointEngine.ATOMIC ? atomicPointStore.selectById(id) : userPointCache.selectById(id);
+		pointMetrics.record(PointMetrics.Operation.POINT, startTime);
+		return userPoint;
 	}
 	
+	/*
+	 * 동일 사용자에 대한 충전/사용 요청은 직렬화하고,
+	 * 서로 다른 사용자의 요청은 병렬로 처리한다.
+	 * */
 	public UserPoint charge(long id, long amount) throws Exception {
-		long beforePoint = userPointTable.selectById(id).point();
+		return await(chargeAsync(id, amount));
+	}
+	
+	public UserPoint use(long id, long amount) throws Exception {
+		return await(useAsync(id, amount));
+	}
+	
+	/*
+	 * 멱등 키(Idempotency-Key)가 있는 충전/사용 요청
+	 * 같은 키로 다시 요청하면(재시도) 다시 처리하지 않고 최초 요청의 결과를 반환하며, 최초 요청이 처리 중이라면 그 결과를 기다린다.
+	 * 키가 없다면 매번 처리한다.
+	 * */
+	public UserPoint charge(long id, long amount, String idempotencyKey) throws Exception {
+		return await(chargeAsync(id, amount, idempotencyKey));
+	}
+	
+	public UserPoint use(long id, long amount, String idempotencyKey) throws Exception {
+		return await(useAsync(id, amount, idempotencyKey));
+	}
+	
+	public CompletableFuture<UserPoint> chargeAsync(long id, long amount, String idempotencyKey) {
+		if(idempotencyKey == null)
+			return chargeAsync(id, amount);
 		
-		//UserPoint의 포인트 유효성 검증
-		UserPoint parameters = UserPoint.user(id, amount);
-				
-		//beforePoint가 0보다 크다면 기존 유저가 존재한다는 의미
-		if(beforePoint > PointRule.NOT_EXIST_USER_POINT) {
-			amount = parameters.point() + beforePoint;
+		return idempotencyCache.execute(id, TransactionType.CHARGE, amount, idempotencyKey, () -> chargeAsync(id, amount));
+	}
+	
+	public CompletableFuture<UserPoint> useAsync(long id, long amount, String idempotencyKey) {
+		if(idempotencyKey == null)
+			return useAsync(id, amount);
+		
+		return idempotencyCache.execute(id, TransactionType.USE, amount, idempotencyKey, () -> useAsync(id, amount));
+	}
+	
+	public CompletableFuture<UserPoint> chargeAsync(long id, long amount) {
+		long startTime = System.nanoTime();
+		if(groupCommitEnabled)
+			return pointMetrics.record(PointMetrics.Operation.CHARGE, startTime, joinCommitGroup(id, TransactionType.CHARGE, amount));
+		
+		return pointMetrics.record(PointMetrics.Operation.CHARGE, startTime, submit(id, () -> chargePoint(id, amount)));
+	}
+	
+	public CompletableFuture<UserPoint> useAsync(long id, long amount) {
+		long startTime = System.nanoTime();
+		if(groupCommitEnabled)
+			return pointMetrics.record(PointMetrics.Operation.USE, startTime, joinCommitGroup(id, TransactionType.USE, amount));
+		
+		return pointMetrics.record(PointMetrics.Operation.USE, startTime, submit(id, () -> usePoint(id, amount)));
+	}
+	
+	/*
+	 * ACTOR : 사용자의 메일박스에 명령을 적재하고, 메일박스 스레드가 처리한 결과를 반환한다.
+	 * LOCK, ATOMIC : 호출한 스레드에서 명령을 처리하고, 완료된 결과를 반환한다.
+	 * */
+	private CompletableFuture<UserPoint> submit(long id, Callable<UserPoint> command) {
+		if(engine == PointEngine.ACTOR)
+			return pointMailboxEngine.submit(id, command);
+		
+		try {
+			return CompletableFuture.completedFuture(execute(id, command));
+		} catch(Exception e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	/*
+	 * LOCK : 사용자 락을 획득하여 명령을 처리한다.
+	 * ATOMIC : 잔액은 원자적 셀에서 CAS로 반영되므로 락 없이 명령을 처리한다.
+	 * */
+	private <T> T execute(long id, Callable<T> command) throws Exception {
+		if(engine == PointEngine.ATOMIC)
+			return command.call();
+		
+		return userLockManager.executeWithLock(id, command);
+	}
+	
+	//CompletableFuture의 결과를 기다리고, 명령이 실패했다면 원래의 예외를 그대로 던진다
+	private <T> T await(CompletableFuture<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch(ExecutionException e) {
+			if(e.getCause() instanceof Exception cause)
+				throw cause;
+			
+			throw e;
 		}
+	}
+	
+	private UserPoint chargePoint(long id, long amount) throws Exception {
+		return applyPoint(id, TransactionType.CHARGE, amount);
+	}
+	
+	private UserPoint usePoint(long id, long amount) throws Exception {
+		return applyPoint(id, TransactionType.USE, amount);
+	}
+	
+	private UserPoint applyPoint(long id, TransactionType type, long amount) throws Exception {
+		//단계별 처리 시간은 이전 단계가 끝난 시각을 다음 단계의 시작 시각으로 이어서 측정한다
+		if(engine == PointEngine.ATOMIC) {
+			//내역은 셀의 CAS 순서대로(앞선 내역을 기록 중이라면 기록하는 스레드에서) 기록되므로, 내역 기록 시간은 listener에서 기록한다
+			long startTime = System.nanoTime();
+			UserPoint userPoint = applyAtomic(id, type, amount, (afterPoint, updateMillis) -> appendHistory(id, afterPoint, type, updateMillis));
+			pointMetrics.recordNanos(PointMetrics.Stage.TABLE_WRITE, System.nanoTime() - startTime);
+			return userPoint;
+		}
+		
+		long startTime = System.nanoTime();
+		long beforePoint = userPointCache.selectById(id).point();
+		long readTime = System.nanoTime();
+		pointMetrics.recordNanos(PointMetrics.Stage.TABLE_READ, readTime - startTime);
 		
-		//포인트 내역 기록
-		pointHistoryTable.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
+		//포인트 정책(금액 범위, 잔액) 검증 및 반영 후의 포인트 계산
+		long afterPoint = applyRule(beforePoint, type, amount);
 		
-		return userPointTable.insertOrUpdate(parameters.id(), amount);
+		//포인트 내역 기록(쓰기 지연 버퍼에 적재하고 기록 완료를 기다리지 않는다)
+		pointHistoryWriter.append(id, afterPoint, type, System.currentTimeMillis());
+		long appendedTime = System.nanoTime();
+		pointMetrics.recordNanos(PointMetrics.Stage.HISTORY_INSERT, appendedTime - readTime);
+		
+		UserPoint userPoint = userPointCache.insertOrUpdate(id, afterPoint);
+		pointMetrics.recordNanos(PointMetrics.Stage.TABLE_WRITE, System.nanoTime() - appendedTime);
+		return userPoint;
 	}
 	
-	public UserPoint use(long id, long amount) throws Exception {
+	//정책 위반으로 거절된 요청 수를 기록한다
+	private long applyRule(long beforePoint, TransactionType type, long amount) throws PointPolicyException {
+		try {
+			return PointRule.apply(beforePoint, type, amount);
+		} catch(PointPolicyException e) {
+			pointMetrics.ruleRejected(type);
+			throw e;
+		}
+	}
+	
+	//반영된 잔액의 내역은 listener에서 기록해야 동일 사용자의 내역이 잔액이 바뀐 순서대로 기록된다
+	private UserPoint applyAtomic(long id, TransactionType type, long amount, AtomicPointStore.AppliedListener listener) throws PointPolicyException {
+		try {
+			return atomicPointStore.apply(id, type, amount, listener);
+		} catch(PointPolicyException e) {
+			pointMetrics.ruleRejected(type);
+			throw e;
+		}
+	}
+	
+	private void appendHistory(long id, long afterPoint, TransactionType type, long updateMillis) {
+		long startTime = System.nanoTime();
+		pointHistoryWriter.append(id, afterPoint, type, updateMillis);
+		pointMetrics.recordNanos(PointMetrics.Stage.HISTORY_INSERT, System.nanoTime() - startTime);
+	}
+	
+	/*
+	 * 여러 사용자의 충전/사용 연산을 한 번에 처리한다.
+	 * - 연산을 사용자별로 묶어, 사용자마다 한 번의 락 획득(ACTOR인 경우 한 번의 메일박스 명령) 안에서 요청 순서대로 반영한다.
+	 * - 사용자별 잔액은 모든 연산을 반영한 뒤 한 번만 기록(insertOrUpdate)한다.
+	 * - 정책에 어긋나는 연산은 해당 연산만 실패로 응답하고, 나머지 연산은 계속 반영한다(부분 실패).
+	 * - 사용자의 묶음 처리 자체가 실패하면(대기 시간 초과, 실행 거절, 예기치 않은 예외) 해당 사용자의 연산만 실패로 응답한다.
+	 * - 서로 다른 사용자의 묶음은 병렬로 처리하며, 결과는 요청 순서대로 반환한다.
+	 * */
+	public List<PointOperationResult> batch(List<PointOperation> operations) throws Exception {
+		if(operations.size() > batchMaxOperations)
+			throw new PointPolicyException("한 번에 처리할 수 있는 연산 수(" + batchMaxOperations + ")를 초과하였습니다.");
 		
-		long beforePoint = userPointTable.selectById(id).point();
-		long afterPoint = beforePoint - amount;
+		//사용자별로 연산의 요청 위치(index)를 요청 순서대로 묶는다
+		Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+		for (int i = 0; i < operations.size(); i++) {
+			indexesByUser.computeIfAbsent(operations.get(i).userId(), userId -> new ArrayList<>()).add(i);
+		}
 		
-		//UserPoint의 포인트 유효성 검증
-		UserPoint parameters = UserPoint.user(id, amount);
-				
-		//beforePoint가 0이라면 유저 정보가 존재하지 않는다는 의미
-		if(beforePoint == PointRule.NOT_EXIST_USER_POINT) {
-			throw new Exception();
+		Map<Long, CompletableFuture<List<PointOperationResult>>> futures = new LinkedHashMap<>();
+		indexesByUser.forEach((userId, indexes) ->
+				futures.put(userId, submitBatch(userId, () -> applyOperations(userId, operations, indexes))));
+		
+		PointOperationResult[] results = new PointOperationResult[operations.size()];
+		for (Map.Entry<Long, CompletableFuture<List<PointOperationResult>>> entry : futures.entrySet()) {
+			try {
+				for (PointOperationResult result : await(entry.getValue())) {
+					results[result.index()] = result;
+				}
+			} catch(InterruptedException e) {
+				throw e;
+			} catch(Exception e) {
+				//사용자의 차례를 얻지 못했거나 사용자의 묶음 처리가 실패했다면, 다른 사용자의 결과는 그대로 두고 해당 사용자의 연산만 실패로 응답한다
+				String error = e.getMessage() != null ? e.getMessage() : "연산 처리 중 오류(" + e.getClass().getSimpleName() + ")가 발생했습니다.";
+				for (int index : indexesByUser.get(entry.getKey())) {
+					results[index] = PointOperationResult.failure(index, operations.get(index), error);
+				}
+			}
 		}
+		return Arrays.asList(results);
+	}
+	
+	/*
+	 * 한 사용자의 연산 묶음을 요청 순서대로 반영한다.
+	 * 사용자의 차례(락 또는 메일박스) 안에서 실행되므로 조회부터 기록까지 다른 요청이 끼어들지 않는다.
+	 * ATOMIC인 경우 연산마다 원자적 셀에 반영하며, 셀의 잔액은 저장소가 테이블에 반영한다.
+	 * */
+	private List<PointOperationResult> applyOperations(long userId, List<PointOperation> operations, List<Integer> indexes) {
+		boolean atomic = engine == PointEngine.ATOMIC;
+		long startTime = System.nanoTime();
+		long point = atomic ? PointRule.NOT_EXIST_USER_POINT : userPointCache.selectById(userId).point();
+		if(!atomic)
+			pointMetrics.recordNanos(PointMetrics.Stage.TABLE_READ, System.nanoTime() - startTime);
+		long updateMillis = System.currentTimeMillis();
+		boolean applied = false;
 		
-		//beforePoint > 0이지만(기존 유저 정보가 존재) 사용 후의 포인트 잔액이 0보다 작을 경우
-		if(beforePoint > 0 &&  afterPoint < PointRule.MIN_POINT) {
-			throw new Exception();
+		List<PointOperationResult> results = new ArrayList<>(indexes.size());
+		for (int index : indexes) {
+			PointOperation operation = operations.get(index);
+			if(operation.type() == null) {
+				results.add(PointOperationResult.failure(index, operation, "연산 종류(type)가 없습니다."));
+				continue;
+			}
+			
+			UserPoint userPoint;
+			try {
+				if(atomic) {
+					userPoint = applyAtomic(userId, operation.type(), operation.amount(),
+							(afterPoint, appliedMillis) -> appendHistory(userId, afterPoint, operation.type(), appliedMillis));
+				} else {
+					point = applyRule(point, operation.type(), operation.amount());
+					appendHistory(userId, point, operation.type(), updateMillis);
+					userPoint = new UserPoint(userId, point, updateMillis);
+				}
+			} catch(PointPolicyException e) {
+				results.add(PointOperationResult.failure(index, operation, e.getMessage()));
+				continue;
+			}
+			
+			applied = true;
+			results.add(PointOperationResult.success(index, operation, userPoint));
 		}
 		
-		//포인트 내역 기록
-		pointHistoryTable.insert(id, afterPoint, TransactionType.USE, System.currentTimeMillis());
-				
-		return userPointTable.insertOrUpdate(parameters.id(), afterPoint);
+		if(applied && !atomic) {
+			startTime = System.nanoTime();
+			userPointCache.insertOrUpdate(userId, point);
+			pointMetrics.recordNanos(PointMetrics.Stage.TABLE_WRITE, System.nanoTime() - startTime);
+		}
+		
+		return results;
+	}
+	
+	/*
+	 * ACTOR : 사용자의 메일박스에 명령을 적재한다.
+	 * LOCK, ATOMIC : 일괄 처리 실행기의 스레드에서 명령을 처리한다.
+	 * */
+	private <T> CompletableFuture<T> submitBatch(long id, Callable<T> command) {
+		if(engine == PointEngine.ACTOR)
+			return pointMailboxEngine.submit(id, command);
+		
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try {
+			batchExecutor.execute(() -> {
+				try {
+					future.complete(execute(id, command));
+				} catch(Exception e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch(RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+	
+	/*
+	 * 그룹 커밋(group commit)
+	 * - 사용자의 열린 그룹이 없다면 새 그룹을 열고, window-millis 뒤에 그룹을 닫도록 예약한다.
+	 * - 그룹이 열려 있는 동안 도착한 동일 사용자의 충전/사용 요청은 같은 그룹에 도착 순서대로 담긴다.
+	 * - 닫힌 그룹은 일괄 처리와 동일하게 한 번의 사용자 차례 안에서 순서대로 정책을 검증하고, 잔액은 한 번만 기록한다.
+	 * - 내역은 요청마다 기록되며, 요청마다 자신의 연산을 반영한 후의 포인트 또는 정책 위반 예외를 돌려받는다.
+	 * */
+	private CompletableFuture<UserPoint> joinCommitGroup(long id, TransactionType type, long amount) {
+		PendingOperation pending = new PendingOperation(new PointOperation(id, type, amount), new CompletableFuture<>());
+		CommitGroup created = new CommitGroup();
+		
+		//그룹에 담는 동작과 그룹을 닫는 동작(remove)은 동일한 키에 대해 직렬화되므로, 닫힌 그룹에는 더 이상 담기지 않는다
+		CommitGroup group = openGroups.compute(id, (userId, open) -> (open != null ? open : created).add(pending));
+		if(group == created)
+			groupCommitScheduler.schedule(() -> commitGroup(id, created), groupCommitWindowMillis, TimeUnit.MILLISECONDS);
+		
+		return pending.future();
+	}
+	
+	private void commitGroup(long id, CommitGroup group) {
+		openGroups.remove(id, group);
+		
+		List<PendingOperation> pendings = group.pendings;
+		List<PointOperation> operations = pendings.stream().map(PendingOperation::operation).toList();
+		List<Integer> indexes = IntStream.range(0, operations.size()).boxed().toList();
+		
+		submitBatch(id, () -> applyOperations(id, operations, indexes)).whenComplete((results, e) -> {
+			for (int i = 0; i < pendings.size(); i++) {
+				CompletableFuture<UserPoint> future = pendings.get(i).future();
+				if(e != null) {
+					future.completeExceptionally(e);
+				} else if(results.get(i).success()) {
+					future.complete(results.get(i).userPoint());
+				} else {
+					future.completeExceptionally(new PointPolicyException(results.get(i).error()));
+				}
+			}
+		});
+	}
+	
+	private record PendingOperation(PointOperation operation, CompletableFuture<UserPoint> future) {
+	}
+	
+	private static class CommitGroup {
+		private final List<PendingOperation> pendings = new ArrayList<>();
+		
+		private CommitGroup add(PendingOperation pending) {
+			pendings.add(pending);
+			return this;
+		}
+	}
+	
+	@PostConstruct
+	void startExecutors() {
+		AtomicInteger sequence = new AtomicInteger();
+		batchExecutor = Executors.newFixedThreadPool(batchParallelism, runnable -> {
+			Thread thread = new Thread(runnable, "point-batch-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		groupCommitScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "point-group-commit");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	@PreDestroy
+	void shutdownExecutors() {
+		groupCommitScheduler.shutdown();
+		batchExecutor.shutdown();
 	}
 	
 	/*
@@ -92,8 +480,8 @@ public class PointService {
 		//메소드 실행시간 확인을 위함
 		long endTime = System.nanoTime();
 				
-		//메소드 실행시간
-		log.info("case 1 실행 시간 : {}", String.valueOf((endTime-startTime)/10L));
+		//메소드 실행시간(point.sync-charge 지연 시간 분포에 기록)
+		pointMetrics.recordSyncCharge(1, endTime - startTime);
 		return POINT;
 	}
 	
@@ -112,8 +500,8 @@ public class PointService {
 		//메소드 실행시간 확인을 위함
 		long endTime = System.nanoTime();
 				
-		//메소드 실행시간
-		log.info("case 2 실행 시간 : {}", String.valueOf((endTime-startTime)/10L));
+		//메소드 실행시간(point.sync-charge 지연 시간 분포에 기록)
+		pointMetrics.recordSyncCharge(2, endTime - startTime);
 		return POINT;
 	}
 	
@@ -129,18 +517,17 @@ public class PointService {
 		 * cocurrentHashMap이 보장해주는 동기화 처리 함수를 충전 연산에 활용한다.
 		 * 값이 있으면 누적
 		 * 값이 없으면 POINT + amount
+		 * containsKey → get → put은 각각은 원자적이지만 그 사이에 다른 스레드의 충전이 끼어들어 유실되므로,
+		 * 조회와 반영을 하나의 원자적 연산(compute)으로 처리한다.
 		 * */
-		if(concurrentHashMap.containsKey(id))
-			concurrentHashMap.put(id, concurrentHashMap.get(id) + amount);
-		else
-			concurrentHashMap.put(id, POINT + amount);
+		long chargedPoint = concurrentHashMap.compute(id, (key, point) -> point == null ? POINT + amount : point + amount);
 		
 		//메소드 실행시간 확인을 위함
 		long endTime = System.nanoTime();
 				
-		//메소드 실행시간
-		log.info("case 3 실행 시간 : {}", String.valueOf((endTime-startTime)/10L));
-		return concurrentHashMap.get(id);
+		//메소드 실행시간(point.sync-charge 지연 시간 분포에 기록)
+		pointMetrics.recordSyncCharge(3, endTime - startTime);
+		return chargedPoint;
 	}
 	
 	/*
@@ -162,9 +549,9 @@ public class PointService {
 		//메소드 실행시간 확인을 위함
 		long endTime = System.nanoTime();
 				
-		//메소드 실행시간
-		log.info("case 4 실행 시간 : {}", String.valueOf((endTime-startTime)/10L));
-		return userPointTable.insertOrUpdate(id, amount);
+		//메소드 실행시간(point.sync-charge 지연 시간 분포에 기록)
+		pointMetrics.recordSyncCharge(4, endTime - startTime);
+		return userPointCache.insertOrUpdate(id, amount);
 	}
 	
 	/*
@@ -196,6 +583,140 @@ public class PointService {
 	}
 	
 	public List<PointHistory> history(long id){
-		return pointHistoryTable.selectAllByUserId(id);
+		long startTime = System.nanoTime();
+		awaitHistory(id);
+		List<PointHistory> histories = pointHistoryTable.selectAllByUserId(id);
+		pointMetrics.record(PointMetrics.Operation.HISTORY, startTime);
+		return histories;
+	}
+	
+	/*
+	 * 내역을 페이지 단위로 조회한다.
+	 * - afterId : 이전 페이지의 마지막 내역 id(cursor), 해당 id 이후의 내역부터 조회
+	 * - fromMillis/toMillis : updateMillis 조회 범위(양 끝 포함)
+	 * - limit : 한 페이지의 최대 내역 수
+	 * */
+	public List<PointHistory> history(long id, long afterId, long fromMillis, long toMillis, int limit){
+		long startTime = System.nanoTime();
+		awaitHistory(id);
+		List<PointHistory> histories = pointHistoryTable.selectByUserId(id, afterId, fromMillis, toMillis, limit);
+		pointMetrics.record(PointMetrics.Operation.HISTORY, startTime);
+		return histories;
+	}
+	
+	/*
+	 * 내역을 사용자별 cursor로 페이지 단위 조회한다.
+	 * - afterCursor : 이전 페이지의 cursor, 사용자의 afterCursor번째 이후의 내역부터 조회
+	 * 내역 id는 노드마다 다시 발급되지만(샤드 간 이동, 재기동) cursor는 사용자의 내역 순서로 정해지므로,
+	 * 사용자가 다른 샤드로 옮겨간 뒤에도 이전 페이지의 cursor로 이어서 조회할 수 있다.
+	 * */
+	public HistoryCursorPage historyPage(long id, long afterCursor, long fromMillis, long toMillis, int limit){
+		long startTime = System.nanoTime();
+		awaitHistory(id);
+		HistoryCursorPage page = pointHistoryTable.selectByUserCursor(id, afterCursor, fromMillis, toMillis, limit);
+		pointMetrics.record(PointMetrics.Operation.HISTORY, startTime);
+		return page;
+	}
+	
+	//사용자의 내역 수(아직 기록되지 않은 내역을 기다린 뒤 조회한다)
+	public long historyCount(long id) {
+		awaitHistory(id);
+		return pointHistoryTable.countByUserId(id);
+	}
+	
+	/*
+	 * 사용자의 내역 요약(유형별 건수/합계, 첫/마지막 updateMillis, 일자별 요약)을 조회한다.
+	 * 내역 조회와 같이 아직 기록되지 않은 내역을 기다린 뒤 조회한다.
+	 * */
+	public PointSummary summary(long id) {
+		long startTime = System.nanoTime();
+		awaitHistory(id);
+		PointSummary summary = pointSummaryStore.summary(id);
+		pointMetrics.record(PointMetrics.Operation.SUMMARY, startTime);
+		return summary;
+	}
+	
+	//사용자의 내역으로 요약을 다시 계산하고, 이전 요약과의 정합성을 반환한다
+	public PointSummaryRebuild rebuildSummary(long id) {
+		awaitHistory(id);
+		return pointSummaryStore.rebuild(id);
+	}
+	
+	/*
+	 * 자신이 요청한 충전/사용 내역은 조회되어야 하므로(read-your-writes) 아직 기록되지 않은 내역을 기다린다.
+	 * ATOMIC인 경우 셀의 반영 후 처리(내역 적재)를 먼저 기다린 뒤, 적재된 내역의 기록을 기다린다.
+	 * */
+	private void awaitHistory(long id) {
+		if(engine == PointEngine.ATOMIC)
+			atomicPointStore.awaitRecorded(id);
+		pointHistoryWriter.awaitPending(id);
+	}
+	
+	/*
+	 * 이 노드에 저장된 모든 사용자의 잔액을 방문한다(샤드 간 사용자 이동 시 사용).
+	 * ATOMIC인 경우 잔액의 원본인 셀을 먼저 방문하고, 셀이 없는 사용자만 테이블의 잔액을 방문한다.
+	 * */
+	public void forEachStoredUser(LongPointMap.EntryVisitor visitor) {
+		if(engine != PointEngine.ATOMIC) {
+			userPointTable.forEach(visitor);
+			return;
+		}
+		
+		Set<Long> visited = new HashSet<>();
+		atomicPointStore.forEachCell((userId, point, updateMillis) -> {
+			visited.add(userId);
+			visitor.visit(userId, point, updateMillis);
+		});
+		userPointTable.forEach((userId, point, updateMillis) -> {
+			if(!visited.contains(userId))
+				visitor.visit(userId, point, updateMillis);
+		});
+	}
+	
+	/*
+	 * 다른 샤드에서 옮겨온 사용자의 내역을 순서대로 기록한다.
+	 * 내역은 추가만 되므로, 이 노드가 이전에 같은 사용자를 보관했었다면 남아있는 내역은 옮겨온 내역의 앞부분과 같다.
+	 * 따라서 호출자는 남아있는 내역 수(historyCount)를 cursor로 하여 이후의 내역만 옮겨오며,
+	 * 옮겨온 내역은 이전 소유 노드에서와 같은 cursor를 갖는다.
+	 * */
+	public void restoreHistories(long id, List<PointHistory> histories) {
+		for (PointHistory history : histories) {
+			pointHistoryWriter.restore(id, history.amount(), history.type(), history.updateMillis());
+		}
+	}
+	
+	//다른 샤드에서 옮겨온 사용자의 잔액을 복구한다(내역을 모두 옮겨온 뒤 호출한다)
+	public void restoreUser(long id, long point, long updateMillis) {
+		awaitHistory(id);
+		if(engine == PointEngine.ATOMIC)
+			atomicPointStore.restore(id, point, updateMillis);
+		else
+			userPointCache.restore(id, point, updateMillis);
+	}
+	
+	/*
+	 * 리더에서 복제한 내역을 반영한다(팔로워).
+	 * 내역의 amount는 반영 후 포인트이므로 사용자의 포인트도 내역의 amount로 반영한다.
+	 * */
+	public PointHistory replicate(PointHistory history) {
+		PointHistory replicated = pointHistoryWriter.restore(history.userId(), history.amount(), history.type(), history.updateMillis());
+		if(engine == PointEngine.ATOMIC)
+			atomicPointStore.restore(history.userId(), history.amount(), history.updateMillis());
+		else
+			userPointCache.replicate(history.userId(), history.amount(), history.updateMillis());
+
+		return replicated;
+	}
+
+	public UserPointCacheStats cacheStats() {
+		return userPointCache.stats();
+	}
+	
+	//사용자 요청 대기열(ACTOR인 경우 사용자가 배정된 메일박스)의 대기 중인 요청 수 및 대기 시간
+	public UserQueueStatus queueStatus(long id) {
+		if(engine == PointEngine.ACTOR)
+			return pointMailboxEngine.status(id);
+		
+		return userLockManager.status(id);
 	}
 }
@@ -17,9 +17,9 @@ public record UserPoint(
     }
     
     //포인트 유효성 검증을 포함한 user 사용자에 대한 정보
-    public static UserPoint user(long id, long point) throws Exception {
+    public static UserPoint user(long id, long point) throws PointPolicyException {
     	if(point < PointRule.MIN_POINT || point > PointRule.MAX_POINT)
-    		throw new Exception();
+    		throw new PointPolicyException("포인트 금액(" + point + ")은 " + PointRule.MIN_POINT + " 이상, " + PointRule.MAX_POINT + " 이하여야 합니다.");
     	
     	return new UserPoint(id, point, System.currentTimeMillis());
     }
@@ -0,0 +1,144 @@
+package io.hhplus.tdd.point.actor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.lock.PointQueueTimeoutException;
+import io.hhplus.tdd.point.lock.UserQueueStatus;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * 단일 작성자(single-writer) 메일박스 엔진
+ * - 사용자 id는 해시를 통해 N개의 메일박스 중 하나에 고정적으로 배정된다.
+ * - 각 메일박스는 하나의 스레드가 도착 순서대로 명령을 처리하므로, 동일 사용자의 명령은 락 없이 직렬화된다.
+ * - 메일박스 수는 기본적으로 CPU 코어 수를 따르며, 메일박스별 적체(backlog)를 조회할 수 있다.
+ * */
+@Component
+public class PointMailboxEngine {
+
+	private final Mailbox[] mailboxes;
+
+	private final long maxWaitMillis;
+
+	public PointMailboxEngine(
+			@Value("${point.actor.mailboxes:0}") int mailboxCount,
+			@Value("${point.actor.mailbox-capacity:10000}") int mailboxCapacity,
+			@Value("${point.queue.max-wait-millis:10000}") long maxWaitMillis
+	) {
+		//메일박스 수를 지정하지 않았다면 코어 수만큼 구성한다
+		int count = mailboxCount > 0 ? mailboxCount : Runtime.getRuntime().availableProcessors();
+
+		this.mailboxes = new Mailbox[count];
+		for (int i = 0; i < count; i++) {
+			mailboxes[i] = new Mailbox(i, mailboxCapacity);
+		}
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	/*
+	 * 사용자의 메일박스에 명령을 적재하고, 처리 결과를 CompletableFuture로 반환한다.
+	 * - 메일박스가 가득 찼다면 RejectedExecutionException으로 즉시 실패한다.
+	 * - 최대 대기 시간을 넘겨 차례가 온 명령은 실행하지 않고 PointQueueTimeoutException으로 실패한다.
+	 * */
+	public <T> CompletableFuture<T> submit(long userId, Callable<T> command) {
+		Mailbox mailbox = mailboxOf(userId);
+		CompletableFuture<T> future = new CompletableFuture<>();
+		long enqueuedTime = System.nanoTime();
+
+		try {
+			mailbox.executor.execute(() -> {
+				long waitNanos = System.nanoTime() - enqueuedTime;
+				mailbox.recordWait(waitNanos);
+
+				if(waitNanos > TimeUnit.MILLISECONDS.toNanos(maxWaitMillis)) {
+					future.completeExceptionally(new PointQueueTimeoutException(userId, maxWaitMillis));
+					return;
+				}
+
+				try {
+					future.complete(command.call());
+				} catch(Exception e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch(RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+
+		return future;
+	}
+
+	//사용자가 배정된 메일박스의 적체 및 대기 시간
+	public UserQueueStatus status(long userId) {
+		Mailbox mailbox = mailboxOf(userId);
+		return new UserQueueStatus(
+				userId,
+				mailbox.executor.getQueue().size(),
+				TimeUnit.NANOSECONDS.toMillis(mailbox.lastWaitNanos),
+				TimeUnit.NANOSECONDS.toMillis(mailbox.maxWaitNanos)
+		);
+	}
+
+	//메일박스별로 처리를 기다리고 있는 명령의 수
+	public int[] backlogs() {
+		int[] backlogs = new int[mailboxes.length];
+		for (int i = 0; i < mailboxes.length; i++) {
+			backlogs[i] = mailboxes[i].executor.getQueue().size();
+		}
+		return backlogs;
+	}
+
+	public int mailboxCount() {
+		return mailboxes.length;
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		for (Mailbox mailbox : mailboxes) {
+			mailbox.executor.shutdown();
+		}
+		for (Mailbox mailbox : mailboxes) {
+			mailbox.executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	private Mailbox mailboxOf(long userId) {
+		return mailboxes[Math.floorMod(Long.hashCode(userId), mailboxes.length)];
+	}
+
+	private static class Mailbox {
+		private final ThreadPoolExecutor executor;
+
+		//메일박스 스레드만 갱신하고, 상태 조회 시에는 최신 값을 읽도록 volatile로 선언한다
+		private volatile long lastWaitNanos;
+
+		private volatile long maxWaitNanos;
+
+		private Mailbox(int index, int capacity) {
+			AtomicInteger sequence = new AtomicInteger();
+			this.executor = new ThreadPoolExecutor(
+					1, 1, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(capacity),
+					runnable -> {
+						Thread thread = new Thread(runnable, "point-mailbox-" + index + "-" + sequence.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+			);
+		}
+
+		private void recordWait(long waitNanos) {
+			lastWaitNanos = waitNanos;
+			if(waitNanos > maxWaitNanos)
+				maxWaitNanos = waitNanos;
+		}
+	}
+}
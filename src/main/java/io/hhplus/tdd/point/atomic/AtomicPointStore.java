@@ -0,0 +1,400 @@
+package io.hhplus.tdd.point.atomic;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.LongPointMap;
+import io.hhplus.tdd.point.PointPolicyException;
+import io.hhplus.tdd.point.PointRule;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * 락 없는(lock-free) 사용자 포인트 저장소
+ * - 사용자마다 잔액을 원자적 셀(long 하나)로 관리하고, 충전/사용은 CAS(compare-and-set) 반복으로 반영한다.
+ *   셀의 long에는 잔액(하위 32bit), 잔액이 바뀐 횟수(sequence, 31bit), 제거 여부(최상위 bit)를 함께 담으므로 반영마다 객체를 만들지 않는다.
+ * - 포인트 정책(PointRule)은 CAS 직전의 잔액으로 검증하므로, 최대 포인트를 넘는 충전이나 잔액보다 큰 사용은 락 없이 거절된다.
+ * - 셀은 최초 사용 시 테이블(캐시)의 잔액으로 초기화되며, 이후 잔액의 원본(source of truth)은 셀이다.
+ * - 반영 후 처리(내역 기록)는 CAS 경로에서 기다리지 않는다. CAS에 성공하면 셀의 대기열에 적재하고,
+ *   한 번에 한 스레드만 대기열을 sequence 순서대로 처리하므로 동일 사용자의 내역은 잔액이 바뀐 순서대로 기록된다.
+ *   처리 중인 스레드가 있다면 적재만 하고 반환하며, 반영 후 처리가 끝났는지는 awaitRecorded로 기다린다.
+ * - 셀의 잔액은 백그라운드에서 테이블에 반영(write-back)한다. 사용자마다 하나의 반영 작업만 실행되며, 항상 최신 잔액을 기록한다.
+ * - 셀 수가 max-cells를 넘으면 테이블에 반영을 마친 유휴 셀을 제거하며, 이후의 충전/사용은 테이블(캐시)의 잔액으로 셀을 다시 만든다.
+ * */
+@Component
+public class AtomicPointStore {
+
+	private static final Logger log = LoggerFactory.getLogger(AtomicPointStore.class);
+
+	private static final VarHandle STATE;
+
+	//셀 상태의 제거 여부 bit와 sequence 단위, sequence의 범위(31bit, 넘으면 0부터 다시 시작한다)
+	private static final long RETIRED = Long.MIN_VALUE;
+
+	private static final long SEQUENCE_UNIT = 1L << 32;
+
+	private static final int SEQUENCE_MASK = Integer.MAX_VALUE;
+
+	static {
+		try {
+			STATE = MethodHandles.lookup().findVarHandle(PointCell.class, "state", long.class);
+		} catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final UserPointCache userPointCache;
+
+	private final ConcurrentHashMap<Long, PointCell> cells = new ConcurrentHashMap<>();
+
+	private final ExecutorService flushExecutor;
+
+	private final int maxCells;
+
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	public AtomicPointStore(
+			UserPointCache userPointCache,
+			@Value("${point.atomic.flush-threads:4}") int flushThreads,
+			@Value("${point.atomic.max-cells:100000}") int maxCells
+	) {
+		this.userPointCache = userPointCache;
+		this.maxCells = maxCells;
+
+		AtomicInteger sequence = new AtomicInteger();
+		this.flushExecutor = Executors.newFixedThreadPool(flushThreads, runnable -> {
+			Thread thread = new Thread(runnable, "point-atomic-flush-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/*
+	 * 충전/사용을 원자적으로 반영하고 반영 후의 포인트를 반환한다.
+	 * 다른 스레드가 먼저 잔액을 바꾸었다면(CAS 실패) 바뀐 잔액으로 다시 검증하여 반영한다.
+	 * listener는 동일 사용자에 대해 잔액이 바뀐 순서대로 호출되며, 앞선 listener가 처리 중이라면 반환된 뒤에 다른 스레드에서 호출될 수 있다.
+	 * */
+	public UserPoint apply(long userId, TransactionType type, long amount, AppliedListener listener) throws PointPolicyException {
+		while (true) {
+			PointCell cell = cellOf(userId);
+			long before = (long) STATE.getVolatile(cell);
+			//제거된 셀이라면 테이블(캐시)의 잔액으로 셀을 다시 만든다
+			if(retired(before))
+				continue;
+
+			long afterPoint = PointRule.apply(point(before), type, amount);
+			long after = next(before, afterPoint);
+			if(STATE.compareAndSet(cell, before, after)) {
+				long updateMillis = System.currentTimeMillis();
+				cell.updateMillis = updateMillis;
+				cell.applied.offer(new Applied(sequence(after), afterPoint, updateMillis, listener));
+				drain(cell);
+				scheduleFlush(userId, cell);
+				return new UserPoint(userId, afterPoint, updateMillis);
+			}
+		}
+	}
+
+	//셀이 있다면 셀의 잔액을, 없다면 테이블(캐시)의 잔액을 조회한다
+	public UserPoint selectById(long userId) {
+		PointCell cell = cells.get(userId);
+		if(cell == null)
+			return userPointCache.selectById(userId);
+
+		long state = (long) STATE.getVolatile(cell);
+		if(retired(state))
+			return userPointCache.selectById(userId);
+
+		return new UserPoint(userId, point(state), cell.updateMillis);
+	}
+
+	/*
+	 * 사용자의 지금까지 반영된 충전/사용의 반영 후 처리(내역 기록)가 끝날 때까지 기다린다.
+	 * 자신이 요청한 충전/사용의 내역을 조회할 때(read-your-writes) 사용한다.
+	 * */
+	public void awaitRecorded(long userId) {
+		PointCell cell = cells.get(userId);
+		if(cell == null)
+			return;
+
+		int target = sequence((long) STATE.getVolatile(cell));
+		if(!behind(cell.recordedSequence, target))
+			return;
+
+		synchronized (cell) {
+			cell.waiters++;
+			try {
+				while (behind(cell.recordedSequence, target)) {
+					cell.wait();
+				}
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				cell.waiters--;
+			}
+		}
+	}
+
+	//셀이 있는 모든 사용자의 잔액을 방문한다
+	public void forEachCell(LongPointMap.EntryVisitor visitor) {
+		cells.forEach((userId, cell) -> visitor.visit(userId, point((long) STATE.getVolatile(cell)), cell.updateMillis));
+	}
+
+	/*
+	 * 다른 샤드에서 옮겨온 잔액으로 사용자를 복구한다.
+	 * 셀을 제거하여 다음 충전/사용 시 복구된 테이블(캐시)의 잔액으로 셀을 다시 초기화한다.
+	 * */
+	public void restore(long userId, long point, long updateMillis) {
+		PointCell cell = cells.remove(userId);
+		if(cell != null)
+			STATE.getAndBitwiseOr(cell, RETIRED);
+		userPointCache.restore(userId, point, updateMillis);
+	}
+
+	//테이블에 아직 반영되지 않은 잔액이 있는 사용자 수
+	public int dirtyCount() {
+		int count = 0;
+		for (PointCell cell : cells.values()) {
+			if(cell.flushedSequence != sequence((long) STATE.getVolatile(cell)))
+				count++;
+		}
+		return count;
+	}
+
+	//셀이 있는 사용자 수
+	public int cellCount() {
+		return cells.size();
+	}
+
+	//반영 작업을 중단하고, 테이블에 반영되지 않은 잔액을 모두 기록한다
+	@PreDestroy
+	public void flush() throws InterruptedException {
+		flushExecutor.shutdown();
+		flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+		cells.forEach(this::writeBack);
+	}
+
+	/*
+	 * 셀이 없다면 테이블(캐시)의 잔액으로 초기화한다.
+	 * 테이블 조회는 지연이 있으므로 ConcurrentHashMap의 구간 락 밖에서 조회하고, 먼저 등록된 셀을 사용한다.
+	 * */
+	private PointCell cellOf(long userId) {
+		PointCell cell = cells.get(userId);
+		if(cell != null) {
+			if(!retired((long) STATE.getVolatile(cell)))
+				return cell;
+
+			cells.remove(userId, cell);
+		}
+
+		PointCell loaded = new PointCell(userPointCache.selectById(userId).point());
+		PointCell existing = cells.putIfAbsent(userId, loaded);
+		if(existing != null)
+			return existing;
+
+		evictIfFull();
+		return loaded;
+	}
+
+	/*
+	 * 셀의 대기열을 sequence 순서대로 처리한다(work-in-progress 카운터로 한 번에 한 스레드만 처리한다).
+	 * 앞선 sequence가 아직 적재되지 않았다면 뒤의 항목은 보관해 두고, 앞선 sequence를 적재한 스레드가 이어서 처리한다.
+	 * listener가 실패해도 다음 sequence가 진행되도록 처리 완료를 표시한다.
+	 * */
+	private void drain(PointCell cell) {
+		if(cell.draining.getAndIncrement() != 0)
+			return;
+
+		int missed = 1;
+		while (true) {
+			Applied applied;
+			while ((applied = cell.applied.poll()) != null) {
+				if(cell.outOfOrder == null)
+					cell.outOfOrder = new HashMap<>();
+				cell.outOfOrder.put(applied.sequence(), applied);
+			}
+
+			while (cell.outOfOrder != null && (applied = cell.outOfOrder.remove((cell.recordedSequence + 1) & SEQUENCE_MASK)) != null) {
+				try {
+					applied.listener().applied(applied.point(), applied.updateMillis());
+				} catch(Exception e) {
+					log.warn("포인트 반영 후 처리에 실패하였습니다(잔액 {}).", applied.point(), e);
+				} finally {
+					cell.recordedSequence = applied.sequence();
+					if(cell.waiters > 0) {
+						synchronized (cell) {
+							cell.notifyAll();
+						}
+					}
+				}
+			}
+
+			missed = cell.draining.addAndGet(-missed);
+			if(missed == 0)
+				return;
+		}
+	}
+
+	//이미 반영 작업이 예약(실행) 중이라면 해당 작업이 최신 잔액까지 반영하므로 다시 예약하지 않는다
+	private void scheduleFlush(long userId, PointCell cell) {
+		if(!cell.flushing.compareAndSet(false, true))
+			return;
+
+		try {
+			flushExecutor.execute(() -> flushCell(userId, cell));
+		} catch(Exception e) {
+			//종료 중이라면 flush()에서 남은 잔액을 기록한다
+			cell.flushing.set(false);
+		}
+	}
+
+	private void flushCell(long userId, PointCell cell) {
+		try {
+			writeBack(userId, cell);
+		} finally {
+			cell.flushing.set(false);
+		}
+
+		//반영 플래그를 내리기 직전에 바뀐 잔액은 다시 반영한다
+		if(cell.flushedSequence != sequence((long) STATE.getVolatile(cell)))
+			scheduleFlush(userId, cell);
+	}
+
+	//반영하는 동안 잔액이 바뀌었다면(sequence 변경) 최신 잔액으로 다시 기록한다
+	private void writeBack(long userId, PointCell cell) {
+		long state;
+		do {
+			state = (long) STATE.getVolatile(cell);
+			try {
+				userPointCache.insertOrUpdate(userId, point(state));
+			} catch(Exception e) {
+				log.warn("사용자({})의 포인트를 테이블에 반영하지 못했습니다.", userId, e);
+				return;
+			}
+			cell.flushedSequence = sequence(state);
+		} while (sequence(state) != sequence((long) STATE.getVolatile(cell)));
+	}
+
+	//셀 수가 max-cells를 넘으면 반영 스레드에서 셀을 max-cells의 90%까지 제거한다(한 번에 하나의 제거 작업만 실행)
+	private void evictIfFull() {
+		if(cells.size() <= maxCells || !evicting.compareAndSet(false, true))
+			return;
+
+		try {
+			flushExecutor.execute(this::evictIdleCells);
+		} catch(Exception e) {
+			evicting.set(false);
+		}
+	}
+
+	private void evictIdleCells() {
+		try {
+			int target = maxCells - maxCells / 10;
+			Iterator<Map.Entry<Long, PointCell>> iterator = cells.entrySet().iterator();
+			while (cells.size() > target && iterator.hasNext()) {
+				Map.Entry<Long, PointCell> entry = iterator.next();
+				if(retire(entry.getValue()))
+					cells.remove(entry.getKey(), entry.getValue());
+			}
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	/*
+	 * 테이블에 반영을 마쳤고 반영 후 처리 중이 아닌 셀만 제거 표시(retired)한다.
+	 * 표시는 CAS로 하므로, 표시 이후에는 어떤 충전/사용도 이 셀에 반영되지 않는다.
+	 * */
+	private boolean retire(PointCell cell) {
+		long state = (long) STATE.getVolatile(cell);
+		return !retired(state)
+				&& !cell.flushing.get()
+				&& cell.draining.get() == 0
+				&& sequence(state) == cell.flushedSequence
+				&& sequence(state) == cell.recordedSequence
+				&& STATE.compareAndSet(cell, state, state | RETIRED);
+	}
+
+	private static long point(long state) {
+		return (int) state;
+	}
+
+	private static int sequence(long state) {
+		return (int) (state >>> 32) & SEQUENCE_MASK;
+	}
+
+	private static boolean retired(long state) {
+		return (state & RETIRED) != 0;
+	}
+
+	//sequence를 하나 증가시키고 잔액을 바꾼 상태(제거되지 않은 셀에서만 호출한다)
+	private static long next(long state, long point) {
+		return ((state + SEQUENCE_UNIT) & ~RETIRED & -SEQUENCE_UNIT) | (Math.toIntExact(point) & 0xFFFF_FFFFL);
+	}
+
+	//처리를 마친 sequence(recorded)가 target에 아직 도달하지 않았는지(sequence는 순환하므로 범위의 절반 이내의 차이로 비교한다)
+	private static boolean behind(int recorded, int target) {
+		int distance = (target - recorded) & SEQUENCE_MASK;
+		return distance != 0 && distance < (SEQUENCE_MASK >>> 1);
+	}
+
+	//충전/사용이 반영된 뒤, 동일 사용자에 대해 반영된 순서대로 호출된다
+	@FunctionalInterface
+	public interface AppliedListener {
+		void applied(long afterPoint, long updateMillis);
+	}
+
+	//반영 후 처리를 기다리는 충전/사용
+	private record Applied(int sequence, long point, long updateMillis, AppliedListener listener) {
+	}
+
+	private static class PointCell {
+		//잔액, sequence, 제거 여부(STATE로 읽고 CAS한다)
+		@SuppressWarnings("unused")
+		private volatile long state;
+
+		private final AtomicBoolean flushing = new AtomicBoolean();
+
+		//CAS에 성공하고 반영 후 처리를 기다리는 충전/사용(여러 스레드가 적재한다)
+		private final Queue<Applied> applied = new ConcurrentLinkedQueue<>();
+
+		//대기열을 처리 중인 스레드가 있다면 0보다 크다
+		private final AtomicInteger draining = new AtomicInteger();
+
+		//앞선 sequence보다 먼저 적재된 항목, 대기열을 처리하는 스레드만 사용한다
+		private Map<Integer, Applied> outOfOrder;
+
+		//반영 후 처리를 마친 sequence
+		private volatile int recordedSequence;
+
+		//반영 후 처리를 기다리는 스레드 수(cell의 모니터 안에서만 바꾼다)
+		private volatile int waiters;
+
+		//테이블에 반영된 sequence, 반영 작업만 갱신한다
+		private volatile int flushedSequence;
+
+		private volatile long updateMillis = System.currentTimeMillis();
+
+		private PointCell(long balance) {
+			this.state = Math.toIntExact(balance) & 0xFFFF_FFFFL;
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package io.hhplus.tdd.point.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+/*
+ * UserPointTable 앞단의 UserPoint 캐시
+ * - 조회 시 캐시에 없으면 테이블에서 조회하여 적재한다(read-through).
+ * - insertOrUpdate는 테이블에 반영한 결과로 캐시를 갱신한다(write-through).
+ * - 최대 크기를 넘으면 가장 오래 사용되지 않은 항목을 제거하고(LRU), 만료 시간(TTL)이 지난 항목은 조회 시 제거한다.
+ * - 락 경합을 줄이기 위해 사용자 id를 기준으로 여러 구간(segment)으로 나누어 관리한다.
+ * - 동일 사용자의 테이블 조회가 동시에 여러 건 발생하면 하나의 조회만 실행하고 나머지는 그 결과를 함께 기다린다(single-flight).
+ *   반영(insertOrUpdate, invalidate)이 완료된 이후에 도착한 조회는 반영 이전에 시작된 조회를 기다리지 않는다.
+ * */
+@Component
+public class UserPointCache {
+
+	private static final int SEGMENT_COUNT = 16;
+
+	private final UserPointTable userPointTable;
+
+	private final boolean enabled;
+
+	private final long ttlNanos;
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final boolean singleFlight;
+
+	//사용자별로 실행 중인 테이블 조회
+	private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> inFlight = new ConcurrentHashMap<>();
+
+	//실행된 테이블 조회 수와, 실행 중인 조회를 기다려 테이블 조회를 생략한 수
+	private final LongAdder loads = new LongAdder();
+
+	private final LongAdder collapsed = new LongAdder();
+
+	public UserPointCache(
+			UserPointTable userPointTable,
+			boolean enabled,
+			int maximumSize,
+			long ttlMillis
+	) {
+		this(userPointTable, enabled, maximumSize, ttlMillis, true);
+	}
+
+	@Autowired
+	public UserPointCache(
+			UserPointTable userPointTable,
+			@Value("${point.cache.enabled:true}") boolean enabled,
+			@Value("${point.cache.maximum-size:100000}") int maximumSize,
+			@Value("${point.cache.ttl-millis:60000}") long ttlMillis,
+			@Value("${point.cache.single-flight:true}") boolean singleFlight
+	) {
+		this.userPointTable = userPointTable;
+		this.enabled = enabled;
+		this.singleFlight = singleFlight;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			segments[i] = new Segment(Math.max(1, maximumSize / SEGMENT_COUNT));
+		}
+	}
+
+	public UserPoint selectById(long id) {
+		if(!enabled)
+			return load(id);
+
+		Segment segment = segmentOf(id);
+		UserPoint cached = segment.get(id);
+		if(cached != null) {
+			hits.increment();
+			return cached;
+		}
+
+		/*
+		 * 테이블 조회 중 같은 구간에 쓰기가 발생했다면, 조회한 값은 이미 오래된 값일 수 있으므로 캐시에 적재하지 않는다.
+		 * */
+		misses.increment();
+		long epoch = segment.epoch();
+		UserPoint loaded = load(id);
+		segment.putIfEpoch(id, loaded, epoch);
+		return loaded;
+	}
+
+	/*
+	 * 반영 결과는 실행 중인 조회를 제거한 뒤 캐시에 갱신한다.
+	 * 이 순서로 갱신해야 반영 이전에 시작된 조회를 기다린 요청이 갱신된 epoch를 읽지 못하므로, 오래된 조회 결과가 캐시에 적재되지 않는다.
+	 * */
+	public UserPoint insertOrUpdate(long id, long amount) {
+		UserPoint userPoint = userPointTable.insertOrUpdate(id, amount);
+		inFlight.remove(id);
+		if(enabled)
+			segmentOf(id).put(id, userPoint);
+
+		return userPoint;
+	}
+
+	//다른 샤드에서 옮겨온 잔액을 지연 없이 테이블에 반영하고 해당 사용자의 캐시를 제거한다
+	public void restore(long id, long point, long updateMillis) {
+		userPointTable.restore(id, point, updateMillis);
+		invalidate(id);
+	}
+
+	//리더에서 복제한 잔액을 지연 없이 테이블에 반영하고 캐시에도 갱신한다(팔로워의 조회가 테이블 조회를 기다리지 않도록)
+	public void replicate(long id, long point, long updateMillis) {
+		userPointTable.restore(id, point, updateMillis);
+		inFlight.remove(id);
+		if(enabled)
+			segmentOf(id).put(id, new UserPoint(id, point, updateMillis));
+	}
+
+	//캐시를 거치지 않고 테이블이 변경된 경우 해당 사용자의 캐시를 제거한다
+	public void invalidate(long id) {
+		inFlight.remove(id);
+		if(enabled)
+			segmentOf(id).remove(id);
+	}
+
+	public UserPointCacheStats stats() {
+		long size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return new UserPointCacheStats(hits.sum(), misses.sum(), evictions.sum(), size, loads.sum(), collapsed.sum());
+	}
+
+	/*
+	 * 테이블에서 조회한다(single-flight).
+	 * 동일 사용자의 조회가 실행 중이라면 새로 조회하지 않고 실행 중인 조회의 결과를 기다린다.
+	 * */
+	private UserPoint load(long id) {
+		if(!singleFlight) {
+			loads.increment();
+			return userPointTable.selectById(id);
+		}
+
+		CompletableFuture<UserPoint> created = new CompletableFuture<>();
+		CompletableFuture<UserPoint> flight = inFlight.putIfAbsent(id, created);
+		if(flight != null) {
+			collapsed.increment();
+			return flight.join();
+		}
+
+		loads.increment();
+		try {
+			UserPoint loaded = userPointTable.selectById(id);
+			created.complete(loaded);
+			return loaded;
+		} catch(RuntimeException e) {
+			created.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(id, created);
+		}
+	}
+
+	private Segment segmentOf(long id) {
+		return segments[Math.floorMod(Long.hashCode(id), SEGMENT_COUNT)];
+	}
+
+	private record Entry(UserPoint userPoint, long expiresAt) {
+	}
+
+	private class Segment {
+		private final LinkedHashMap<Long, Entry> entries;
+
+		//구간에 쓰기(put, remove)가 발생할 때마다 증가한다
+		private long epoch;
+
+		private Segment(int maximumSize) {
+			//accessOrder = true : 조회 순서를 기준으로 가장 오래 사용되지 않은 항목이 eldest가 된다
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+					if(size() <= maximumSize)
+						return false;
+
+					evictions.increment();
+					return true;
+				}
+			};
+		}
+
+		private synchronized UserPoint get(long id) {
+			Entry entry = entries.get(id);
+			if(entry == null)
+				return null;
+
+			if(entry.expiresAt - System.nanoTime() < 0) {
+				entries.remove(id);
+				evictions.increment();
+				return null;
+			}
+			return entry.userPoint;
+		}
+
+		private synchronized long epoch() {
+			return epoch;
+		}
+
+		private synchronized void put(long id, UserPoint userPoint) {
+			epoch++;
+			entries.put(id, new Entry(userPoint, System.nanoTime() + ttlNanos));
+		}
+
+		private synchronized void putIfEpoch(long id, UserPoint userPoint, long expectedEpoch) {
+			if(epoch == expectedEpoch)
+				entries.put(id, new Entry(userPoint, System.nanoTime() + ttlNanos));
+		}
+
+		private synchronized void remove(long id) {
+			epoch++;
+			entries.remove(id);
+		}
+
+		private synchronized int size() {
+			return entries.size();
+		}
+	}
+}
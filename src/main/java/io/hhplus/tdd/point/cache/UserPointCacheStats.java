@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.cache;
+
+/*
+ * UserPoint 캐시의 누적 통계
+ * - hits : 캐시에서 조회된 횟수
+ * - misses : 캐시에 없어 UserPointTable에서 조회한 횟수
+ * - evictions : 최대 크기 초과 또는 만료(TTL)로 제거된 항목 수
+ * - size : 현재 캐시된 항목 수
+ * - loads : UserPointTable 조회를 실행한 횟수
+ * - collapsed : 동일 사용자의 실행 중인 조회를 기다려 UserPointTable 조회를 생략한 횟수(single-flight)
+ * */
+public record UserPointCacheStats(
+		long hits,
+		long misses,
+		long evictions,
+		long size,
+		long loads,
+		long collapsed
+) {
+}
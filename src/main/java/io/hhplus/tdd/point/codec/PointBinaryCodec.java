@@ -0,0 +1,226 @@
+package io.hhplus.tdd.point.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+/*
+ * 포인트 API의 binary 형식(application/x-point-binary) 인코딩/디코딩
+ * - 모든 값은 big-endian이며, 필드 이름 없이 정해진 순서로 기록한다.
+ * - amount(충전/사용 요청 본문) : amount(8)
+ * - UserPoint : id(8) | point(8) | updateMillis(8)
+ * - PointHistory : id(8) | userId(8) | amount(8) | type(1, TransactionType의 ordinal) | updateMillis(8), 내역 내보내기의 binary 행과 같다.
+ * - PointOperation : userId(8) | type(1) | amount(8)
+ * - PointOperationResult : index(4) | userId(8) | type(1) | amount(8) | success(1) | 성공이면 UserPoint, 실패면 error 문자열
+ * - ErrorResponse : code 문자열 | message 문자열
+ * - 목록 : 항목 수(4) | 항목...
+ * - 문자열 : UTF-8 바이트 수(4) | UTF-8 바이트, null은 빈 문자열로 기록한다.
+ * 인코딩은 크기를 먼저 계산하여 한 번에 할당한 버퍼에 중간 객체 없이 기록하고,
+ * 디코딩은 본문이 모자라면 BufferUnderflowException을, 항목 수나 type이 잘못되었다면 IllegalArgumentException을 던진다.
+ * */
+public final class PointBinaryCodec {
+
+	public static final String MEDIA_TYPE = "application/x-point-binary";
+
+	public static final int AMOUNT_BYTES = 8;
+
+	public static final int USER_POINT_BYTES = 24;
+
+	public static final int HISTORY_BYTES = 33;
+
+	public static final int OPERATION_BYTES = 17;
+
+	static final int COUNT_BYTES = 4;
+
+	//index, userId, type, amount, success
+	private static final int RESULT_HEADER_BYTES = 22;
+
+	private static final TransactionType[] TYPES = TransactionType.values();
+
+	private PointBinaryCodec() {
+	}
+
+	public static UserPoint getUserPoint(ByteBuffer buffer) {
+		return new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+	}
+
+	public static void putUserPoint(ByteBuffer buffer, UserPoint userPoint) {
+		buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+	}
+
+	public static void putHistory(ByteBuffer buffer, long id, long userId, long amount, TransactionType type, long updateMillis) {
+		buffer.putLong(id).putLong(userId).putLong(amount).put((byte) type.ordinal()).putLong(updateMillis);
+	}
+
+	public static void putHistory(ByteBuffer buffer, PointHistory history) {
+		putHistory(buffer, history.id(), history.userId(), history.amount(), history.type(), history.updateMillis());
+	}
+
+	public static PointHistory getHistory(ByteBuffer buffer) {
+		return new PointHistory(buffer.getLong(), buffer.getLong(), buffer.getLong(), type(buffer.get()), buffer.getLong());
+	}
+
+	public static int historiesSize(List<PointHistory> histories) {
+		return COUNT_BYTES + histories.size() * HISTORY_BYTES;
+	}
+
+	public static void putHistories(ByteBuffer buffer, List<PointHistory> histories) {
+		buffer.putInt(histories.size());
+		for (PointHistory history : histories) {
+			putHistory(buffer, history);
+		}
+	}
+
+	public static List<PointHistory> getHistories(ByteBuffer buffer) {
+		int count = count(buffer, HISTORY_BYTES);
+		List<PointHistory> histories = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			histories.add(getHistory(buffer));
+		}
+		return histories;
+	}
+
+	public static int operationsSize(List<PointOperation> operations) {
+		return COUNT_BYTES + operations.size() * OPERATION_BYTES;
+	}
+
+	public static void putOperations(ByteBuffer buffer, List<PointOperation> operations) {
+		buffer.putInt(operations.size());
+		for (PointOperation operation : operations) {
+			buffer.putLong(operation.userId()).put((byte) operation.type().ordinal()).putLong(operation.amount());
+		}
+	}
+
+	public static List<PointOperation> getOperations(ByteBuffer buffer) {
+		int count = count(buffer, OPERATION_BYTES);
+		List<PointOperation> operations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			operations.add(new PointOperation(buffer.getLong(), type(buffer.get()), buffer.getLong()));
+		}
+		return operations;
+	}
+
+	public static int resultsSize(List<PointOperationResult> results) {
+		int size = COUNT_BYTES;
+		for (PointOperationResult result : results) {
+			size += RESULT_HEADER_BYTES + (result.success() ? USER_POINT_BYTES : stringSize(result.error()));
+		}
+		return size;
+	}
+
+	public static void putResults(ByteBuffer buffer, List<PointOperationResult> results) {
+		buffer.putInt(results.size());
+		for (PointOperationResult result : results) {
+			buffer.putInt(result.index())
+					.putLong(result.userId())
+					.put((byte) result.type().ordinal())
+					.putLong(result.amount())
+					.put((byte) (result.success() ? 1 : 0));
+			if(result.success())
+				putUserPoint(buffer, result.userPoint());
+			else
+				putString(buffer, result.error());
+		}
+	}
+
+	public static List<PointOperationResult> getResults(ByteBuffer buffer) {
+		int count = count(buffer, RESULT_HEADER_BYTES);
+		List<PointOperationResult> results = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int index = buffer.getInt();
+			long userId = buffer.getLong();
+			TransactionType type = type(buffer.get());
+			long amount = buffer.getLong();
+			boolean success = buffer.get() != 0;
+			results.add(success
+					? new PointOperationResult(index, userId, type, amount, true, getUserPoint(buffer), null)
+					: new PointOperationResult(index, userId, type, amount, false, null, getString(buffer)));
+		}
+		return results;
+	}
+
+	public static int errorSize(ErrorResponse error) {
+		return stringSize(error.code()) + stringSize(error.message());
+	}
+
+	public static void putError(ByteBuffer buffer, ErrorResponse error) {
+		putString(buffer, error.code());
+		putString(buffer, error.message());
+	}
+
+	public static ErrorResponse getError(ByteBuffer buffer) {
+		return new ErrorResponse(getString(buffer), getString(buffer));
+	}
+
+	//문자열의 UTF-8 바이트 수를 문자열을 인코딩하지 않고 계산한다
+	static int stringSize(String value) {
+		int bytes = 0;
+		int length = value == null ? 0 : value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if(c < 0x80)
+				bytes += 1;
+			else if(c < 0x800)
+				bytes += 2;
+			else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				bytes += 4;
+				i++;
+			} else
+				bytes += 3;
+		}
+		return COUNT_BYTES + bytes;
+	}
+
+	//바이트 배열을 만들지 않고 버퍼에 UTF-8로 바로 기록한다(짝이 없는 surrogate는 대체 문자 U+FFFD로 기록한다)
+	static void putString(ByteBuffer buffer, String value) {
+		buffer.putInt(stringSize(value) - COUNT_BYTES);
+		int length = value == null ? 0 : value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if(c < 0x80) {
+				buffer.put((byte) c);
+			} else if(c < 0x800) {
+				buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+			} else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				buffer.put((byte) (0xF0 | codePoint >> 18))
+						.put((byte) (0x80 | codePoint >> 12 & 0x3F))
+						.put((byte) (0x80 | codePoint >> 6 & 0x3F))
+						.put((byte) (0x80 | codePoint & 0x3F));
+			} else if(Character.isSurrogate(c)) {
+				buffer.put((byte) 0xEF).put((byte) 0xBF).put((byte) 0xBD);
+			} else {
+				buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+			}
+		}
+	}
+
+	static String getString(ByteBuffer buffer) {
+		int length = count(buffer, 1);
+		String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+
+	//항목 수를 읽고, 남은 바이트가 항목 최소 크기만큼도 없다면 잘못된 형식으로 판단한다(잘못된 항목 수로 큰 목록을 할당하지 않도록)
+	private static int count(ByteBuffer buffer, int minItemBytes) {
+		int count = buffer.getInt();
+		if(count < 0 || (long) count * minItemBytes > buffer.remaining())
+			throw new IllegalArgumentException("항목 수(" + count + ")가 남은 본문 크기(" + buffer.remaining() + " bytes)와 맞지 않습니다.");
+		return count;
+	}
+
+	private static TransactionType type(byte ordinal) {
+		if(ordinal < 0 || ordinal >= TYPES.length)
+			throw new IllegalArgumentException("알 수 없는 트랜잭션 종류(" + ordinal + ")입니다.");
+		return TYPES[ordinal];
+	}
+}
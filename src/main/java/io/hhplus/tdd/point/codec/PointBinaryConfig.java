@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.codec;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ * 포인트 API의 binary 형식 등록
+ * - 기본 변환기(JSON)들의 뒤에 추가하므로, Accept가 없거나 *\/*라면 지금처럼 JSON으로 응답하고
+ *   Accept/Content-Type이 application/x-point-binary인 요청만 binary로 변환한다.
+ * - HttpMessageConverter를 bean으로 등록하면 기본 변환기들의 앞에 추가되므로 WebMvcConfigurer로 등록한다.
+ * */
+@Configuration
+class PointBinaryConfig implements WebMvcConfigurer {
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.add(new PointBinaryHttpMessageConverter());
+	}
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point.codec;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.UserPoint;
+
+/*
+ * application/x-point-binary 요청/응답 본문 변환(형식은 PointBinaryCodec 참고)
+ * - 읽기 : 충전/사용 금액(long), 일괄 처리 연산 목록(List<PointOperation>)
+ * - 쓰기 : UserPoint, PointHistory, 내역 목록(List<PointHistory>), 일괄 처리 결과 목록(List<PointOperationResult>), ErrorResponse
+ * 그 외의 응답(대기열 상태, 요약 등)은 binary 형식을 지원하지 않으므로 JSON으로만 응답한다.
+ * 응답은 크기를 계산하여 한 번만 할당한 배열에 기록하고, Content-Length와 함께 한 번에 출력한다.
+ * */
+public class PointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+	public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(PointBinaryCodec.MEDIA_TYPE);
+
+	public PointBinaryHttpMessageConverter() {
+		super(MEDIA_TYPE);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return clazz == long.class || clazz == Long.class || clazz == UserPoint.class || clazz == PointHistory.class
+				|| clazz == ErrorResponse.class || List.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+		return canRead(mediaType) && (type == long.class || type == Long.class || isListOf(type, PointOperation.class));
+	}
+
+	@Override
+	public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+		if(!canWrite(mediaType))
+			return false;
+		if(type instanceof ParameterizedType)
+			return isListOf(type, PointHistory.class) || isListOf(type, PointOperationResult.class);
+		return clazz == UserPoint.class || clazz == PointHistory.class || clazz == ErrorResponse.class;
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+		ByteBuffer buffer = ByteBuffer.wrap(inputMessage.getBody().readAllBytes());
+		try {
+			Object value = type == long.class || type == Long.class ? buffer.getLong() : PointBinaryCodec.getOperations(buffer);
+			if(buffer.hasRemaining())
+				throw new IllegalArgumentException("본문 끝에 " + buffer.remaining() + " bytes가 남았습니다.");
+			return value;
+		} catch(BufferUnderflowException e) {
+			throw new HttpMessageNotReadableException("본문이 " + buffer.limit() + " bytes에서 끝났습니다.", e, inputMessage);
+		} catch(IllegalArgumentException e) {
+			throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+		}
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+		return read(clazz, null, inputMessage);
+	}
+
+	@Override
+	protected Long getContentLength(Object value, MediaType contentType) {
+		return (long) size(value);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+		ByteBuffer buffer = ByteBuffer.allocate(size(value));
+		if(value instanceof UserPoint userPoint)
+			PointBinaryCodec.putUserPoint(buffer, userPoint);
+		else if(value instanceof PointHistory history)
+			PointBinaryCodec.putHistory(buffer, history);
+		else if(value instanceof ErrorResponse error)
+			PointBinaryCodec.putError(buffer, error);
+		else if(isResults(value))
+			PointBinaryCodec.putResults(buffer, (List<PointOperationResult>) value);
+		else
+			PointBinaryCodec.putHistories(buffer, (List<PointHistory>) value);
+		outputMessage.getBody().write(buffer.array());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static int size(Object value) {
+		if(value instanceof UserPoint)
+			return PointBinaryCodec.USER_POINT_BYTES;
+		if(value instanceof PointHistory)
+			return PointBinaryCodec.HISTORY_BYTES;
+		if(value instanceof ErrorResponse error)
+			return PointBinaryCodec.errorSize(error);
+		if(isResults(value))
+			return PointBinaryCodec.resultsSize((List<PointOperationResult>) value);
+		return PointBinaryCodec.historiesSize((List<PointHistory>) value);
+	}
+
+	//비어 있는 목록은 내역 목록과 일괄 처리 결과 목록 모두 항목 수(0)만 기록하므로 구분하지 않는다
+	private static boolean isResults(Object value) {
+		return value instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof PointOperationResult;
+	}
+
+	private static boolean isListOf(Type type, Class<?> elementClass) {
+		return type instanceof ParameterizedType parameterizedType
+				&& parameterizedType.getRawType() instanceof Class<?> rawType
+				&& List.class.isAssignableFrom(rawType)
+				&& parameterizedType.getActualTypeArguments()[0] == elementClass;
+	}
+}
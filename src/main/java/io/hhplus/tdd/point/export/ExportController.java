@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 내보내기 API입니다.
+ */
+@RestController
+@RequestMapping("/point/histories")
+public class ExportController {
+
+    @Autowired
+    PointHistoryExporter pointHistoryExporter;
+
+    /**
+     * 유저들의 포인트 충전/이용 내역을 유저별 id 순서로 응답 본문에 바로 기록합니다.
+     * 내역을 모두 모은 뒤 응답하지 않고 페이지 단위로 기록하므로, 내역 수와 관계없이 일정한 메모리로 내보냅니다.
+     * - users : 내보낼 유저 id 목록(없으면 내역이 있는 모든 유저)
+     * - format : ndjson(기본) 또는 binary(내역마다 33 bytes 고정 폭 행, ExportFormat 참고)
+     */
+    @GetMapping("export")
+    public void export(
+            @RequestParam(required = false) List<Long> users,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws Exception {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        response.setContentType(exportFormat.mediaType());
+        if (users == null) {
+            pointHistoryExporter.exportAll(exportFormat, response.getOutputStream());
+            return;
+        }
+
+        pointHistoryExporter.export(users.iterator(), exportFormat, response.getOutputStream());
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point.export;
+
+import io.hhplus.tdd.point.PointPolicyException;
+
+/*
+ * 내역 내보내기 형식
+ * - NDJSON : 내역마다 한 줄의 JSON(PointHistory와 같은 필드)
+ * - BINARY : 내역마다 고정 폭(33 bytes, big-endian) 행
+ *   id(8) | userId(8) | amount(8) | type(1, TransactionType의 ordinal) | updateMillis(8), PointBinaryCodec의 PointHistory 형식과 같다.
+ * */
+public enum ExportFormat {
+	NDJSON("application/x-ndjson"), BINARY("application/octet-stream");
+
+	private final String mediaType;
+
+	ExportFormat(String mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public String mediaType() {
+		return mediaType;
+	}
+
+	public static ExportFormat of(String format) throws PointPolicyException {
+		for (ExportFormat exportFormat : values()) {
+			if(exportFormat.name().equalsIgnoreCase(format))
+				return exportFormat;
+		}
+		throw new PointPolicyException("지원하지 않는 내보내기 형식(" + format + ")입니다. ndjson 또는 binary를 사용해야 합니다.");
+	}
+}
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.point.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.HistoryPage;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+
+/*
+ * 포인트 내역 내보내기
+ * - 사용자마다 내역을 페이지(PAGE_ROWS건) 단위로 읽어 바로 출력 스트림에 기록한다.
+ *   페이지는 하나를 재사용하고 내역 객체를 만들지 않으므로, 내보내는 내역 수와 관계없이 메모리 사용량이 일정하다.
+ * - 사용자의 락은 페이지를 복사하는 동안에만 보유하고 출력 중에는 보유하지 않으므로, 내보내는 중에도 충전/사용이 대기하지 않는다.
+ * - 출력은 블로킹 쓰기이므로 받는 쪽이 느리면 쓰기가 대기하고, 다음 페이지를 읽지 않는다(backpressure).
+ * - 사용자마다 아직 기록되지 않은 내역(write-behind)을 기다린 뒤 내보낸다.
+ * */
+@Component
+public class PointHistoryExporter {
+
+	public static final int PAGE_ROWS = 1024;
+
+	private final PointHistoryTable pointHistoryTable;
+
+	private final PointHistoryWriter pointHistoryWriter;
+
+	private final ObjectMapper objectMapper;
+
+	public PointHistoryExporter(PointHistoryTable pointHistoryTable, PointHistoryWriter pointHistoryWriter, ObjectMapper objectMapper) {
+		this.pointHistoryTable = pointHistoryTable;
+		this.pointHistoryWriter = pointHistoryWriter;
+		this.objectMapper = objectMapper;
+	}
+
+	//내역이 있는 모든 사용자의 내역을 사용자 순서 없이 내보내고, 내보낸 내역 수를 반환한다
+	public long exportAll(ExportFormat format, OutputStream out) throws IOException {
+		return export(pointHistoryTable.userIds(), format, out);
+	}
+
+	/*
+	 * 사용자마다 내역을 id 순서로 내보내고, 내보낸 내역 수를 반환한다.
+	 * 페이지마다 출력 스트림을 flush하여 받는 쪽이 내보내기가 끝나기 전에 내역을 받을 수 있도록 한다.
+	 * */
+	public long export(Iterator<Long> userIds, ExportFormat format, OutputStream out) throws IOException {
+		PageWriter pageWriter = format == ExportFormat.NDJSON ? new NdjsonPageWriter(out) : new BinaryPageWriter(out);
+		HistoryPage page = new HistoryPage(PAGE_ROWS);
+		long rows = 0;
+		while (userIds.hasNext()) {
+			long userId = userIds.next();
+			pointHistoryWriter.awaitPending(userId);
+
+			long afterId = 0L;
+			while (pointHistoryTable.readByUserId(userId, afterId, page) > 0) {
+				pageWriter.write(page);
+				rows += page.size();
+				afterId = page.lastId(afterId);
+			}
+		}
+		pageWriter.close();
+		return rows;
+	}
+
+	private interface PageWriter {
+		void write(HistoryPage page) throws IOException;
+
+		void close() throws IOException;
+	}
+
+	//PointHistory와 같은 필드의 JSON을 한 줄씩 기록한다(Jackson의 출력 버퍼 하나만 사용)
+	private final class NdjsonPageWriter implements PageWriter {
+		private final JsonGenerator generator;
+
+		private NdjsonPageWriter(OutputStream out) throws IOException {
+			this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		}
+
+		@Override
+		public void write(HistoryPage page) throws IOException {
+			for (int i = 0; i < page.size(); i++) {
+				generator.writeStartObject();
+				generator.writeNumberField("id", page.id(i));
+				generator.writeNumberField("userId", page.userId(i));
+				generator.writeNumberField("amount", page.amount(i));
+				generator.writeStringField("type", page.type(i).name());
+				generator.writeNumberField("updateMillis", page.updateMillis(i));
+				generator.writeEndObject();
+				generator.writeRaw('\n');
+			}
+			generator.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			generator.close();
+		}
+	}
+
+	//페이지를 하나의 버퍼에 고정 폭 행(PointBinaryCodec의 PointHistory 형식)으로 기록한 뒤 한 번에 출력한다
+	private static final class BinaryPageWriter implements PageWriter {
+		private final OutputStream out;
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(PAGE_ROWS * PointBinaryCodec.HISTORY_BYTES);
+
+		private BinaryPageWriter(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(HistoryPage page) throws IOException {
+			buffer.clear();
+			for (int i = 0; i < page.size(); i++) {
+				PointBinaryCodec.putHistory(buffer, page.id(i), page.userId(i), page.amount(i), page.type(i), page.updateMillis(i));
+			}
+			out.write(buffer.array(), 0, buffer.position());
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.flush();
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package io.hhplus.tdd.point.history;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.journal.PointJournal;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * 포인트 내역 쓰기 지연(write-behind) 기록기
+ * - 충전/사용 시 내역을 크기가 제한된 버퍼(ring buffer)에 적재하고 즉시 반환한다.
+ * - 백그라운드 writer가 버퍼의 내역을 batch 단위로 꺼내 PointHistoryTable에 한 번에 기록(insertAll)하므로,
+ *   기록 지연은 내역마다가 아닌 batch마다 한 번 발생한다.
+ * - 사용자 id마다 writer(lane)가 고정되므로 동일 사용자의 내역은 적재된 순서대로 기록된다.
+ * - append가 반환하는 CompletableFuture는 테이블에 기록된 시점에 완료된다(기록 확인, durability ack).
+ * - 버퍼가 가득 차면 적재하는 스레드가 대기(backpressure)하며, 종료 시에는 남은 내역을 모두 기록(flush)한다.
+ * - 내역은 버퍼에 적재하기 전에 journal에 먼저 기록하므로, 재기동 시 테이블에 기록되지 못한 내역도 복구된다.
+ * */
+@Component
+public class PointHistoryWriter {
+
+	private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+
+	private final PointHistoryTable pointHistoryTable;
+
+	private final PointJournal pointJournal;
+
+	private final boolean enabled;
+
+	private final int batchSize;
+
+	private final Lane[] lanes;
+
+	//사용자별로 가장 마지막에 적재된(아직 기록되지 않은) 내역, 자신이 기록한 내역을 조회할 때(read-your-writes) 사용한다
+	private final ConcurrentHashMap<Long, CompletableFuture<PointHistory>> lastPending = new ConcurrentHashMap<>();
+
+	private volatile boolean running = true;
+
+	public PointHistoryWriter(
+			PointHistoryTable pointHistoryTable,
+			boolean enabled,
+			int capacity,
+			int batchSize,
+			int writers
+	) {
+		this(pointHistoryTable, PointJournal.disabled(), enabled, capacity, batchSize, writers);
+	}
+
+	@Autowired
+	public PointHistoryWriter(
+			PointHistoryTable pointHistoryTable,
+			PointJournal pointJournal,
+			@Value("${point.history.write-behind.enabled:true}") boolean enabled,
+			@Value("${point.history.write-behind.capacity:10000}") int capacity,
+			@Value("${point.history.write-behind.batch-size:100}") int batchSize,
+			@Value("${point.history.write-behind.writers:4}") int writers
+	) {
+		this.pointHistoryTable = pointHistoryTable;
+		this.pointJournal = pointJournal;
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+		this.lanes = new Lane[enabled ? writers : 0];
+		for (int i = 0; i < lanes.length; i++) {
+			lanes[i] = new Lane(i, Math.max(1, capacity / writers));
+		}
+	}
+
+	/*
+	 * 포인트 내역을 적재한다.
+	 * 쓰기 지연을 사용하지 않거나 종료 중이라면 호출한 스레드에서 바로 기록한다(종료 중이라면 이미 적재된 내역의 기록을 기다린 뒤 기록한다).
+	 * */
+	public CompletableFuture<PointHistory> append(long userId, long amount, TransactionType type, long updateMillis) {
+		pointJournal.append(userId, amount, type, updateMillis);
+
+		if(!enabled)
+			return CompletableFuture.completedFuture(pointHistoryTable.insert(userId, amount, type, updateMillis));
+		if(!running) {
+			awaitPending(userId);
+			return CompletableFuture.completedFuture(pointHistoryTable.insert(userId, amount, type, updateMillis));
+		}
+
+		PendingHistory pending = new PendingHistory(new PointHistory(0L, userId, amount, type, updateMillis), new CompletableFuture<>());
+		CompletableFuture<PointHistory> previous = lastPending.put(userId, pending.future);
+		pending.future.whenComplete((history, e) -> lastPending.remove(userId, pending.future));
+
+		Lane lane = laneOf(userId);
+		try {
+			lane.buffer.put(pending);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			pending.future.completeExceptionally(e);
+			return pending.future;
+		}
+
+		//적재하는 동안 종료(flush)가 시작되었다면 writer가 이미 종료되었을 수 있으므로,
+		//flush의 마지막 drain이나 writer가 꺼내가지 않았다면 이전 내역의 기록을 기다린 뒤 직접 기록한다(셋 중 하나만 꺼낼 수 있다)
+		if(!running && lane.buffer.remove(pending)) {
+			await(userId, previous);
+			write(List.of(pending));
+		}
+		return pending.future;
+	}
+
+	/*
+	 * 다른 샤드에서 옮겨온 내역을 지연 없이 바로 기록한다(journal에도 남겨 재기동 시 복구된다).
+	 * 이미 적재된 내역이 먼저 기록되도록 기록 완료를 기다린 뒤 기록한다.
+	 * */
+	public PointHistory restore(long userId, long amount, TransactionType type, long updateMillis) {
+		awaitPending(userId);
+		pointJournal.append(userId, amount, type, updateMillis);
+		return pointHistoryTable.restore(userId, amount, type, updateMillis);
+	}
+
+	/*
+	 * 사용자가 적재한 내역이 모두 기록될 때까지 기다린다.
+	 * lane은 적재된 순서대로 기록하므로 마지막 내역의 기록 완료는 이전 내역의 기록 완료를 의미한다.
+	 * */
+	public void awaitPending(long userId) {
+		await(userId, lastPending.get(userId));
+	}
+
+	private void await(long userId, CompletableFuture<PointHistory> pending) {
+		if(pending == null)
+			return;
+
+		try {
+			pending.join();
+		} catch(Exception e) {
+			log.warn("사용자({})의 포인트 내역 기록에 실패하였습니다.", userId, e);
+		}
+	}
+
+	//아직 기록되지 않은 내역의 수
+	public int pendingCount() {
+		int count = 0;
+		for (Lane lane : lanes) {
+			count += lane.buffer.size();
+		}
+		return count;
+	}
+
+	//새로운 적재를 중단하고, 버퍼에 남은 내역을 모두 기록한 뒤 writer를 종료한다
+	@PreDestroy
+	public void flush() throws InterruptedException {
+		running = false;
+		for (Lane lane : lanes) {
+			lane.writer.join();
+		}
+
+		//writer 종료 직전에 적재된 내역까지 기록한다
+		List<PendingHistory> remaining = new ArrayList<>();
+		for (Lane lane : lanes) {
+			lane.buffer.drainTo(remaining);
+		}
+		write(remaining);
+	}
+
+	private Lane laneOf(long userId) {
+		return lanes[Math.floorMod(Long.hashCode(userId), lanes.length)];
+	}
+
+	private void drain(Lane lane) {
+		List<PendingHistory> batch = new ArrayList<>(batchSize);
+		while (running || !lane.buffer.isEmpty()) {
+			try {
+				PendingHistory first = lane.buffer.poll(100, TimeUnit.MILLISECONDS);
+				if(first == null)
+					continue;
+
+				batch.add(first);
+				lane.buffer.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void write(List<PendingHistory> batch) {
+		if(batch.isEmpty())
+			return;
+
+		List<PointHistory> histories = new ArrayList<>(batch.size());
+		for (PendingHistory pending : batch) {
+			histories.add(pending.history);
+		}
+
+		try {
+			List<PointHistory> inserted = pointHistoryTable.insertAll(histories);
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).future.complete(inserted.get(i));
+			}
+		} catch(Exception e) {
+			for (PendingHistory pending : batch) {
+				pending.future.completeExceptionally(e);
+			}
+		}
+	}
+
+	//기록할 내역(id는 기록 시 발급)과 기록 확인
+	private record PendingHistory(
+			PointHistory history,
+			CompletableFuture<PointHistory> future
+	) {
+	}
+
+	private class Lane {
+		private final BlockingQueue<PendingHistory> buffer;
+
+		private final Thread writer;
+
+		private Lane(int index, int capacity) {
+			this.buffer = new ArrayBlockingQueue<>(capacity);
+			this.writer = new Thread(() -> drain(this), "point-history-writer-" + index);
+			//종료 시 flush()에서 남은 내역을 기록하므로 JVM 종료를 막지 않도록 daemon으로 실행한다
+			writer.setDaemon(true);
+			writer.start();
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package io.hhplus.tdd.point.idempotency;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.PointPolicyException;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+/*
+ * 충전/사용 요청의 멱등 키(Idempotency-Key) 중복 제거 캐시
+ * - (사용자 id, 멱등 키)마다 최초 요청의 결과(CompletableFuture)를 보관하고, 같은 키의 요청에는 다시 처리하지 않고 같은 결과를 반환한다.
+ * - 처리 중인 요청과 같은 키의 요청은 처리 중인 결과를 함께 기다린다(중복 요청이 동시에 처리되지 않는다).
+ * - 성공한 결과와 정책 위반(PointPolicyException)은 보관하고, 대기 시간 초과 등 일시적인 실패는 제거하여 재시도 시 다시 처리한다.
+ * - 같은 키로 연산 종류나 금액이 다른 요청을 보내면 IdempotencyKeyConflictException으로 거절한다.
+ * - 최대 크기를 넘으면 가장 오래 사용되지 않은 키부터 제거하고(LRU), 만료 시간(TTL)이 지난 키는 조회 시 제거한다.
+ *   처리 중인 키는 제거되면 재시도가 다시 처리되므로, 처리가 끝날 때까지 최대 크기와 별도로 보관하고 처리가 끝난 뒤 LRU 대상에 넣는다.
+ * */
+@Component
+public class IdempotencyCache {
+
+	private static final int SEGMENT_COUNT = 16;
+
+	//키 하나가 차지하는 메모리를 제한한다
+	public static final int MAX_KEY_LENGTH = 255;
+
+	private final long ttlNanos;
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+	//보관된 결과를 반환한 횟수(처리 중인 결과를 기다린 횟수 포함)
+	private final LongAdder replays = new LongAdder();
+
+	public IdempotencyCache(
+			@Value("${point.idempotency.maximum-size:100000}") int maximumSize,
+			@Value("${point.idempotency.ttl-millis:3600000}") long ttlMillis
+	) {
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			segments[i] = new Segment(Math.max(1, maximumSize / SEGMENT_COUNT));
+		}
+	}
+
+	/*
+	 * 키의 최초 요청이라면 command를 실행하고, 이미 요청된 키라면 최초 요청의 결과를 반환한다.
+	 * */
+	public CompletableFuture<UserPoint> execute(long userId, TransactionType type, long amount, String idempotencyKey, Supplier<CompletableFuture<UserPoint>> command) {
+		if(idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH)
+			return CompletableFuture.failedFuture(new PointPolicyException("멱등 키(Idempotency-Key)는 1자 이상 " + MAX_KEY_LENGTH + "자 이하여야 합니다."));
+
+		Key key = new Key(userId, idempotencyKey);
+		Entry created = new Entry(type, amount, new CompletableFuture<>(), System.nanoTime() + ttlNanos);
+		Entry entry = segmentOf(key).putIfAbsent(key, created);
+		if(entry != created) {
+			if(entry.type != type || entry.amount != amount)
+				return CompletableFuture.failedFuture(new IdempotencyKeyConflictException(idempotencyKey));
+
+			replays.increment();
+			return entry.result;
+		}
+
+		CompletableFuture<UserPoint> result;
+		try {
+			result = command.get();
+		} catch(RuntimeException e) {
+			result = CompletableFuture.failedFuture(e);
+		}
+		result.whenComplete((userPoint, e) -> {
+			if(e == null) {
+				segmentOf(key).complete(key, created, true);
+				created.result.complete(userPoint);
+				return;
+			}
+
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			segmentOf(key).complete(key, created, cause instanceof PointPolicyException);
+			created.result.completeExceptionally(cause);
+		});
+		return created.result;
+	}
+
+	public long replayCount() {
+		return replays.sum();
+	}
+
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	private Segment segmentOf(Key key) {
+		return segments[Math.floorMod(key.hashCode(), SEGMENT_COUNT)];
+	}
+
+	private record Key(long userId, String idempotencyKey) {
+	}
+
+	private record Entry(TransactionType type, long amount, CompletableFuture<UserPoint> result, long expiresAt) {
+	}
+
+	private static class Segment {
+		//처리가 끝난 항목, 최대 크기를 넘으면 LRU로 제거한다
+		private final LinkedHashMap<Key, Entry> entries;
+
+		//처리 중인 항목, 처리가 끝날 때까지 제거하지 않는다(동시에 처리 중인 요청 수만큼만 쌓인다)
+		private final Map<Key, Entry> inFlight = new HashMap<>();
+
+		private Segment(int maximumSize) {
+			//accessOrder = true : 조회 순서를 기준으로 가장 오래 사용되지 않은 키가 eldest가 된다
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+					return size() > maximumSize;
+				}
+			};
+		}
+
+		//키의 처리 중이거나 유효한 항목이 있다면 그 항목을, 없다면 created를 처리 중으로 저장하고 반환한다
+		private synchronized Entry putIfAbsent(Key key, Entry created) {
+			Entry entry = inFlight.get(key);
+			if(entry != null)
+				return entry;
+
+			entry = entries.get(key);
+			if(entry != null && entry.expiresAt - System.nanoTime() >= 0)
+				return entry;
+
+			entries.remove(key);
+			inFlight.put(key, created);
+			return created;
+		}
+
+		//처리가 끝난 항목을 처리 중에서 제거하고, 결과를 보관한다면(keep) LRU 대상에 넣는다
+		private synchronized void complete(Key key, Entry entry, boolean keep) {
+			if(inFlight.remove(key, entry) && keep)
+				entries.put(key, entry);
+		}
+
+		private synchronized int size() {
+			return entries.size() + inFlight.size();
+		}
+	}
+}
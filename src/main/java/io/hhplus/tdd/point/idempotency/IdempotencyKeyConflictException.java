@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.idempotency;
+
+/*
+ * 이미 사용된 멱등 키(Idempotency-Key)로 다른 요청(연산 종류 또는 금액이 다른 요청)을 보냈을 때 발생하는 예외
+ * 이전 요청의 결과를 다른 요청의 결과로 돌려주지 않도록 요청을 처리하지 않고 거절한다.
+ * */
+public class IdempotencyKeyConflictException extends Exception {
+
+	public IdempotencyKeyConflictException(String idempotencyKey) {
+		super("멱등 키(" + idempotencyKey + ")가 다른 요청에 이미 사용되었습니다.");
+	}
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/*
+ * 스냅샷이 포함하는 segment의 내역을 압축해 둔 내역 보관 파일
+ * - 형식 : 헤더(첫 순번 8 bytes, 내역 수 8 bytes) + 내역마다 (userId, amount, updateMillis 8 bytes씩, type 1 byte) 25 bytes + 체크섬 4 bytes
+ * - 파일 이름은 첫 순번이며, [첫 순번, 첫 순번 + 내역 수) 구간의 기록을 기록 순서대로 담는다.
+ * - 기록마다의 순번과 CRC는 담지 않고, 파일 전체를 헤더와 합친 CRC32C 하나로 검증한다(일부만 기록된 파일은 읽지 않는다).
+ * */
+final class PointHistoryArchive {
+
+	static final String SUFFIX = ".history";
+
+	private static final int HEADER_BYTES = 16;
+
+	private static final int ENTRY_BYTES = 25;
+
+	private static final int BUFFER_BYTES = 64 * 1024;
+
+	private static final TransactionType[] TYPES = TransactionType.values();
+
+	private PointHistoryArchive() {
+	}
+
+	//source가 방문하는 내역을 파일에 기록하고 동기화한 뒤 내역 수를 반환한다
+	static long write(Path path, long baseSequence, Source source) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			CRC32C entriesChecksum = new CRC32C();
+			long[] count = new long[1];
+
+			channel.position(HEADER_BYTES);
+			source.forEach((userId, amount, type, updateMillis) -> {
+				if(buffer.remaining() < ENTRY_BYTES)
+					flush(channel, buffer, entriesChecksum);
+
+				buffer.putLong(userId).putLong(amount).putLong(updateMillis).put((byte) type.ordinal());
+				count[0]++;
+			});
+			flush(channel, buffer, entriesChecksum);
+
+			ByteBuffer header = header(baseSequence, count[0]);
+			buffer.putInt((int) checksum(header, entriesChecksum.getValue()));
+			buffer.flip();
+			channel.write(buffer);
+			channel.write(header.flip(), 0);
+			channel.force(true);
+			return count[0];
+		} catch(UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	//파일이 온전하다면 내역을 기록 순서대로 방문하고 내역 수를 반환한다, 손상되었거나 첫 순번이 다르다면 -1을 반환한다
+	static long read(Path path, long baseSequence, Visitor visitor) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if(size < HEADER_BYTES + Integer.BYTES || (size - HEADER_BYTES - Integer.BYTES) % ENTRY_BYTES != 0)
+				return -1L;
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			long count = buffer.getLong(8);
+			if(buffer.getLong(0) != baseSequence || count != (size - HEADER_BYTES - Integer.BYTES) / ENTRY_BYTES)
+				return -1L;
+
+			CRC32C entriesChecksum = new CRC32C();
+			entriesChecksum.update(buffer.slice(HEADER_BYTES, (int) (count * ENTRY_BYTES)));
+			if(buffer.getInt((int) (size - Integer.BYTES)) != (int) checksum(header(baseSequence, count).flip(), entriesChecksum.getValue()))
+				return -1L;
+
+			for (int offset = HEADER_BYTES; offset < size - Integer.BYTES; offset += ENTRY_BYTES) {
+				visitor.visit(buffer.getLong(offset), buffer.getLong(offset + 8), TYPES[buffer.get(offset + 24)], buffer.getLong(offset + 16));
+			}
+			return count;
+		}
+	}
+
+	private static ByteBuffer header(long baseSequence, long count) {
+		return ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(baseSequence).putLong(count);
+	}
+
+	private static long checksum(ByteBuffer header, long entriesChecksum) {
+		CRC32C checksum = new CRC32C();
+		checksum.update(header.array(), 0, HEADER_BYTES);
+		checksum.update(ByteBuffer.allocate(Long.BYTES).putLong(entriesChecksum).array());
+		return checksum.getValue();
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C entriesChecksum) {
+		buffer.flip();
+		entriesChecksum.update(buffer.array(), 0, buffer.limit());
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		buffer.clear();
+	}
+
+	@FunctionalInterface
+	interface Visitor {
+		void visit(long userId, long amount, TransactionType type, long updateMillis);
+	}
+
+	//보관할 내역을 기록 순서대로 방문한다(방문 중 IOException은 UncheckedIOException으로 전달한다)
+	@FunctionalInterface
+	interface Source {
+		void forEach(Visitor visitor);
+	}
+}
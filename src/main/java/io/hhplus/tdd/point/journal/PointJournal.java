@@ -0,0 +1,522 @@
+package io.hhplus.tdd.point.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.LongPointMap;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * 포인트 충전/사용 기록(journal)
+ * - 충전/사용이 반영될 때마다 (사용자, 반영 후 포인트, 유형, updateMillis)를 고정 폭(40 bytes) 기록으로 파일 끝에 추가한다(append-only).
+ * - 파일은 segment-bytes 크기의 segment로 나누어 memory-mapped 버퍼에 기록하고, segment가 가득 차면 다음 segment를 만든다(rolling).
+ * - 기록은 페이지 캐시에 반영된 시점에 반환하며, 디스크 동기화(fsync)는 fsync-records건마다 또는 fsync-interval-millis마다 모아서 수행한다(group fsync).
+ * - 기동 시 모든 segment를 순서대로 재생(replay)하여 UserPointTable과 PointHistoryTable을 복구한다.
+ *   내역의 amount는 반영 후 포인트이므로, 사용자의 마지막 기록이 곧 사용자의 포인트이다.
+ * - 기록마다 순번(sequence)과 CRC32C를 저장하여, 기록 도중 중단되어 일부만 저장된 기록(torn tail)부터는 재생하지 않는다.
+ *   재생 후에는 새 segment에 이어서 기록하므로, 손상된 기록 뒤에 남아 있을 수 있는 이전 기록이 다시 재생되지 않는다.
+ * - snapshot-interval-millis마다 사용자별 마지막 기록의 포인트를 스냅샷으로 남기고, 스냅샷이 포함하는 segment의 기록은
+ *   내역 보관 파일(PointHistoryArchive)로 압축한 뒤 segment를 삭제한다.
+ *   기동 시에는 가장 최근의 온전한 스냅샷으로 포인트를 적재하고, 내역 보관 파일과 남은 segment를 순서대로 읽어
+ *   내역은 모든 기록으로, 포인트는 스냅샷 순번부터의 기록으로 복구한다(내역 id도 기록 순서대로 다시 발급된다).
+ *   내역 테이블은 메모리에 있으므로 내역 적재는 피할 수 없지만, 보관 파일은 기록마다의 순번과 CRC 없이 파일마다 한 번 검증한다.
+ * - 스냅샷은 기록을 멈추지 않고 작성하므로 시작 순번 이후의 반영이 섞일 수 있지만(fuzzy snapshot),
+ *   기록은 증감이 아닌 반영 후 포인트이므로 시작 순번부터 다시 재생하면 같은 결과가 된다.
+ * */
+@Component
+public class PointJournal {
+
+	private static final Logger log = LoggerFactory.getLogger(PointJournal.class);
+
+	static final int RECORD_BYTES = 40;
+
+	private static final int TYPE = 4;
+	private static final int SEQUENCE = 8;
+	private static final int USER_ID = 16;
+	private static final int AMOUNT = 24;
+	private static final int UPDATE_MILLIS = 32;
+
+	private static final String SEGMENT_SUFFIX = ".journal";
+
+	private static final TransactionType[] TYPES = TransactionType.values();
+
+	private final UserPointTable userPointTable;
+
+	private final PointHistoryTable pointHistoryTable;
+
+	private final boolean enabled;
+
+	private final Path directory;
+
+	private final long segmentBytes;
+
+	private final int fsyncRecords;
+
+	private final long fsyncIntervalMillis;
+
+	private final long snapshotIntervalMillis;
+
+	//사용자별 마지막 기록의 포인트, 스냅샷의 원본이다
+	private final LongPointMap balances = new LongPointMap();
+
+	//스냅샷 작성은 한 번에 하나만 진행한다
+	private final Object snapshotLock = new Object();
+
+	//기록을 만드는 버퍼, append는 직렬화되므로 하나를 재사용한다
+	private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+	private final CRC32C checksum = new CRC32C();
+
+	private Segment current;
+
+	//current segment에서 다음 기록을 쓸 위치와 마지막으로 동기화한 위치
+	private int position;
+
+	private int syncedPosition;
+
+	private int unsynced;
+
+	private long nextSequence;
+
+	private long replayedRecords;
+
+	private long archivedRecords;
+
+	private long recoveryMillis;
+
+	private long snapshotSequence = -1L;
+
+	private ScheduledExecutorService syncScheduler;
+
+	private ScheduledExecutorService snapshotScheduler;
+
+	public PointJournal(
+			UserPointTable userPointTable,
+			PointHistoryTable pointHistoryTable,
+			@Value("${point.journal.enabled:false}") boolean enabled,
+			@Value("${point.journal.directory:data/journal}") String directory,
+			@Value("${point.journal.segment-bytes:67108864}") long segmentBytes,
+			@Value("${point.journal.fsync-records:1000}") int fsyncRecords,
+			@Value("${point.journal.fsync-interval-millis:100}") long fsyncIntervalMillis,
+			@Value("${point.journal.snapshot-interval-millis:60000}") long snapshotIntervalMillis
+	) {
+		this.userPointTable = userPointTable;
+		this.pointHistoryTable = pointHistoryTable;
+		this.enabled = enabled;
+		this.directory = Path.of(directory);
+		//기록이 segment 경계에 걸치지 않도록 기록 크기의 배수로 맞춘다
+		this.segmentBytes = Math.max(RECORD_BYTES, Math.min(segmentBytes, Integer.MAX_VALUE) / RECORD_BYTES * RECORD_BYTES);
+		this.fsyncRecords = Math.max(1, fsyncRecords);
+		this.fsyncIntervalMillis = fsyncIntervalMillis;
+		this.snapshotIntervalMillis = snapshotIntervalMillis;
+	}
+
+	//기록하지 않는 journal(쓰기 지연 기록기를 단독으로 구성할 때 사용)
+	public static PointJournal disabled() {
+		return new PointJournal(null, null, false, ".", RECORD_BYTES, 1, 0L, 0L);
+	}
+
+	/*
+	 * 가장 최근의 스냅샷을 적재하고 내역 보관 파일과 segment를 순서대로 읽어 테이블을 복구한 뒤, 새 segment를 열어 기록을 시작한다.
+	 * 보관 파일과 segment의 첫 순번은 파일 이름이며, 재생은 segment마다 유효한(순번과 CRC가 맞는) 기록까지만 진행한다.
+	 * 보관 파일을 작성한 뒤 segment를 삭제하기 전에 중단되어 남은 segment는 내역을 중복해서 복구하지 않고 삭제한다.
+	 * */
+	@PostConstruct
+	public synchronized void open() throws IOException {
+		if(!enabled)
+			return;
+
+		Files.createDirectories(directory);
+		List<Path> archives = archivePaths();
+		List<Path> segments = segmentPaths();
+
+		long startTime = System.nanoTime();
+		long restoredUsers = loadSnapshot();
+		long fromSequence = Math.max(0L, snapshotSequence);
+		long sequence = archives.isEmpty() && !segments.isEmpty() ? Math.min(fromSequence, baseSequenceOf(segments.get(0))) : -1L;
+		for (Path path : archives) {
+			long baseSequence = baseSequenceOf(path, PointHistoryArchive.SUFFIX);
+			if(sequence >= 0 && baseSequence < sequence) {
+				log.warn("내역 보관 파일({})이 이미 복구한 순번 {} 이전의 기록을 담고 있어 사용하지 않습니다.", path.getFileName(), sequence);
+				continue;
+			}
+			if(sequence >= 0 && baseSequence != sequence)
+				log.warn("내역 보관 파일({})의 첫 순번이 {}이 아니므로 {}건의 내역은 복구되지 않습니다.", path.getFileName(), sequence, baseSequence - sequence);
+
+			long[] next = {baseSequence};
+			long count = PointHistoryArchive.read(path, baseSequence, (userId, amount, type, updateMillis) ->
+					restore(next[0]++, Long.MIN_VALUE, fromSequence, userId, amount, type, updateMillis));
+			if(count < 0) {
+				log.warn("내역 보관 파일({})이 손상되어 내역을 복구하지 않습니다.", path.getFileName());
+				continue;
+			}
+			sequence = baseSequence + count;
+			archivedRecords += count;
+		}
+
+		//보관 파일이 담은 기록은 내역에 다시 반영하지 않는다
+		long historySequence = archives.isEmpty() ? 0L : Math.max(0L, sequence);
+		for (Path path : segments) {
+			long baseSequence = baseSequenceOf(path);
+			long count = replay(path, baseSequence, historySequence, fromSequence);
+			replayedRecords += count;
+			if(baseSequence < historySequence && baseSequence + count <= historySequence) {
+				log.info("journal segment({})의 기록은 내역 보관 파일에 포함되어 있으므로 삭제합니다.", path.getFileName());
+				Files.delete(path);
+				continue;
+			}
+
+			if(baseSequence != sequence) {
+				if(sequence >= 0)
+					log.warn("journal segment({})의 첫 순번이 {}이 아니므로 {}건의 기록은 재생되지 않습니다.", path.getFileName(), sequence, baseSequence - sequence);
+				sequence = baseSequence;
+			}
+			sequence += count;
+			if(count == 0)
+				Files.delete(path);
+		}
+		recoveryMillis = (System.nanoTime() - startTime) / 1_000_000L;
+		log.info("journal 복구 : 스냅샷 사용자 {}명(순번 {}), 보관 파일 {}개에서 내역 {}건 적재, segment {}개에서 기록 {}건 재생, {}ms",
+				restoredUsers, fromSequence, archives.size(), archivedRecords, segments.size(), replayedRecords, recoveryMillis);
+
+		nextSequence = Math.max(sequence, fromSequence);
+		roll();
+
+		if(fsyncIntervalMillis > 0) {
+			syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "point-journal-fsync");
+				thread.setDaemon(true);
+				return thread;
+			});
+			syncScheduler.scheduleWithFixedDelay(this::syncQuietly, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+		}
+		if(snapshotIntervalMillis > 0) {
+			snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "point-journal-snapshot");
+				thread.setDaemon(true);
+				return thread;
+			});
+			snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/*
+	 * 기록을 추가하고 기록의 순번을 반환한다. 기록하지 않는 journal이라면 -1을 반환한다.
+	 * fsync-records건이 쌓이면 호출한 스레드에서 동기화한다.
+	 * */
+	public synchronized long append(long userId, long amount, TransactionType type, long updateMillis) {
+		if(!enabled)
+			return -1L;
+		if(current == null)
+			throw new IllegalStateException("journal이 열려 있지 않습니다.");
+
+		try {
+			if(position + RECORD_BYTES > current.buffer.capacity())
+				roll();
+
+			long sequence = nextSequence++;
+			record.put(TYPE, (byte) (type.ordinal() + 1));
+			record.putLong(SEQUENCE, sequence);
+			record.putLong(USER_ID, userId);
+			record.putLong(AMOUNT, amount);
+			record.putLong(UPDATE_MILLIS, updateMillis);
+			checksum.reset();
+			checksum.update(record.array(), TYPE, RECORD_BYTES - TYPE);
+			record.putInt(0, (int) checksum.getValue());
+
+			current.buffer.put(position, record.array(), 0, RECORD_BYTES);
+			position += RECORD_BYTES;
+			balances.put(userId, amount, updateMillis);
+
+			if(++unsynced >= fsyncRecords)
+				sync();
+
+			return sequence;
+		} catch(IOException e) {
+			throw new IllegalStateException("journal 기록에 실패하였습니다.", e);
+		}
+	}
+
+	//다음 기록에 발급할 순번(지금까지 기록된 기록 수)
+	public synchronized long nextSequence() {
+		return nextSequence;
+	}
+
+	//기동 시 segment에서 읽은 기록 수
+	public synchronized long replayedRecords() {
+		return replayedRecords;
+	}
+
+	//기동 시 내역 보관 파일에서 적재한 내역 수
+	public synchronized long archivedRecords() {
+		return archivedRecords;
+	}
+
+	//기동 시 스냅샷 적재와 기록 재생에 걸린 시간
+	public synchronized long recoveryMillis() {
+		return recoveryMillis;
+	}
+
+	/*
+	 * 사용자별 마지막 기록의 포인트를 스냅샷으로 남기고, 스냅샷이 포함하는 segment는 내역 보관 파일로 압축하여 삭제하고 이전 스냅샷은 삭제한다.
+	 * - 시작 순번을 정한 뒤 기록을 멈추지 않고 사용자별 포인트를 복사하여 임시 파일에 기록한다.
+	 * - 스냅샷에 섞인 시작 순번 이후의 반영이 유실되지 않도록 journal을 동기화한 뒤, 임시 파일을 스냅샷으로 교체한다.
+	 * - 스냅샷의 순번을 반환하며, 열려 있지 않다면 -1을 반환한다.
+	 * */
+	public long snapshot() throws IOException {
+		synchronized (snapshotLock) {
+			long sequence;
+			synchronized (this) {
+				if(current == null)
+					return -1L;
+
+				sequence = nextSequence;
+			}
+
+			long startTime = System.nanoTime();
+			Path snapshot = directory.resolve(String.format("%020d%s", sequence, PointSnapshot.SUFFIX));
+			Path temporary = directory.resolve(snapshot.getFileName() + ".tmp");
+			long users = PointSnapshot.write(temporary, sequence, balances);
+			sync();
+			Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			synchronized (this) {
+				snapshotSequence = sequence;
+			}
+
+			int archived = truncate(sequence);
+			log.info("journal 스냅샷 : 사용자 {}명(순번 {}), segment {}개를 보관 파일로 압축, {}ms", users, sequence, archived, (System.nanoTime() - startTime) / 1_000_000L);
+			return sequence;
+		}
+	}
+
+	//아직 동기화하지 않은 기록을 디스크에 반영한다
+	public synchronized void sync() {
+		if(current == null || syncedPosition == position)
+			return;
+
+		current.buffer.force(syncedPosition, position - syncedPosition);
+		syncedPosition = position;
+		unsynced = 0;
+	}
+
+	@PreDestroy
+	public synchronized void close() throws IOException {
+		if(syncScheduler != null)
+			syncScheduler.shutdown();
+		if(snapshotScheduler != null)
+			snapshotScheduler.shutdown();
+		if(current == null)
+			return;
+
+		sync();
+		current.channel.close();
+		current = null;
+	}
+
+	private void syncQuietly() {
+		try {
+			sync();
+		} catch(Exception e) {
+			log.warn("journal 동기화에 실패하였습니다.", e);
+		}
+	}
+
+	private void snapshotQuietly() {
+		try {
+			snapshot();
+		} catch(Exception e) {
+			log.warn("journal 스냅샷 작성에 실패하였습니다.", e);
+		}
+	}
+
+	/*
+	 * 가장 최근의 온전한 스냅샷을 테이블에 적재하고 사용자 수를 반환한다.
+	 * 손상된 스냅샷(작성 중 중단 등)은 건너뛰고 그 이전의 스냅샷을 사용한다.
+	 * */
+	private long loadSnapshot() throws IOException {
+		List<Path> snapshots = snapshotPaths();
+		for (int i = snapshots.size() - 1; i >= 0; i--) {
+			LongPointMap loaded = new LongPointMap();
+			long sequence = PointSnapshot.read(snapshots.get(i), loaded::put);
+			if(sequence < 0) {
+				log.warn("journal 스냅샷({})이 손상되어 사용하지 않습니다.", snapshots.get(i).getFileName());
+				continue;
+			}
+
+			long[] users = new long[1];
+			loaded.forEach((id, point, updateMillis) -> {
+				userPointTable.restore(id, point, updateMillis);
+				balances.put(id, point, updateMillis);
+				users[0]++;
+			});
+			snapshotSequence = sequence;
+			return users[0];
+		}
+		return 0L;
+	}
+
+	/*
+	 * 스냅샷 순번 이전의 기록만 담은 segment의 기록을 내역 보관 파일 하나로 압축한 뒤 segment를 삭제하고, 이전 스냅샷은 삭제한다
+	 * (현재 segment는 다음 segment가 없으므로 압축하지 않는다).
+	 * 보관 파일은 임시 파일에 기록하고 동기화한 뒤 교체하므로, segment를 삭제하기 전에 중단되더라도 기록이 유실되지 않는다.
+	 * */
+	private int truncate(long sequence) throws IOException {
+		List<Path> segments = segmentPaths();
+		int covered = 0;
+		while (covered + 1 < segments.size() && baseSequenceOf(segments.get(covered + 1)) <= sequence) {
+			covered++;
+		}
+		if(covered > 0) {
+			List<Path> archivedSegments = segments.subList(0, covered);
+			long baseSequence = baseSequenceOf(archivedSegments.get(0));
+			Path archive = directory.resolve(String.format("%020d%s", baseSequence, PointHistoryArchive.SUFFIX));
+			Path temporary = directory.resolve(archive.getFileName() + ".tmp");
+			PointHistoryArchive.write(temporary, baseSequence, visitor -> {
+				for (Path path : archivedSegments) {
+					try {
+						read(path, baseSequenceOf(path), (recordSequence, userId, amount, type, updateMillis) -> visitor.visit(userId, amount, type, updateMillis));
+					} catch(IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+			});
+			Files.move(temporary, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			for (Path path : archivedSegments) {
+				Files.delete(path);
+			}
+		}
+		for (Path snapshot : snapshotPaths()) {
+			if(baseSequenceOf(snapshot, PointSnapshot.SUFFIX) < sequence)
+				Files.deleteIfExists(snapshot);
+		}
+		return covered;
+	}
+
+	//현재 segment를 동기화하고 닫은 뒤, 다음 순번으로 시작하는 새 segment를 연다
+	private void roll() throws IOException {
+		if(current != null) {
+			sync();
+			current.channel.close();
+		}
+
+		current = Segment.map(directory.resolve(String.format("%020d%s", nextSequence, SEGMENT_SUFFIX)), segmentBytes);
+		position = 0;
+		syncedPosition = 0;
+		unsynced = 0;
+	}
+
+	//segment의 유효한 기록 중 historySequence 이후의 기록을 내역에, fromSequence 이후의 기록을 포인트에 반영하고, 유효한 기록 수를 반환한다
+	private long replay(Path path, long baseSequence, long historySequence, long fromSequence) throws IOException {
+		return read(path, baseSequence, (sequence, userId, amount, type, updateMillis) ->
+				restore(sequence, historySequence, fromSequence, userId, amount, type, updateMillis));
+	}
+
+	private void restore(long sequence, long historySequence, long fromSequence, long userId, long amount, TransactionType type, long updateMillis) {
+		if(sequence >= historySequence)
+			pointHistoryTable.restore(userId, amount, type, updateMillis);
+		//스냅샷에 포함된 기록은 포인트에 다시 반영하지 않는다
+		if(sequence >= fromSequence) {
+			userPointTable.restore(userId, amount, updateMillis);
+			balances.put(userId, amount, updateMillis);
+		}
+	}
+
+	//segment의 유효한 기록을 순서대로 방문하고 유효한 기록 수를 반환한다
+	private static long read(Path path, long baseSequence, RecordVisitor visitor) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			byte[] bytes = new byte[RECORD_BYTES];
+			ByteBuffer view = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+			CRC32C crc = new CRC32C();
+			long count = 0;
+			for (int offset = 0; offset + RECORD_BYTES <= buffer.capacity(); offset += RECORD_BYTES, count++) {
+				buffer.get(offset, bytes);
+				crc.reset();
+				crc.update(bytes, TYPE, RECORD_BYTES - TYPE);
+
+				int type = view.get(TYPE) - 1;
+				boolean valid = view.getInt(0) == (int) crc.getValue()
+						&& view.getLong(SEQUENCE) == baseSequence + count
+						&& type >= 0 && type < TYPES.length;
+				if(!valid) {
+					if(buffer.getLong(offset) != 0L || buffer.getLong(offset + SEQUENCE) != 0L)
+						log.warn("journal segment({})의 {}번째 기록이 손상되어 이후의 기록은 재생하지 않습니다.", path.getFileName(), count);
+					break;
+				}
+
+				visitor.visit(baseSequence + count, view.getLong(USER_ID), view.getLong(AMOUNT), TYPES[type], view.getLong(UPDATE_MILLIS));
+			}
+			return count;
+		}
+	}
+
+	private List<Path> segmentPaths() throws IOException {
+		return paths(directory, SEGMENT_SUFFIX);
+	}
+
+	private List<Path> snapshotPaths() throws IOException {
+		return paths(directory, PointSnapshot.SUFFIX);
+	}
+
+	private List<Path> archivePaths() throws IOException {
+		return paths(directory, PointHistoryArchive.SUFFIX);
+	}
+
+	//디렉터리에서 이름이 순번(20자리)인 파일을 순번 순서대로 조회한다
+	private static List<Path> paths(Path directory, String suffix) throws IOException {
+		try (Stream<Path> paths = Files.list(directory)) {
+			return paths.filter(path -> path.getFileName().toString().endsWith(suffix))
+					.sorted()
+					.toList();
+		}
+	}
+
+	private static long baseSequenceOf(Path path) {
+		return baseSequenceOf(path, SEGMENT_SUFFIX);
+	}
+
+	private static long baseSequenceOf(Path path, String suffix) {
+		String name = path.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - suffix.length()));
+	}
+
+	@FunctionalInterface
+	private interface RecordVisitor {
+		void visit(long sequence, long userId, long amount, TransactionType type, long updateMillis);
+	}
+
+	private record Segment(FileChannel channel, MappedByteBuffer buffer) {
+
+		//파일을 segment 크기로 매핑한다(매핑 크기만큼 파일이 늘어나며, 기록되지 않은 영역은 0으로 채워져 있다)
+		private static Segment map(Path path, long segmentBytes) throws IOException {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+			return new Segment(channel, buffer);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import io.hhplus.tdd.database.LongPointMap;
+
+/*
+ * 사용자 포인트 스냅샷 파일
+ * - 형식 : 헤더(순번 8 bytes, 사용자 수 8 bytes) + 사용자마다 (userId, point, updateMillis) 24 bytes + 체크섬 4 bytes
+ * - 순번은 스냅샷을 시작한 시점의 journal 순번으로, 이 순번부터의 기록을 재생하면 스냅샷 이후의 반영이 복구된다.
+ * - 체크섬은 사용자 항목의 CRC32C와 헤더를 합친 CRC32C로, 일부만 기록된 스냅샷은 읽지 않는다.
+ * */
+final class PointSnapshot {
+
+	static final String SUFFIX = ".snapshot";
+
+	private static final int HEADER_BYTES = 16;
+
+	private static final int ENTRY_BYTES = 24;
+
+	private static final int BUFFER_BYTES = 64 * 1024;
+
+	private PointSnapshot() {
+	}
+
+	//사용자별 포인트를 파일에 기록하고 동기화한 뒤 사용자 수를 반환한다
+	static long write(Path path, long sequence, LongPointMap balances) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			CRC32C entriesChecksum = new CRC32C();
+			long[] count = new long[1];
+
+			channel.position(HEADER_BYTES);
+			balances.forEach((id, point, updateMillis) -> {
+				if(buffer.remaining() < ENTRY_BYTES)
+					flush(channel, buffer, entriesChecksum);
+
+				buffer.putLong(id).putLong(point).putLong(updateMillis);
+				count[0]++;
+			});
+			flush(channel, buffer, entriesChecksum);
+
+			ByteBuffer header = header(sequence, count[0]);
+			buffer.putInt((int) checksum(header, entriesChecksum.getValue()));
+			buffer.flip();
+			channel.write(buffer);
+			channel.write(header.flip(), 0);
+			channel.force(true);
+			return count[0];
+		} catch(UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	//파일이 온전하다면 스냅샷의 순번을 반환하고 사용자별 포인트를 방문한다, 손상되었다면 -1을 반환한다
+	static long read(Path path, LongPointMap.EntryVisitor visitor) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if(size < HEADER_BYTES + Integer.BYTES || (size - HEADER_BYTES - Integer.BYTES) % ENTRY_BYTES != 0)
+				return -1L;
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			long sequence = buffer.getLong(0);
+			long count = buffer.getLong(8);
+			if(count != (size - HEADER_BYTES - Integer.BYTES) / ENTRY_BYTES)
+				return -1L;
+
+			CRC32C entriesChecksum = new CRC32C();
+			entriesChecksum.update(buffer.slice(HEADER_BYTES, (int) (count * ENTRY_BYTES)));
+			if(buffer.getInt((int) (size - Integer.BYTES)) != (int) checksum(header(sequence, count).flip(), entriesChecksum.getValue()))
+				return -1L;
+
+			for (int offset = HEADER_BYTES; offset < size - Integer.BYTES; offset += ENTRY_BYTES) {
+				visitor.visit(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+			}
+			return sequence;
+		}
+	}
+
+	private static ByteBuffer header(long sequence, long count) {
+		return ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(sequence).putLong(count);
+	}
+
+	private static long checksum(ByteBuffer header, long entriesChecksum) {
+		CRC32C checksum = new CRC32C();
+		checksum.update(header.array(), 0, HEADER_BYTES);
+		checksum.update(ByteBuffer.allocate(Long.BYTES).putLong(entriesChecksum).array());
+		return checksum.getValue();
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C entriesChecksum) {
+		buffer.flip();
+		entriesChecksum.update(buffer.array(), 0, buffer.limit());
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.lock;
+
+/*
+ * 사용자 요청 대기열에서 최대 대기 시간 안에 차례가 오지 않았을 때 발생하는 예외
+ * 대기열이 길어진 사용자의 요청은 무한정 대기하지 않고 빠르게 실패(fail fast)한다.
+ * */
+public class PointQueueTimeoutException extends Exception {
+
+	private final long userId;
+
+	private final long maxWaitMillis;
+
+	public PointQueueTimeoutException(long userId, long maxWaitMillis) {
+		super("사용자(" + userId + ")의 요청 대기 시간(" + maxWaitMillis + "ms)을 초과하였습니다.");
+		this.userId = userId;
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	public long getUserId() {
+		return userId;
+	}
+
+	public long getMaxWaitMillis() {
+		return maxWaitMillis;
+	}
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+
+/*
+ * 사용자(userId) 단위로 락을 관리한다.
+ * - 서로 다른 사용자의 요청은 병렬로 처리하고, 동일한 사용자의 요청은 직렬화한다.
+ * - 공정(fair) 락을 사용하여 동일 사용자의 요청은 도착한 순서대로 처리한다.
+ * - 최대 대기 시간 안에 락을 획득하지 못하면 PointQueueTimeoutException으로 빠르게 실패한다.
+ * - 락을 기다리거나 보유한 스레드가 없으면(idle) 해당 사용자의 락을 회수한다.
+ * - 락 대기 시간(lock.wait)과 다른 요청 때문에 대기한 횟수(lock contention)를 기록한다.
+ * */
+@Component
+public class UserLockManager {
+
+	private final ConcurrentHashMap<Long, UserLock> locks = new ConcurrentHashMap<>();
+
+	private final boolean fair;
+
+	private final long maxWaitMillis;
+
+	private final PointMetrics pointMetrics;
+
+	public UserLockManager(boolean fair, long maxWaitMillis) {
+		this(fair, maxWaitMillis, PointMetrics.noop());
+	}
+
+	@Autowired
+	public UserLockManager(
+			@Value("${point.queue.fair:true}") boolean fair,
+			@Value("${point.queue.max-wait-millis:10000}") long maxWaitMillis,
+			PointMetrics pointMetrics
+	) {
+		this.fair = fair;
+		this.maxWaitMillis = maxWaitMillis;
+		this.pointMetrics = pointMetrics;
+	}
+
+	/*
+	 * 사용자 락을 획득한 상태에서 task를 실행한다.
+	 * 조회 → 검증 → 내역 기록 → 반영 과정 전체를 하나의 임계영역으로 묶기 위해 사용한다.
+	 * */
+	public <T> T executeWithLock(long userId, Callable<T> task) throws Exception {
+		UserLock userLock = acquire(userId);
+		try {
+			//공정 락의 timed tryLock은 먼저 대기 중인 스레드가 있다면 끼어들지 않는다
+			long startTime = System.nanoTime();
+			if(userLock.lock.isLocked() || userLock.lock.hasQueuedThreads())
+				pointMetrics.lockContended();
+
+			if(!userLock.lock.tryLock(maxWaitMillis, TimeUnit.MILLISECONDS))
+				throw new PointQueueTimeoutException(userId, maxWaitMillis);
+
+			long waitNanos = System.nanoTime() - startTime;
+			userLock.recordWait(waitNanos);
+			pointMetrics.recordNanos(PointMetrics.Stage.LOCK_WAIT, waitNanos);
+		} catch(Exception e) {
+			release(userId);
+			throw e;
+		}
+
+		try {
+			return task.call();
+		} finally {
+			userLock.lock.unlock();
+			release(userId);
+		}
+	}
+
+	//사용자 요청 대기열의 현재 상태
+	public UserQueueStatus status(long userId) {
+		UserLock userLock = locks.get(userId);
+		if(userLock == null)
+			return UserQueueStatus.idle(userId);
+
+		return new UserQueueStatus(
+				userId,
+				userLock.lock.getQueueLength(),
+				TimeUnit.NANOSECONDS.toMillis(userLock.lastWaitNanos),
+				TimeUnit.NANOSECONDS.toMillis(userLock.maxWaitNanos)
+		);
+	}
+
+	//현재 회수되지 않은(사용 중인) 사용자 락의 수
+	public int activeLockCount() {
+		return locks.size();
+	}
+
+	//사용자 락의 참조 수를 증가시킨다(compute는 key 단위로 원자적으로 동작한다)
+	private UserLock acquire(long userId) {
+		return locks.compute(userId, (key, userLock) -> {
+			if(userLock == null)
+				userLock = new UserLock(fair);
+
+			userLock.holders++;
+			return userLock;
+		});
+	}
+
+	//사용자 락의 참조 수를 감소시키고, 참조하는 스레드가 없다면 락을 회수한다
+	private void release(long userId) {
+		locks.computeIfPresent(userId, (key, userLock) -> --userLock.holders == 0 ? null : userLock);
+	}
+
+	private static class UserLock {
+		private final ReentrantLock lock;
+
+		//compute 내부에서만 변경되므로 별도의 동기화가 필요하지 않다
+		private int holders;
+
+		//락을 보유한 스레드만 갱신하고, 상태 조회 시에는 최신 값을 읽도록 volatile로 선언한다
+		private volatile long lastWaitNanos;
+
+		private volatile long maxWaitNanos;
+
+		private UserLock(boolean fair) {
+			this.lock = new ReentrantLock(fair);
+		}
+
+		private void recordWait(long waitNanos) {
+			lastWaitNanos = waitNanos;
+			if(waitNanos > maxWaitNanos)
+				maxWaitNanos = waitNanos;
+		}
+	}
+}
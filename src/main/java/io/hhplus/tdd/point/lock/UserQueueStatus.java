@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.lock;
+
+/*
+ * 사용자 요청 대기열의 상태
+ * - queueDepth : 락을 기다리고 있는 요청의 수
+ * - lastWaitMillis : 가장 최근에 락을 획득한 요청의 대기 시간
+ * - maxWaitMillis : 대기열이 회수되기 전까지 관측된 최대 대기 시간
+ * */
+public record UserQueueStatus(
+		long userId,
+		int queueDepth,
+		long lastWaitMillis,
+		long maxWaitMillis
+) {
+
+	//대기 중인 요청이 없어 대기열이 회수된 사용자의 상태
+	public static UserQueueStatus idle(long userId) {
+		return new UserQueueStatus(userId, 0, 0L, 0L);
+	}
+}
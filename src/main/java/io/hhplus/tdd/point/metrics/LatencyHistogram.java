@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * HdrHistogram 방식(log-linear 구간)의 지연 시간 histogram
+ * - 0 ~ 63ns는 1ns 단위로, 그 이상은 2의 거듭제곱 범위마다 32개의 구간으로 나누어 기록한다(상대 오차 약 3% 이내).
+ * - 구간 위치는 최상위 비트 위치로 계산하므로(구간 탐색 없음), 기록은 구간 수와 합계의 원자적 증가 두 번이다.
+ * - 스레드 id로 stripe를 나누어, 여러 스레드가 같은 메모리 위치를 두고 경합하지 않는다.
+ * - 백분위수는 조회 시점에 모든 stripe를 합쳐 계산하며, 최근 1 ~ 2개 window 동안 기록된 값만 포함한다.
+ * */
+final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+
+	//기록할 수 있는 최대 값(약 68초), 초과하는 값은 최대 값으로 기록한다
+	private static final long MAX_NANOS = (1L << 36) - 1;
+
+	static final int BUCKETS = indexOf(MAX_NANOS) + 1;
+
+	private static final int STRIPES = 8;
+
+	//stripe마다 구간 수 뒤에 합계(ns)를 둔다
+	private static final int STRIPE_LENGTH = BUCKETS + 1;
+
+	private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIPE_LENGTH);
+
+	private final long windowNanos;
+
+	//백분위수 계산의 기준이 되는 누적 값(older)과 다음 기준이 될 누적 값(newer)
+	private Snapshot older = Snapshot.EMPTY;
+
+	private Snapshot newer = Snapshot.EMPTY;
+
+	private long newerNanos = System.nanoTime();
+
+	LatencyHistogram(long windowMillis) {
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+	}
+
+	void record(long nanos) {
+		long value = Math.min(Math.max(nanos, 0L), MAX_NANOS);
+		int offset = (int) (Thread.currentThread().getId() & (STRIPES - 1)) * STRIPE_LENGTH;
+		cells.getAndIncrement(offset + indexOf(value));
+		cells.getAndAdd(offset + BUCKETS, value);
+	}
+
+	long count() {
+		return cumulative().count;
+	}
+
+	long totalNanos() {
+		return cumulative().totalNanos;
+	}
+
+	//최근 window 동안 기록된 값의 백분위수(ns), 기록된 값이 없다면 0
+	synchronized long percentileNanos(double quantile) {
+		Snapshot now = cumulative();
+		if(System.nanoTime() - newerNanos >= windowNanos) {
+			older = newer;
+			newer = now;
+			newerNanos = System.nanoTime();
+		}
+		return now.minus(older).percentileNanos(quantile);
+	}
+
+	/*
+	 * 값 v의 구간 위치
+	 * v의 최상위 비트 위치가 SUB_BUCKET_BITS보다 크다면 넘는 만큼(shift) 하위 비트를 버리고, 남은 상위 6비트와 shift로 구간을 정한다.
+	 * */
+	static int indexOf(long value) {
+		int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+		return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+	}
+
+	//구간에 속하는 가장 큰 값
+	static long highestValueOf(int index) {
+		int shift = Math.max(0, (index >>> SUB_BUCKET_BITS) - 1);
+		long lowest = (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	private Snapshot cumulative() {
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+		long totalNanos = 0;
+		for (int stripe = 0; stripe < STRIPES; stripe++) {
+			int offset = stripe * STRIPE_LENGTH;
+			for (int i = 0; i < BUCKETS; i++) {
+				long bucketCount = cells.get(offset + i);
+				counts[i] += bucketCount;
+				count += bucketCount;
+			}
+			totalNanos += cells.get(offset + BUCKETS);
+		}
+		return new Snapshot(counts, count, totalNanos);
+	}
+
+	private record Snapshot(long[] counts, long count, long totalNanos) {
+
+		private static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0L, 0L);
+
+		private Snapshot minus(Snapshot base) {
+			long[] diff = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				diff[i] = counts[i] - base.counts[i];
+			}
+			return new Snapshot(diff, count - base.count, totalNanos - base.totalNanos);
+		}
+
+		private long percentileNanos(double quantile) {
+			if(count == 0)
+				return 0L;
+
+			long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += counts[i];
+				if(seen >= rank)
+					return highestValueOf(i);
+			}
+			return MAX_NANOS;
+		}
+	}
+}
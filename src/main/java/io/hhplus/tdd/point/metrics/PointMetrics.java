@@ -0,0 +1,156 @@
+package io.hhplus.tdd.point.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/*
+ * 포인트 API의 지연 시간 분포와 이벤트 수를 기록한다(/actuator/metrics, /actuator/prometheus).
+ * - point.operation : 조회/내역 조회/요약 조회/충전/사용 한 건의 처리 시간(operation 태그)
+ * - point.stage : 충전/사용 한 건의 단계별 처리 시간(stage 태그 : lock.wait, table.read, history.insert, table.write)
+ * - point.sync-charge : 동시성 검증용 서비스(syncCharge1 ~ 4)의 충전 처리 시간(case 태그)
+ * - point.rule.rejections : 포인트 정책(PointRule) 위반으로 거절된 충전/사용 수(type 태그)
+ * - point.lock.contentions : 사용자 락을 다른 요청이 보유하거나 기다리고 있어 대기한 요청 수
+ * 처리 시간은 LatencyHistogram에 기록하고, 건수/합계(FunctionTimer)와 최근 window의 백분위수(*.percentile, quantile 태그)는 조회 시점에 계산한다.
+ * 기록 시에는 배열에서 histogram을 꺼내 원자적 증가만 하므로, 태그 조회나 문자열 생성이 없다.
+ * */
+@Component
+public class PointMetrics {
+
+	public enum Operation {
+		POINT("point"), HISTORY("history"), SUMMARY("summary"), CHARGE("charge"), USE("use");
+
+		private final String tag;
+
+		Operation(String tag) {
+			this.tag = tag;
+		}
+	}
+
+	public enum Stage {
+		LOCK_WAIT("lock.wait"), TABLE_READ("table.read"), HISTORY_INSERT("history.insert"), TABLE_WRITE("table.write");
+
+		private final String tag;
+
+		Stage(String tag) {
+			this.tag = tag;
+		}
+	}
+
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999, 1.0};
+
+	private static final int SYNC_CHARGE_CASES = 4;
+
+	//false라면 아무것도 기록하지 않는다(벤치마크의 기준값 측정용)
+	private final boolean recording;
+
+	private final LatencyHistogram[] operationHistograms = new LatencyHistogram[Operation.values().length];
+
+	private final LatencyHistogram[] stageHistograms = new LatencyHistogram[Stage.values().length];
+
+	private final LatencyHistogram[] syncChargeHistograms = new LatencyHistogram[SYNC_CHARGE_CASES];
+
+	private final Counter[] ruleRejections = new Counter[TransactionType.values().length];
+
+	private final Counter lockContentions;
+
+	@Autowired
+	public PointMetrics(
+			MeterRegistry meterRegistry,
+			@Value("${point.metrics.window-millis:60000}") long windowMillis
+	) {
+		this(meterRegistry, windowMillis, true);
+	}
+
+	private PointMetrics(MeterRegistry meterRegistry, long windowMillis, boolean recording) {
+		this.recording = recording;
+		for (Operation operation : Operation.values()) {
+			operationHistograms[operation.ordinal()] = histogram("point.operation", "operation", operation.tag, windowMillis, meterRegistry);
+		}
+		for (Stage stage : Stage.values()) {
+			stageHistograms[stage.ordinal()] = histogram("point.stage", "stage", stage.tag, windowMillis, meterRegistry);
+		}
+		for (int i = 0; i < SYNC_CHARGE_CASES; i++) {
+			syncChargeHistograms[i] = histogram("point.sync-charge", "case", String.valueOf(i + 1), windowMillis, meterRegistry);
+		}
+		for (TransactionType type : TransactionType.values()) {
+			ruleRejections[type.ordinal()] = Counter.builder("point.rule.rejections")
+					.description("포인트 정책 위반으로 거절된 충전/사용 수")
+					.tag("type", type.name())
+					.register(meterRegistry);
+		}
+		this.lockContentions = Counter.builder("point.lock.contentions")
+				.description("사용자 락을 바로 획득하지 못하고 대기한 요청 수")
+				.register(meterRegistry);
+	}
+
+	//아무것도 기록하지 않는 구성(벤치마크, 단위 테스트용)
+	public static PointMetrics noop() {
+		return new PointMetrics(new CompositeMeterRegistry(), 60000L, false);
+	}
+
+	public void record(Operation operation, long startNanos) {
+		if(recording)
+			operationHistograms[operation.ordinal()].record(System.nanoTime() - startNanos);
+	}
+
+	/*
+	 * 결과가 완료된 시점까지를 처리 시간으로 기록한다.
+	 * 호출한 스레드에서 이미 완료되었다면(LOCK, ATOMIC) 바로 기록하여 완료 콜백을 등록하지 않는다.
+	 * 호출자가 원래의 예외를 그대로 받도록 콜백이 만든 future가 아닌 원래의 future를 반환한다.
+	 * */
+	public <T> CompletableFuture<T> record(Operation operation, long startNanos, CompletableFuture<T> future) {
+		if(future.isDone()) {
+			record(operation, startNanos);
+			return future;
+		}
+
+		future.whenComplete((result, e) -> record(operation, startNanos));
+		return future;
+	}
+
+	public void recordNanos(Stage stage, long nanos) {
+		if(recording)
+			stageHistograms[stage.ordinal()].record(nanos);
+	}
+
+	public void recordSyncCharge(int syncCase, long nanos) {
+		if(recording)
+			syncChargeHistograms[syncCase - 1].record(nanos);
+	}
+
+	public void ruleRejected(TransactionType type) {
+		if(recording)
+			ruleRejections[type.ordinal()].increment();
+	}
+
+	public void lockContended() {
+		if(recording)
+			lockContentions.increment();
+	}
+
+	private static LatencyHistogram histogram(String name, String tagKey, String tagValue, long windowMillis, MeterRegistry meterRegistry) {
+		LatencyHistogram histogram = new LatencyHistogram(windowMillis);
+		FunctionTimer.builder(name, histogram, LatencyHistogram::count, LatencyHistogram::totalNanos, TimeUnit.NANOSECONDS)
+				.tag(tagKey, tagValue)
+				.register(meterRegistry);
+		for (double quantile : QUANTILES) {
+			Gauge.builder(name + ".percentile", histogram, h -> h.percentileNanos(quantile) / 1e9)
+					.tag(tagKey, tagValue)
+					.tag("quantile", String.valueOf(quantile))
+					.baseUnit("seconds")
+					.register(meterRegistry);
+		}
+		return histogram;
+	}
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.reactive;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * /point API의 non-blocking 버전입니다.
+ * 요청 스레드는 블로킹 호출을 기다리지 않고 반환되며(Servlet 비동기 처리), 결과가 준비되면 응답을 기록합니다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+public class PointReactiveController {
+
+    @Autowired
+    PointReactiveService pointReactiveService;
+
+    /**
+     * 특정 유저의 포인트를 조회합니다.
+     */
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return pointReactiveService.point(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 id 순서로 한 건씩 스트리밍합니다(application/x-ndjson).
+     * - after : 이 id 이후의 내역부터 조회
+     * - from/to : updateMillis 조회 범위(양 끝 포함)
+     */
+    @GetMapping(value = "{id}/histories", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PointHistory> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return pointReactiveService.history(
+                id,
+                after == null ? 0L : after,
+                from == null ? Long.MIN_VALUE : from,
+                to == null ? Long.MAX_VALUE : to
+        );
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전합니다.
+     * Idempotency-Key 헤더가 있다면 같은 키의 재요청에는 다시 충전하지 않고 최초 요청의 결과를 반환합니다.
+     */
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        return pointReactiveService.charge(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용합니다.
+     * Idempotency-Key 헤더가 있다면 같은 키의 재요청에는 다시 사용하지 않고 최초 요청의 결과를 반환합니다.
+     */
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        return pointReactiveService.use(id, amount, idempotencyKey);
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.reactive;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * PointService의 조회/충전/사용을 Mono/Flux로 조합하는 non-blocking 서비스
+ * - 테이블 조회/반영(throttle), 사용자 락 대기 등 블로킹 호출은 크기가 제한된 블로킹 전용 스케줄러(point-blocking)에서만 실행한다.
+ * - 요청 스레드는 Mono/Flux를 반환한 뒤 바로 반환되고, 결과는 완료된 스레드에서 응답으로 기록된다.
+ * - 블로킹 스레드와 대기열이 모두 가득 차면 RejectedExecutionException(429)으로 거절한다.
+ * - 내역은 페이지 단위로 조회하여, 이전 페이지를 모두 내보낸 뒤에 다음 페이지를 조회한다(전체 내역을 메모리에 올리지 않는다).
+ * */
+@Service
+public class PointReactiveService {
+
+	private final PointService pointService;
+
+	private final Scheduler blockingScheduler;
+
+	//내역 스트림에서 한 번에 조회하는 내역 수
+	private final int historyPageSize;
+
+	public PointReactiveService(
+			PointService pointService,
+			@Value("${point.reactive.blocking-threads:64}") int blockingThreads,
+			@Value("${point.reactive.blocking-queue-capacity:100000}") int blockingQueueCapacity,
+			@Value("${point.reactive.history-page-size:500}") int historyPageSize
+	) {
+		this.pointService = pointService;
+		this.blockingScheduler = Schedulers.newBoundedElastic(blockingThreads, blockingQueueCapacity, "point-blocking");
+		this.historyPageSize = historyPageSize;
+	}
+
+	public Mono<UserPoint> point(long id) {
+		return Mono.fromCallable(() -> pointService.point(id)).subscribeOn(blockingScheduler);
+	}
+
+	/*
+	 * LOCK, ATOMIC : 블로킹 스케줄러의 스레드에서 사용자 락을 획득하여 반영한다.
+	 * ACTOR : 블로킹 스케줄러의 스레드는 메일박스에 명령을 적재하고 바로 반환되며, 결과는 메일박스 스레드에서 완료된다.
+	 * 같은 멱등 키의 요청은 같은 결과(future)를 공유하므로, 구독이 취소되어도 결과를 취소하지 않는다(suppressCancel).
+	 * */
+	public Mono<UserPoint> charge(long id, long amount, String idempotencyKey) {
+		return Mono.defer(() -> Mono.fromFuture(pointService.chargeAsync(id, amount, idempotencyKey), true)).subscribeOn(blockingScheduler);
+	}
+
+	public Mono<UserPoint> use(long id, long amount, String idempotencyKey) {
+		return Mono.defer(() -> Mono.fromFuture(pointService.useAsync(id, amount, idempotencyKey), true)).subscribeOn(blockingScheduler);
+	}
+
+	/*
+	 * afterId 이후의 내역을 id 순서로 내보낸다.
+	 * 마지막으로 조회한 페이지가 가득 찼다면 그 페이지의 마지막 id를 cursor로 다음 페이지를 조회한다.
+	 * */
+	public Flux<PointHistory> history(long id, long afterId, long fromMillis, long toMillis) {
+		return historyPage(id, afterId, fromMillis, toMillis)
+				.expand(page -> page.size() < historyPageSize
+						? Mono.empty()
+						: historyPage(id, page.get(page.size() - 1).id(), fromMillis, toMillis))
+				.concatMapIterable(page -> page);
+	}
+
+	private Mono<List<PointHistory>> historyPage(long id, long afterId, long fromMillis, long toMillis) {
+		return Mono.fromCallable(() -> pointService.history(id, afterId, fromMillis, toMillis, historyPageSize)).subscribeOn(blockingScheduler);
+	}
+
+	@PreDestroy
+	void disposeScheduler() {
+		blockingScheduler.dispose();
+	}
+}
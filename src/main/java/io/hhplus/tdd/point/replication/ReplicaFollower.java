@@ -0,0 +1,267 @@
+package io.hhplus.tdd.point.replication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * 팔로워의 복제 스레드
+ * - 리더의 복제 로그(/point/replication/events)를 long polling으로 가져와 내역을 id 순서대로 자신의 테이블에 반영한다.
+ *   내역의 amount는 반영 후 포인트이므로 내역을 반영하면서 사용자의 포인트도 함께 반영한다.
+ * - 조회 요청은 리더의 내역을 모두 반영했음을 마지막으로 확인한 시점(staleness)이 max-staleness-millis 이내일 때만 처리한다.
+ * - 요청에 마지막으로 본 내역 id나 사용자의 내역 cursor가 있다면 그 내역이 반영될 때까지 최대 read-your-writes-wait-millis 동안 기다린다.
+ * - 복제 지연을 point.replication.lag.events(건수), point.replication.lag.seconds(시간)로 기록한다.
+ * - 리더의 마지막 내역 id가 반영된 내역 id보다 작거나(리더 재기동 등) 다음 id가 아닌 내역을 받으면 리더와 내역이 어긋난 것이므로
+ *   복제를 멈추고 이후의 조회 요청을 거절한다(다시 동기화하려면 팔로워를 빈 상태로 재기동해야 한다).
+ * */
+@Component
+public class ReplicaFollower {
+
+	private static final Logger log = LoggerFactory.getLogger(ReplicaFollower.class);
+
+	private final PointService pointService;
+
+	private final PointHistoryTable pointHistoryTable;
+
+	private final ObjectMapper objectMapper;
+
+	private final boolean enabled;
+
+	private final String leaderUrl;
+
+	private final int batchSize;
+
+	private final long pollWaitMillis;
+
+	private final long retryMillis;
+
+	private final long maxStalenessMillis;
+
+	private final long readYourWritesWaitMillis;
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(2))
+			.build();
+
+	private volatile long appliedId;
+
+	private volatile long leaderId;
+
+	//리더의 내역을 모두 반영했음을 마지막으로 확인한 시점(확인한 응답을 요청한 시점)
+	private volatile long caughtUpNanos;
+
+	//리더와 내역이 어긋난 사유(어긋나지 않았다면 null)
+	private volatile String divergence;
+
+	private volatile boolean running;
+
+	private Thread replicator;
+
+	public ReplicaFollower(
+			PointService pointService,
+			PointHistoryTable pointHistoryTable,
+			ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${point.replication.role:NONE}") ReplicationRole role,
+			@Value("${point.replication.leader-url:http://localhost:8080}") String leaderUrl,
+			@Value("${point.replication.batch-size:1000}") int batchSize,
+			@Value("${point.replication.poll-wait-millis:500}") long pollWaitMillis,
+			@Value("${point.replication.retry-millis:200}") long retryMillis,
+			@Value("${point.replication.max-staleness-millis:5000}") long maxStalenessMillis,
+			@Value("${point.replication.read-your-writes-wait-millis:1000}") long readYourWritesWaitMillis
+	) {
+		this.pointService = pointService;
+		this.pointHistoryTable = pointHistoryTable;
+		this.objectMapper = objectMapper;
+		this.enabled = role == ReplicationRole.FOLLOWER;
+		this.leaderUrl = leaderUrl;
+		this.batchSize = batchSize;
+		this.pollWaitMillis = pollWaitMillis;
+		this.retryMillis = retryMillis;
+		this.maxStalenessMillis = maxStalenessMillis;
+		this.readYourWritesWaitMillis = readYourWritesWaitMillis;
+
+		if(enabled) {
+			Gauge.builder("point.replication.lag.events", this, follower -> Math.max(0L, follower.leaderId - follower.appliedId))
+					.description("리더에 추가되었지만 팔로워에 아직 반영되지 않은 내역 수")
+					.register(meterRegistry);
+			Gauge.builder("point.replication.lag.seconds", this, follower -> follower.stalenessMillis() / 1000.0)
+					.description("팔로워가 리더의 내역을 모두 반영했음을 마지막으로 확인한 뒤 지난 시간")
+					.register(meterRegistry);
+		}
+	}
+
+	public boolean enabled() {
+		return enabled;
+	}
+
+	/*
+	 * 기동 시(journal 재생 이후) 테이블에 있는 내역 이후부터 복제를 시작한다.
+	 * 아직 리더를 확인하지 않았으므로 첫 응답을 받기 전까지는 조회 요청을 처리하지 않는다.
+	 * */
+	@PostConstruct
+	public void start() {
+		if(!enabled)
+			return;
+
+		appliedId = pointHistoryTable.lastId();
+		caughtUpNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis + 1);
+		running = true;
+		replicator = new Thread(this::replicate, "point-replica-follower");
+		replicator.setDaemon(true);
+		replicator.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		if(replicator != null) {
+			replicator.interrupt();
+			replicator.join();
+		}
+	}
+
+	public ReplicationStatus status() {
+		return new ReplicationStatus(ReplicationRole.FOLLOWER, appliedId, leaderId, stalenessMillis(), divergence != null);
+	}
+
+	public long stalenessMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - caughtUpNanos);
+	}
+
+	public void awaitReadable(long minHistoryId) throws ReplicaUnavailableException, InterruptedException {
+		awaitReadable(minHistoryId, 0L, 0L);
+	}
+
+	/*
+	 * 조회 요청을 처리할 수 있는지 확인한다.
+	 * minHistoryId(요청한 클라이언트가 마지막으로 본 내역 id)나 사용자(userId)의 minHistoryCursor번째 내역이
+	 * 아직 반영되지 않았다면 반영될 때까지 기다린다.
+	 * 내역 id는 리더마다 발급되므로 사용자가 다른 샤드로 옮겨가면 이어지지 않지만, cursor는 사용자의 내역 순서이므로 이어진다.
+	 * */
+	public void awaitReadable(long minHistoryId, long userId, long minHistoryCursor) throws ReplicaUnavailableException, InterruptedException {
+		String reason = divergence;
+		if(reason != null)
+			throw new ReplicaUnavailableException("리더와 내역이 어긋나 조회할 수 없습니다 : " + reason);
+
+		if(!applied(minHistoryId, userId, minHistoryCursor)) {
+			synchronized (this) {
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readYourWritesWaitMillis);
+				long remaining;
+				while (!applied(minHistoryId, userId, minHistoryCursor) && divergence == null && (remaining = deadline - System.nanoTime()) > 0) {
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			}
+			reason = divergence;
+			if(reason != null)
+				throw new ReplicaUnavailableException("리더와 내역이 어긋나 조회할 수 없습니다 : " + reason);
+			if(minHistoryId > appliedId)
+				throw new ReplicaUnavailableException("내역(" + minHistoryId + ")이 아직 복제되지 않았습니다(반영된 내역 " + appliedId + ").");
+			if(!applied(minHistoryId, userId, minHistoryCursor))
+				throw new ReplicaUnavailableException("사용자(" + userId + ")의 " + minHistoryCursor + "번째 내역이 아직 복제되지 않았습니다.");
+		}
+
+		long staleness = stalenessMillis();
+		if(staleness > maxStalenessMillis)
+			throw new ReplicaUnavailableException("리더의 내역을 " + staleness + "ms 동안 확인하지 못했습니다.");
+	}
+
+	private boolean applied(long minHistoryId, long userId, long minHistoryCursor) {
+		return minHistoryId <= appliedId && (minHistoryCursor <= 0 || pointHistoryTable.countByUserId(userId) >= minHistoryCursor);
+	}
+
+	private void replicate() {
+		while (running) {
+			long requestNanos = System.nanoTime();
+			try {
+				ReplicationBatch batch = poll();
+				if(batch.lastId() < appliedId) {
+					diverge("리더의 마지막 내역 id(" + batch.lastId() + ")가 반영된 내역 id(" + appliedId + ")보다 작습니다.");
+					return;
+				}
+				for (PointHistory history : batch.histories()) {
+					if(!apply(history))
+						return;
+				}
+				leaderId = batch.lastId();
+				if(appliedId >= batch.lastId())
+					caughtUpNanos = requestNanos;
+
+				synchronized (this) {
+					notifyAll();
+				}
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch(Exception e) {
+				log.warn("리더({})의 내역을 복제하지 못했습니다 : {}", leaderUrl, e.toString());
+				try {
+					Thread.sleep(retryMillis);
+				} catch(InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private ReplicationBatch poll() throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(leaderUrl + "/point/replication/events?after=" + appliedId + "&limit=" + batchSize + "&waitMillis=" + pollWaitMillis))
+				.timeout(Duration.ofMillis(pollWaitMillis + 5000L))
+				.GET()
+				.build();
+		HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		if(response.statusCode() != 200)
+			throw new IllegalStateException("복제 로그 요청이 실패하였습니다(" + response.statusCode() + ")");
+
+		return objectMapper.readValue(response.body(), ReplicationBatch.class);
+	}
+
+	/*
+	 * 내역은 id 순서로 빈 번호 없이 반영되므로 팔로워 테이블에서도 리더와 같은 id로 추가된다.
+	 * id가 어긋나면 다시 요청해도 같은 내역을 받으므로 재시도하지 않고 어긋난 것으로 표시한 뒤 false를 반환한다.
+	 * */
+	private boolean apply(PointHistory history) {
+		if(history.id() != appliedId + 1) {
+			diverge("복제할 내역의 id(" + history.id() + ")가 다음 id(" + (appliedId + 1) + ")가 아닙니다.");
+			return false;
+		}
+
+		PointHistory replicated = pointService.replicate(history);
+		if(replicated.id() != history.id()) {
+			diverge("복제한 내역의 id(" + replicated.id() + ")가 리더의 id(" + history.id() + ")와 다릅니다.");
+			return false;
+		}
+
+		appliedId = history.id();
+		return true;
+	}
+
+	//복제를 멈추고, 기다리는 조회 요청을 깨워 거절되도록 한다
+	private void diverge(String reason) {
+		divergence = reason;
+		log.error("리더({})와 내역이 어긋나 복제를 멈춥니다 : {}", leaderUrl, reason);
+		synchronized (this) {
+			notifyAll();
+		}
+	}
+}
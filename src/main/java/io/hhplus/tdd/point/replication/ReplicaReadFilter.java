@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.replication;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * 팔로워의 포인트 API(/point/**, /reactive/point/**) 요청을 제한한다.
+ * - 조회(GET) 요청은 복제 지연이 최대 지연 시간 이내일 때만 처리하고,
+ *   MIN_HISTORY_ID_HEADER가 있다면 해당 내역이, 사용자 API(/point/{id}/...)에 MIN_HISTORY_CURSOR_HEADER가 있다면
+ *   사용자의 해당 cursor까지의 내역이 반영될 때까지 기다린 뒤 처리한다(read-your-writes).
+ * - 충전/사용 등 나머지 요청은 팔로워의 테이블과 리더의 내역 id가 어긋나지 않도록 처리하지 않는다.
+ * */
+@Component
+public class ReplicaReadFilter extends OncePerRequestFilter {
+
+	//요청한 클라이언트가 마지막으로 본 내역 id, 팔로워는 이 내역이 반영된 뒤 조회한다
+	public static final String MIN_HISTORY_ID_HEADER = "X-Point-Min-History-Id";
+
+	//요청한 클라이언트가 마지막으로 본 사용자의 내역 cursor, 샤드 간 사용자 이동 후에도 이어지는 read-your-writes 기준이다
+	public static final String MIN_HISTORY_CURSOR_HEADER = "X-Point-Min-History-Cursor";
+
+	private static final Pattern USER_PATH = Pattern.compile("^(?:/reactive)?/point/(\\d+)(?:/.*)?$");
+
+	private final ReplicaFollower replicaFollower;
+
+	private final ObjectMapper objectMapper;
+
+	public ReplicaReadFilter(ReplicaFollower replicaFollower, ObjectMapper objectMapper) {
+		this.replicaFollower = replicaFollower;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if(!replicaFollower.enabled())
+			return true;
+
+		String path = path(request);
+		return !(path.startsWith("/point/") || path.startsWith("/reactive/point/")) || path.startsWith("/point/replication/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		if(!"GET".equals(request.getMethod())) {
+			error(response, "팔로워는 조회 요청만 처리합니다. 충전/사용은 리더에 요청해야 합니다.");
+			return;
+		}
+
+		try {
+			Matcher matcher = USER_PATH.matcher(path(request));
+			boolean userPath = matcher.matches();
+			replicaFollower.awaitReadable(header(request, MIN_HISTORY_ID_HEADER),
+					userPath ? Long.parseLong(matcher.group(1)) : 0L,
+					userPath ? header(request, MIN_HISTORY_CURSOR_HEADER) : 0L);
+		} catch(ReplicaUnavailableException e) {
+			error(response, e.getMessage());
+			return;
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error(response, "복제 대기 중 중단되었습니다.");
+			return;
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	private void error(HttpServletResponse response, String message) throws IOException {
+		response.setStatus(503);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.getOutputStream().write(objectMapper.writeValueAsBytes(new ErrorResponse("503", message)));
+	}
+
+	private static long header(HttpServletRequest request, String name) {
+		String value = request.getHeader(name);
+		try {
+			return value == null ? 0L : Long.parseLong(value);
+		} catch(NumberFormatException e) {
+			return 0L;
+		}
+	}
+
+	private static String path(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.replication;
+
+/*
+ * 팔로워가 요청을 처리할 수 없을 때 발생하는 예외(503)
+ * - 리더의 내역을 반영한 시점이 최대 지연 시간(max-staleness-millis)보다 오래되었거나,
+ *   요청한 내역 id(read-your-writes)가 대기 시간 안에 반영되지 않은 경우
+ * - 팔로워에 충전/사용 요청을 보낸 경우
+ * */
+public class ReplicaUnavailableException extends Exception {
+
+	public ReplicaUnavailableException(String message) {
+		super(message);
+	}
+}
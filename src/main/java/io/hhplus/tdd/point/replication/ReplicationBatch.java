@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.replication;
+
+import java.util.List;
+
+import io.hhplus.tdd.point.PointHistory;
+
+/*
+ * 리더가 팔로워에 제공하는 내역 묶음
+ * - lastId : 응답 시점에 리더에 추가가 끝난 마지막 내역 id, 팔로워의 복제 지연(건수)을 계산하는 기준이다.
+ * - histories : 요청한 id 이후의 내역(id 순서, 빈 번호 없음)
+ * */
+public record ReplicationBatch(
+		long lastId,
+		List<PointHistory> histories
+) {
+}
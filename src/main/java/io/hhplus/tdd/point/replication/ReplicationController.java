@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point.replication;
+
+import io.hhplus.tdd.point.PointPolicyException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 충전/사용 내역 복제 API입니다(point.replication.role이 LEADER 또는 FOLLOWER인 경우).
+ */
+@RestController
+@RequestMapping("/point/replication")
+public class ReplicationController {
+
+    //한 번에 제공하는 최대 내역 수 및 최대 대기 시간
+    private static final int MAX_LIMIT = 10000;
+    private static final long MAX_WAIT_MILLIS = 30000L;
+
+    @Autowired
+    ReplicationLog replicationLog;
+
+    @Autowired
+    ReplicaFollower replicaFollower;
+
+    /**
+     * 리더에서 after 이후의 내역을 id 순서로 최대 limit건 조회합니다.
+     * 아직 추가된 내역이 없다면 최대 waitMillis 동안 기다립니다(long polling).
+     */
+    @GetMapping("events")
+    public ReplicationBatch events(
+            @RequestParam long after,
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(defaultValue = "0") long waitMillis
+    ) throws Exception {
+        if (!replicationLog.enabled())
+            throw new PointPolicyException("복제 리더(point.replication.role = LEADER)가 아닙니다.");
+
+        return replicationLog.read(Math.max(0L, after), Math.max(1, Math.min(limit, MAX_LIMIT)), Math.max(0L, Math.min(waitMillis, MAX_WAIT_MILLIS)));
+    }
+
+    /**
+     * 이 노드의 복제 상태를 조회합니다.
+     */
+    @GetMapping("status")
+    public ReplicationStatus status() {
+        if (replicaFollower.enabled())
+            return replicaFollower.status();
+        if (replicationLog.enabled())
+            return new ReplicationStatus(ReplicationRole.LEADER, replicationLog.lastId(), replicationLog.lastId(), 0L, false);
+
+        return new ReplicationStatus(ReplicationRole.NONE, 0L, 0L, 0L, false);
+    }
+}
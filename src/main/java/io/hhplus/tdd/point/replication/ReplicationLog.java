@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point.replication;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+
+/*
+ * 리더의 복제 로그
+ * - 충전/사용 내역은 그 자체로 이벤트 로그이다. 내역 id는 빈 번호 없이 발급되고, amount는 반영 후 포인트이므로
+ *   팔로워가 내역을 id 순서대로 반영하면 같은 id의 내역과 사용자별 포인트를 갖게 된다.
+ * - 내역은 off-heap 테이블(PointHistoryTable)에 이미 id 순서로 저장되어 있으므로 별도로 보관하지 않고 테이블에서 읽는다.
+ * - 서로 다른 사용자의 내역은 동시에 추가되어 id 순서대로 추가가 끝나지 않으므로,
+ *   빈 번호 없이 추가가 끝난 마지막 id(lastId)까지만 제공한다.
+ * */
+@Component
+public class ReplicationLog {
+
+	private final PointHistoryTable pointHistoryTable;
+
+	private final boolean enabled;
+
+	//빈 번호 없이 추가가 끝난 마지막 내역 id
+	private long lastId;
+
+	//lastId 이후에 먼저 추가가 끝난 내역 id
+	private final Set<Long> appendedAhead = new HashSet<>();
+
+	public ReplicationLog(
+			PointHistoryTable pointHistoryTable,
+			@Value("${point.replication.role:NONE}") ReplicationRole role
+	) {
+		this.pointHistoryTable = pointHistoryTable;
+		this.enabled = role == ReplicationRole.LEADER;
+		if(enabled) {
+			//등록 전에 추가된 내역(기동 시 journal 재생)은 모두 추가가 끝난 상태이다
+			this.lastId = pointHistoryTable.lastId();
+			pointHistoryTable.addAppendListener(history -> appended(history.id()));
+		}
+	}
+
+	public boolean enabled() {
+		return enabled;
+	}
+
+	public synchronized long lastId() {
+		return lastId;
+	}
+
+	/*
+	 * afterId 이후의 내역을 최대 limit건 반환한다.
+	 * 아직 추가가 끝난 내역이 없다면 최대 waitMillis 동안 기다린다(long polling).
+	 * */
+	public ReplicationBatch read(long afterId, int limit, long waitMillis) throws InterruptedException {
+		long toId;
+		long lastId;
+		synchronized (this) {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+			long remaining;
+			while (this.lastId <= afterId && (remaining = deadline - System.nanoTime()) > 0) {
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+			lastId = this.lastId;
+			toId = Math.min(lastId, afterId + limit);
+		}
+		return new ReplicationBatch(lastId, toId > afterId ? pointHistoryTable.selectByIdRange(afterId, toId) : List.of());
+	}
+
+	private synchronized void appended(long id) {
+		if(id <= lastId)
+			return;
+		if(id != lastId + 1) {
+			appendedAhead.add(id);
+			return;
+		}
+
+		lastId = id;
+		while (appendedAhead.remove(lastId + 1)) {
+			lastId++;
+		}
+		notifyAll();
+	}
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.replication;
+
+/*
+ * 충전/사용 내역 복제에서 노드의 역할
+ * - NONE : 복제하지 않는다.
+ * - LEADER : 충전/사용을 처리하고, 추가된 내역을 id 순서로 팔로워에 제공한다.
+ * - FOLLOWER : 리더의 내역을 id 순서로 가져와 자신의 테이블에 반영하고, 조회 요청만 처리한다.
+ * */
+public enum ReplicationRole {
+	NONE, LEADER, FOLLOWER
+}
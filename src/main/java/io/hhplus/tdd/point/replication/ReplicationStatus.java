@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.replication;
+
+/*
+ * 노드의 복제 상태
+ * - appliedId : 이 노드의 테이블에 반영된 마지막 내역 id(리더라면 추가가 끝난 마지막 내역 id)
+ * - leaderId : 팔로워가 마지막으로 확인한 리더의 마지막 내역 id
+ * - stalenessMillis : 팔로워가 리더의 내역을 모두 반영했음을 마지막으로 확인한 뒤 지난 시간
+ * - diverged : 팔로워가 리더와 내역이 어긋나 복제를 멈추었는지 여부
+ * */
+public record ReplicationStatus(
+		ReplicationRole role,
+		long appliedId,
+		long leaderId,
+		long stalenessMillis,
+		boolean diverged
+) {
+}
@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * 사용자 id를 샤드(노드)에 배정하는 consistent hash ring
+ * - 노드마다 virtualNodes개의 위치를 ring에 두고, 사용자 id의 hash 이후 처음 만나는 위치의 노드가 사용자를 소유한다.
+ * - 노드가 추가/제거되면 해당 노드의 위치와 인접한 구간의 사용자만 소유 노드가 바뀐다(전체의 약 1/N).
+ * - 위치는 정렬된 primitive 배열에 보관하고 이진 탐색하며, 생성 후 변경되지 않는다(멤버 변경 시 새 ring을 만든다).
+ * */
+public final class ConsistentHashRing {
+
+	private final long version;
+
+	private final List<String> nodes;
+
+	private final long[] positions;
+
+	private final String[] owners;
+
+	public ConsistentHashRing(long version, List<String> nodes, int virtualNodes) {
+		if(nodes.isEmpty())
+			throw new IllegalArgumentException("샤드 노드가 없습니다.");
+
+		this.version = version;
+		this.nodes = nodes.stream().distinct().sorted().toList();
+
+		int size = this.nodes.size() * virtualNodes;
+		long[] keys = new long[size];
+		String[] keyOwners = new String[size];
+		int i = 0;
+		for (String node : this.nodes) {
+			for (int replica = 0; replica < virtualNodes; replica++) {
+				keys[i] = hash(node + "#" + replica);
+				keyOwners[i] = node;
+				i++;
+			}
+		}
+
+		//위치 순서로 노드를 정렬한다
+		Integer[] order = new Integer[size];
+		for (int j = 0; j < size; j++) {
+			order[j] = j;
+		}
+		Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+		this.positions = new long[size];
+		this.owners = new String[size];
+		for (int j = 0; j < size; j++) {
+			positions[j] = keys[order[j]];
+			owners[j] = keyOwners[order[j]];
+		}
+	}
+
+	public String owner(long userId) {
+		int index = Arrays.binarySearch(positions, mix(userId));
+		if(index < 0)
+			index = -index - 1;
+
+		return owners[index == positions.length ? 0 : index];
+	}
+
+	public long version() {
+		return version;
+	}
+
+	public List<String> nodes() {
+		return nodes;
+	}
+
+	public boolean contains(String node) {
+		return nodes.contains(node);
+	}
+
+	//FNV-1a 64-bit 후 비트를 섞는다
+	private static long hash(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+
+	//연속된 사용자 id가 ring의 같은 구간에 몰리지 않도록 비트를 섞는다(MurmurHash3 fmix64)
+	private static long mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return key;
+	}
+}
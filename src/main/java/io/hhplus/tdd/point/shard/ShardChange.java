@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.shard;
+
+import java.util.List;
+
+/*
+ * 샤드 멤버 변경
+ * - version : 변경된 멤버의 버전, 노드는 자신의 버전보다 큰 변경만 반영한다.
+ * - previousNodes : 변경 전 멤버, 사용자를 내보낼 노드(이전 소유 노드)를 정하는 기준이다.
+ * - nodes : 변경 후 멤버
+ * */
+public record ShardChange(
+		long version,
+		List<String> previousNodes,
+		List<String> nodes
+) {
+}
@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point.shard;
+
+import io.hhplus.tdd.database.HistoryCursorPage;
+import io.hhplus.tdd.point.PointPolicyException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 샤드 멤버를 조회/변경하는 API입니다(point.shard.enabled = true인 경우).
+ * join/leave는 멤버 중 한 노드에 요청하며, 나머지 엔드포인트는 노드 간 멤버 변경 과정에서 호출됩니다.
+ */
+@RestController
+@RequestMapping("/point/shards")
+public class ShardController {
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    /**
+     * 이 노드가 알고 있는 샤드 멤버 상태를 조회합니다.
+     */
+    @GetMapping
+    public ShardStatus status() throws PointPolicyException {
+        checkEnabled();
+        return shardRouter.status();
+    }
+
+    /**
+     * 노드를 멤버에 추가하고, 추가된 노드가 소유하게 된 사용자를 옮깁니다.
+     */
+    @PostMapping("join")
+    public ShardStatus join(
+            @RequestParam String node
+    ) throws Exception {
+        checkEnabled();
+        return shardRouter.join(node);
+    }
+
+    /**
+     * 노드를 멤버에서 제거하고, 제거된 노드가 소유했던 사용자를 나머지 노드로 옮깁니다.
+     */
+    @PostMapping("leave")
+    public ShardStatus leave(
+            @RequestParam String node
+    ) throws Exception {
+        checkEnabled();
+        return shardRouter.leave(node);
+    }
+
+    /**
+     * 멤버 변경을 이 노드에 반영합니다(멤버 변경 1단계).
+     */
+    @PutMapping
+    public ShardStatus install(
+            @RequestBody ShardChange shardChange
+    ) throws PointPolicyException {
+        checkEnabled();
+        shardRouter.install(shardChange);
+        return shardRouter.status();
+    }
+
+    /**
+     * 이전 소유 노드들에서 이 노드가 새로 소유하게 된 사용자를 가져옵니다(멤버 변경 2단계).
+     */
+    @PostMapping("rebalance")
+    public int rebalance() throws Exception {
+        checkEnabled();
+        return shardRouter.rebalance();
+    }
+
+    /**
+     * 변경 전 이 노드가 소유했고, 변경 후 owner가 소유하게 된 사용자의 잔액을 내보냅니다.
+     */
+    @PostMapping("handoff")
+    public List<UserHandoff> handoff(
+            @RequestParam String owner
+    ) throws PointPolicyException, ShardUnavailableException {
+        checkEnabled();
+        return shardRouter.handoff(owner);
+    }
+
+    /**
+     * owner로 내보내는 사용자의 내역 중 cursor번째 이후의 내역을 한 페이지만큼 내보냅니다.
+     */
+    @PostMapping("handoff/histories")
+    public HistoryCursorPage handoffHistories(
+            @RequestParam String owner,
+            @RequestParam long userId,
+            @RequestParam long cursor
+    ) throws PointPolicyException, ShardUnavailableException {
+        checkEnabled();
+        return shardRouter.handoffHistories(owner, userId, cursor);
+    }
+
+    private void checkEnabled() throws PointPolicyException {
+        if (!shardRouter.enabled())
+            throw new PointPolicyException("샤딩(point.shard.enabled)이 비활성화되어 있습니다.");
+    }
+}
@@ -0,0 +1,529 @@
+package io.hhplus.tdd.point.shard;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.HistoryCursorPage;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+
+/*
+ * 사용자 id의 consistent hash로 사용자를 샤드(노드)에 나누어 배정하고, 요청을 소유 노드로 전달한다.
+ * - 이 노드가 소유한 사용자의 요청만 이 노드에서 처리하고, 다른 사용자의 요청은 소유 노드로 전달한다(ShardRoutingFilter).
+ * - 멤버 변경(join/leave)은 변경을 요청받은 노드가 모든 노드에 두 단계로 반영한다.
+ *   1. 모든 노드에 새 ring을 설치한다. 이후 이 노드가 내보낼 사용자의 요청은 새 소유 노드로 전달된다.
+ *   2. 새 멤버의 모든 노드가 이전 소유 노드에서 자신이 새로 소유하게 된 사용자(잔액, 내역)를 가져온다(rebalance).
+ *      내역은 사용자별 cursor로 handoff-page-rows건씩 나누어 가져오므로, 옮겨온 내역은 이전 소유 노드에서와 같은 cursor를 갖는다.
+ * - 옮겨오는 중인 사용자의 요청은 가져오기가 끝날 때까지 기다리고, 내보내는 노드는 처리 중인 요청이 끝난 뒤 사용자를 내보낸다.
+ * - 멤버 변경은 한 번에 하나씩 요청해야 하며, 제거되는 노드는 사용자를 모두 내보낸 뒤 종료해야 한다.
+ * */
+@Component
+public class ShardRouter {
+
+	private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+
+	//요청이 전달된 횟수, 멤버 변경 중에는 이전 ring을 가진 노드를 거쳐 다시 전달될 수 있다
+	public static final String HOPS_HEADER = "X-Point-Shard-Hops";
+
+	static final int MAX_HOPS = 3;
+
+	private static final TypeReference<List<UserHandoff>> HANDOFFS = new TypeReference<>() {
+	};
+
+	private static final TypeReference<HistoryCursorPage> HISTORY_PAGE = new TypeReference<>() {
+	};
+
+	private static final TypeReference<List<PointOperationResult>> OPERATION_RESULTS = new TypeReference<>() {
+	};
+
+	private final PointService pointService;
+
+	private final ObjectMapper objectMapper;
+
+	private final boolean enabled;
+
+	private final String self;
+
+	private final int virtualNodes;
+
+	private final long maxWaitMillis;
+
+	private final long forwardTimeoutMillis;
+
+	//사용자를 옮길 때 한 번에 가져오는 내역 수
+	private final int handoffPageRows;
+
+	private final HttpClient httpClient;
+
+	private volatile ConsistentHashRing ring;
+
+	//사용자를 내보낼 때 이전 소유 노드를 정하는 변경 전 ring(다음 멤버 변경까지 유지)
+	private volatile ConsistentHashRing handoffRing;
+
+	//이 노드로 옮겨올 사용자를 가져오는 중일 때의 변경 전 ring(가져오기가 끝나면 null)
+	private volatile ConsistentHashRing migratingRing;
+
+	private volatile CountDownLatch migrated = new CountDownLatch(0);
+
+	//사용자를 가져오지 못한 변경 전 ring(다음 멤버 변경까지 유지), 이 ring에서 다른 노드가 소유했던 사용자는 처리하지 않는다
+	private volatile ConsistentHashRing failedRing;
+
+	//사용자별 이 노드에서 처리 중인 요청 수
+	private final ConcurrentHashMap<Long, Integer> inFlight = new ConcurrentHashMap<>();
+
+	private final Object membershipLock = new Object();
+
+	public ShardRouter(
+			PointService pointService,
+			ObjectMapper objectMapper,
+			@Value("${point.shard.enabled:false}") boolean enabled,
+			@Value("${point.shard.self:http://localhost:${server.port:8080}}") String self,
+			@Value("${point.shard.nodes:}") List<String> nodes,
+			@Value("${point.shard.virtual-nodes:128}") int virtualNodes,
+			@Value("${point.shard.max-wait-millis:10000}") long maxWaitMillis,
+			@Value("${point.shard.forward-timeout-millis:10000}") long forwardTimeoutMillis,
+			@Value("${point.shard.handoff-page-rows:1000}") int handoffPageRows
+	) {
+		this.pointService = pointService;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.self = self;
+		this.virtualNodes = virtualNodes;
+		this.maxWaitMillis = maxWaitMillis;
+		this.forwardTimeoutMillis = forwardTimeoutMillis;
+		this.handoffPageRows = Math.max(1, handoffPageRows);
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(2))
+				.build();
+
+		List<String> members = nodes.stream().filter(node -> !node.isBlank()).toList();
+		this.ring = new ConsistentHashRing(0L, members.isEmpty() ? List.of(self) : members, virtualNodes);
+	}
+
+	public boolean enabled() {
+		return enabled;
+	}
+
+	public String self() {
+		return self;
+	}
+
+	//소유 노드로 전달한 요청의 응답을 기다리는 최대 시간
+	public long forwardTimeoutMillis() {
+		return forwardTimeoutMillis;
+	}
+
+	public String owner(long userId) {
+		return ring.owner(userId);
+	}
+
+	public ShardStatus status() {
+		ConsistentHashRing current = ring;
+		return new ShardStatus(self, current.version(), current.nodes(), migratingRing != null);
+	}
+
+	/*
+	 * 사용자의 요청을 처리할 노드를 정한다.
+	 * - 이 노드가 소유한다면 처리 중인 요청 수를 늘리고 null을 반환한다(처리가 끝나면 release를 호출해야 한다).
+	 * - 다른 노드가 소유한다면 소유 노드를 반환한다.
+	 * - 이 노드로 옮겨오는 중인 사용자라면 가져오기가 끝날 때까지 기다린다.
+	 * 처리 중인 요청 수를 늘린 뒤에 ring을 확인하므로, 사용자를 내보낼 때 처리 중인 요청이 끝나기를 기다리면
+	 * 이후 이 노드에서 해당 사용자의 요청이 처리되지 않는다.
+	 * */
+	public String acquire(long userId) throws ShardUnavailableException {
+		inFlight.merge(userId, 1, Integer::sum);
+		String owner = ring.owner(userId);
+		if(!owner.equals(self)) {
+			release(userId);
+			return owner;
+		}
+
+		try {
+			awaitMigration(userId);
+		} catch(ShardUnavailableException e) {
+			release(userId);
+			throw e;
+		}
+		return null;
+	}
+
+	public void release(long userId) {
+		inFlight.computeIfPresent(userId, (key, count) -> count == 1 ? null : count - 1);
+	}
+
+	//옮겨오는 중인 사용자라면 가져오기가 끝날 때까지 기다리고, 가져오지 못한 사용자라면 다음 멤버 변경까지 처리하지 않는다
+	private void awaitMigration(long userId) throws ShardUnavailableException {
+		ConsistentHashRing previous = migratingRing;
+		if(previous != null && !previous.owner(userId).equals(self)) {
+			boolean done = false;
+			try {
+				done = migrated.await(maxWaitMillis, TimeUnit.MILLISECONDS);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if(!done)
+				throw new ShardUnavailableException("사용자(" + userId + ")를 다른 샤드에서 옮겨오는 중입니다.");
+		}
+
+		ConsistentHashRing failed = failedRing;
+		if(failed != null && !failed.owner(userId).equals(self))
+			throw new ShardUnavailableException("사용자(" + userId + ")를 다른 샤드에서 옮겨오지 못했습니다.");
+	}
+
+	/*
+	 * 여러 사용자의 일괄 처리 요청을 소유 노드별로 나누어 처리하고, 결과를 요청 순서대로 합친다.
+	 * 소유 노드에 전달하지 못한 연산은 실패로 응답한다.
+	 * */
+	public List<PointOperationResult> batch(List<PointOperation> operations, int hops) throws Exception {
+		if(hops >= MAX_HOPS)
+			throw new ShardUnavailableException("요청이 최대 전달 횟수(" + MAX_HOPS + ")를 넘었습니다.");
+
+		Map<String, List<Integer>> indexesByOwner = new LinkedHashMap<>();
+		List<Long> acquired = new ArrayList<>();
+		try {
+			for (int i = 0; i < operations.size(); i++) {
+				long userId = operations.get(i).userId();
+				String owner = acquire(userId);
+				if(owner == null) {
+					acquired.add(userId);
+					owner = self;
+				}
+				indexesByOwner.computeIfAbsent(owner, key -> new ArrayList<>()).add(i);
+			}
+
+			Map<String, CompletableFuture<List<PointOperationResult>>> remotes = new HashMap<>();
+			indexesByOwner.forEach((owner, indexes) -> {
+				if(!owner.equals(self))
+					remotes.put(owner, sendAsync("POST", owner + "/point/batch", select(operations, indexes), OPERATION_RESULTS, hops + 1));
+			});
+
+			PointOperationResult[] results = new PointOperationResult[operations.size()];
+			List<Integer> localIndexes = indexesByOwner.get(self);
+			if(localIndexes != null)
+				merge(results, localIndexes, pointService.batch(select(operations, localIndexes)));
+
+			for (Map.Entry<String, CompletableFuture<List<PointOperationResult>>> remote : remotes.entrySet()) {
+				List<Integer> indexes = indexesByOwner.get(remote.getKey());
+				try {
+					merge(results, indexes, remote.getValue().join());
+				} catch(Exception e) {
+					for (int index : indexes) {
+						results[index] = PointOperationResult.failure(index, operations.get(index), "샤드(" + remote.getKey() + ")에 요청을 전달하지 못했습니다.");
+					}
+				}
+			}
+			return List.of(results);
+		} finally {
+			acquired.forEach(this::release);
+		}
+	}
+
+	private static List<PointOperation> select(List<PointOperation> operations, List<Integer> indexes) {
+		return indexes.stream().map(operations::get).toList();
+	}
+
+	//소유 노드가 처리한 결과의 위치(index)를 원래 요청의 위치로 바꾼다
+	private static void merge(PointOperationResult[] results, List<Integer> indexes, List<PointOperationResult> partial) {
+		for (PointOperationResult result : partial) {
+			int index = indexes.get(result.index());
+			results[index] = new PointOperationResult(index, result.userId(), result.type(), result.amount(), result.success(), result.userPoint(), result.error());
+		}
+	}
+
+	/*
+	 * 노드를 멤버에 추가/제거하고, 모든 노드에 새 ring을 설치한 뒤 사용자를 옮긴다.
+	 * 추가되는 노드는 실행 중이어야 하며, 제거되는 노드는 사용자를 모두 내보낸 뒤 종료해야 한다.
+	 * */
+	public ShardStatus join(String node) throws IOException, InterruptedException {
+		synchronized (membershipLock) {
+			List<String> nodes = new ArrayList<>(ring.nodes());
+			if(!nodes.contains(node))
+				nodes.add(node);
+
+			return change(nodes);
+		}
+	}
+
+	public ShardStatus leave(String node) throws IOException, InterruptedException {
+		synchronized (membershipLock) {
+			List<String> nodes = new ArrayList<>(ring.nodes());
+			nodes.remove(node);
+			return change(nodes);
+		}
+	}
+
+	/*
+	 * 모든 노드에 새 ring을 설치한 뒤 사용자를 옮긴다.
+	 * 일부 노드에만 설치되었거나 사용자를 옮기지 못했다면, 이전 멤버로 되돌리는 변경을 가능한 모든 노드에 적용하여
+	 * 옮겨진 사용자를 이전 소유 노드로 되돌린 뒤 실패를 그대로 던진다.
+	 * 새 ring을 설치하지 못한 노드는 사용자를 소유한 적이 없으므로, 되돌릴 때의 변경 전 멤버에서 제외한다.
+	 * */
+	private ShardStatus change(List<String> nodes) throws IOException, InterruptedException {
+		ConsistentHashRing current = ring;
+		ShardChange shardChange = new ShardChange(current.version() + 1, current.nodes(), nodes);
+		List<String> installed = new ArrayList<>();
+		try {
+			for (String target : targets(shardChange)) {
+				install(target, shardChange);
+				installed.add(target);
+			}
+			for (String target : shardChange.nodes()) {
+				rebalance(target);
+			}
+		} catch(IOException | RuntimeException e) {
+			List<String> owners = nodes.stream().filter(installed::contains).toList();
+			if(!owners.isEmpty())
+				rollback(new ShardChange(shardChange.version() + 1, owners, current.nodes()), e);
+			throw e;
+		}
+
+		log.info("샤드 멤버 변경(version {}) : {} -> {}", shardChange.version(), shardChange.previousNodes(), shardChange.nodes());
+		return status();
+	}
+
+	//되돌리는 변경은 실패한 노드를 건너뛰고 나머지 노드에 계속 적용한다
+	private void rollback(ShardChange rollback, Exception cause) throws InterruptedException {
+		log.warn("샤드 멤버 변경(version {})에 실패하여 이전 멤버로 되돌립니다 : {}", rollback.version() - 1, cause.toString());
+		for (String target : targets(rollback)) {
+			try {
+				install(target, rollback);
+			} catch(IOException | RuntimeException e) {
+				log.warn("샤드({})에 이전 멤버를 설치하지 못했습니다 : {}", target, e.toString());
+			}
+		}
+		for (String target : rollback.nodes()) {
+			try {
+				rebalance(target);
+			} catch(IOException | RuntimeException e) {
+				log.warn("샤드({})의 사용자를 되돌리지 못했습니다 : {}", target, e.toString());
+			}
+		}
+	}
+
+	//추가되는 노드, 남는 노드, 제거되는 노드 순서로 설치하여 설치 중 노드 간에 요청이 되돌아오는 경우를 줄인다
+	private static Set<String> targets(ShardChange shardChange) {
+		Set<String> targets = new LinkedHashSet<>();
+		shardChange.nodes().stream().filter(node -> !shardChange.previousNodes().contains(node)).forEach(targets::add);
+		targets.addAll(shardChange.nodes());
+		targets.addAll(shardChange.previousNodes());
+		return targets;
+	}
+
+	private void install(String target, ShardChange shardChange) throws IOException, InterruptedException {
+		if(target.equals(self))
+			install(shardChange);
+		else
+			send("PUT", target + "/point/shards", shardChange, null, 0);
+	}
+
+	private void rebalance(String target) throws IOException, InterruptedException {
+		if(target.equals(self))
+			rebalance();
+		else
+			send("POST", target + "/point/shards/rebalance", null, null, 0);
+	}
+
+	//새 ring을 설치한다. 이미 같거나 더 최신의 변경을 설치했다면 무시한다.
+	public synchronized void install(ShardChange shardChange) {
+		if(shardChange.version() <= ring.version())
+			return;
+
+		ConsistentHashRing previous = new ConsistentHashRing(shardChange.version() - 1, shardChange.previousNodes(), virtualNodes);
+		handoffRing = previous;
+		failedRing = null;
+		migrated = new CountDownLatch(1);
+		migratingRing = previous;
+		ring = new ConsistentHashRing(shardChange.version(), shardChange.nodes(), virtualNodes);
+	}
+
+	/*
+	 * 이전 소유 노드들에서 이 노드가 새로 소유하게 된 사용자를 가져와 복구하고, 가져온 사용자 수를 반환한다.
+	 * 다른 노드의 가져오기(handoff 요청)와 동시에 실행될 수 있도록 내보내기는 이 메소드와 같은 락을 사용하지 않는다.
+	 * 성공/실패와 관계없이 가져오기를 기다리는 요청을 깨우며, 실패했다면 옮겨오지 못했을 수 있는 사용자는
+	 * 잘못된 잔액으로 처리하지 않도록 다음 멤버 변경(되돌리는 변경 포함)까지 503으로 거절한다.
+	 * */
+	public int rebalance() throws IOException, InterruptedException {
+		ConsistentHashRing previous;
+		CountDownLatch latch;
+		synchronized (this) {
+			previous = migratingRing;
+			latch = migrated;
+		}
+		if(previous == null)
+			return 0;
+
+		int moved = 0;
+		boolean completed = false;
+		try {
+			for (String source : previous.nodes()) {
+				if(source.equals(self))
+					continue;
+
+				String owner = URLEncoder.encode(self, StandardCharsets.UTF_8);
+				for (UserHandoff handoff : send("POST", source + "/point/shards/handoff?owner=" + owner, null, HANDOFFS, 0)) {
+					//이 노드에 남아있는 내역 이후의 내역만 페이지 단위로 가져온다
+					long cursor = pointService.historyCount(handoff.userId());
+					HistoryCursorPage page;
+					do {
+						page = send("POST", source + "/point/shards/handoff/histories?owner=" + owner + "&userId=" + handoff.userId() + "&cursor=" + cursor, null, HISTORY_PAGE, 0);
+						pointService.restoreHistories(handoff.userId(), page.histories());
+						cursor = page.cursor();
+					} while (page.histories().size() == handoffPageRows);
+
+					pointService.restoreUser(handoff.userId(), handoff.point(), handoff.updateMillis());
+					moved++;
+				}
+			}
+			completed = true;
+		} finally {
+			synchronized (this) {
+				if(migratingRing == previous) {
+					migratingRing = null;
+					if(!completed)
+						failedRing = previous;
+				}
+			}
+			latch.countDown();
+		}
+
+		log.info("샤드 사용자 이동 완료 : {}명을 가져왔습니다.", moved);
+		return moved;
+	}
+
+	/*
+	 * 변경 전 이 노드가 소유했고, 변경 후 owner가 소유하게 된 사용자를 내보낸다.
+	 * 사용자마다 이 노드에서 처리 중인 요청이 끝나기를 기다린 뒤의 잔액을 내보내며, 내역은 handoffHistories로 나누어 내보낸다.
+	 * 처리 중인 요청이 max-wait-millis 안에 끝나지 않으면 이후 반영될 잔액을 내보낼 수 없으므로 실패한다(멤버 변경은 되돌려진다).
+	 * */
+	public List<UserHandoff> handoff(String owner) throws ShardUnavailableException {
+		ConsistentHashRing previous = handoffRing;
+		ConsistentHashRing current = ring;
+		if(previous == null)
+			return List.of();
+
+		Set<Long> userIds = new LinkedHashSet<>();
+		pointService.forEachStoredUser((userId, point, updateMillis) -> {
+			if(previous.owner(userId).equals(self) && current.owner(userId).equals(owner))
+				userIds.add(userId);
+		});
+		for (long userId : userIds) {
+			awaitInFlight(userId);
+		}
+
+		Map<Long, UserPoint> points = new HashMap<>();
+		pointService.forEachStoredUser((userId, point, updateMillis) -> {
+			if(userIds.contains(userId))
+				points.put(userId, new UserPoint(userId, point, updateMillis));
+		});
+
+		List<UserHandoff> handoffs = new ArrayList<>(userIds.size());
+		for (long userId : userIds) {
+			UserPoint userPoint = points.get(userId);
+			handoffs.add(new UserHandoff(userId, userPoint.point(), userPoint.updateMillis()));
+		}
+		return handoffs;
+	}
+
+	/*
+	 * 내보내는 사용자의 내역 중 cursor번째 이후의 내역을 handoff-page-rows건까지 내보낸다.
+	 * 새 ring을 설치한 뒤에는 사용자의 요청이 새 소유 노드로 전달되므로, 나누어 내보내는 동안 내역이 추가되지 않는다.
+	 * */
+	public HistoryCursorPage handoffHistories(String owner, long userId, long cursor) throws ShardUnavailableException {
+		ConsistentHashRing previous = handoffRing;
+		if(previous == null || !previous.owner(userId).equals(self) || !ring.owner(userId).equals(owner))
+			throw new ShardUnavailableException("사용자(" + userId + ")는 샤드(" + owner + ")로 내보내는 사용자가 아닙니다.");
+
+		return pointService.historyPage(userId, cursor, Long.MIN_VALUE, Long.MAX_VALUE, handoffPageRows);
+	}
+
+	private void awaitInFlight(long userId) throws ShardUnavailableException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+		while (inFlight.containsKey(userId)) {
+			if(System.nanoTime() - deadline > 0)
+				throw new ShardUnavailableException("사용자(" + userId + ")의 처리 중인 요청이 " + maxWaitMillis + "ms 안에 끝나지 않아 내보낼 수 없습니다.");
+
+			try {
+				Thread.sleep(1L);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ShardUnavailableException("사용자(" + userId + ")의 처리 중인 요청을 기다리는 중 중단되었습니다.");
+			}
+		}
+	}
+
+	/*
+	 * 요청을 소유 노드로 전달한다(응답을 기다리는 동안 요청 스레드를 점유하지 않는다).
+	 * forward-timeout-millis 안에 응답하지 않으면 HttpTimeoutException으로 실패한다.
+	 * */
+	public CompletableFuture<HttpResponse<byte[]>> forward(String owner, String method, String pathAndQuery, byte[] body, Map<String, String> headers, int hops) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+				.method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+				.header(HOPS_HEADER, String.valueOf(hops));
+		headers.forEach(builder::header);
+		builder.timeout(Duration.ofMillis(forwardTimeoutMillis));
+		return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private <T> T send(String method, String url, Object body, TypeReference<T> type, int hops) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = httpClient.send(request(method, url, body, hops), HttpResponse.BodyHandlers.ofByteArray());
+		return read(url, response, type);
+	}
+
+	private <T> CompletableFuture<T> sendAsync(String method, String url, Object body, TypeReference<T> type, int hops) {
+		try {
+			return httpClient.sendAsync(request(method, url, body, hops), HttpResponse.BodyHandlers.ofByteArray())
+					.thenApply(response -> {
+						try {
+							return read(url, response, type);
+						} catch(IOException e) {
+							throw new IllegalStateException(e);
+						}
+					});
+		} catch(IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	private HttpRequest request(String method, String url, Object body, int hops) throws IOException {
+		return HttpRequest.newBuilder(URI.create(url))
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.header("Content-Type", "application/json")
+				.header(HOPS_HEADER, String.valueOf(hops))
+				.build();
+	}
+
+	private <T> T read(String url, HttpResponse<byte[]> response, TypeReference<T> type) throws IOException {
+		if(response.statusCode() >= 400)
+			throw new IOException(url + " 요청이 실패하였습니다(" + response.statusCode() + ") : " + new String(response.body(), StandardCharsets.UTF_8));
+
+		return type == null ? null : objectMapper.readValue(response.body(), type);
+	}
+}
@@ -0,0 +1,185 @@
+package io.hhplus.tdd.point.shard;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * 사용자 단위 포인트 API(/point/{id}/**) 요청을 사용자의 소유 노드로 전달한다.
+ * - 이 노드가 소유한 사용자의 요청은 처리 중인 요청으로 등록한 뒤 그대로 처리한다.
+ * - 다른 노드가 소유한 사용자의 요청은 비동기로 전달하고, 소유 노드의 응답(상태, 본문)을 그대로 반환한다.
+ * - 소유 노드가 forward-timeout-millis 안에 응답하지 않으면 504, 전달하지 못하면 502로 응답한다.
+ * */
+@Component
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(ShardRoutingFilter.class);
+
+	private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d+)(/.*)?$");
+
+	//소유 노드로 전달하는 요청 헤더
+	private static final String[] FORWARDED_HEADERS = {HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, "Idempotency-Key"};
+
+	//전달 요청의 timeout에 더하는 비동기 요청의 timeout 여유 시간
+	private static final long ASYNC_TIMEOUT_MARGIN_MILLIS = 1000L;
+
+	private final ShardRouter shardRouter;
+
+	private final ObjectMapper objectMapper;
+
+	public ShardRoutingFilter(ShardRouter shardRouter, ObjectMapper objectMapper) {
+		this.shardRouter = shardRouter;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !shardRouter.enabled() || !USER_PATH.matcher(path(request)).matches();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		Matcher matcher = USER_PATH.matcher(path(request));
+		matcher.matches();
+		long userId = Long.parseLong(matcher.group(1));
+		int hops = hops(request);
+
+		String owner;
+		try {
+			owner = shardRouter.acquire(userId);
+		} catch(ShardUnavailableException e) {
+			error(response, 503, e.getMessage());
+			return;
+		}
+
+		if(owner == null) {
+			try {
+				filterChain.doFilter(request, response);
+			} finally {
+				shardRouter.release(userId);
+			}
+			return;
+		}
+
+		if(hops >= ShardRouter.MAX_HOPS) {
+			error(response, 503, "요청이 최대 전달 횟수(" + ShardRouter.MAX_HOPS + ")를 넘었습니다.");
+			return;
+		}
+		forward(request, response, owner, hops + 1);
+	}
+
+	private void forward(HttpServletRequest request, HttpServletResponse response, String owner, int hops) throws IOException {
+		byte[] body = request.getInputStream().readAllBytes();
+		Map<String, String> headers = new LinkedHashMap<>();
+		for (String name : FORWARDED_HEADERS) {
+			String value = request.getHeader(name);
+			if(value != null)
+				headers.put(name, value);
+		}
+		String pathAndQuery = request.getRequestURI() + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+
+		/*
+		 * 소유 노드의 응답은 forward-timeout-millis까지 기다리고, 초과하면 504로 응답한다.
+		 * 비동기 요청의 timeout은 전달 요청의 timeout보다 조금 길게 두어, 전달 요청이 응답하지 않는 경우에도 요청이 회수되도록 한다.
+		 * 전달 결과와 비동기 요청의 timeout 중 먼저 끝난 쪽만 응답한다.
+		 * */
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(shardRouter.forwardTimeoutMillis() + ASYNC_TIMEOUT_MARGIN_MILLIS);
+		AtomicBoolean responded = new AtomicBoolean();
+		asyncContext.addListener(new AsyncListener() {
+			@Override
+			public void onTimeout(AsyncEvent event) throws IOException {
+				if(responded.compareAndSet(false, true)) {
+					log.warn("샤드({})의 응답을 기다리는 시간이 초과되었습니다.", owner);
+					error((HttpServletResponse) asyncContext.getResponse(), 504, "샤드(" + owner + ")의 응답 시간이 초과되었습니다.");
+					asyncContext.complete();
+				}
+			}
+
+			@Override
+			public void onComplete(AsyncEvent event) {
+			}
+
+			@Override
+			public void onError(AsyncEvent event) {
+			}
+
+			@Override
+			public void onStartAsync(AsyncEvent event) {
+			}
+		});
+		shardRouter.forward(owner, request.getMethod(), pathAndQuery, body, headers, hops)
+				.whenComplete((forwarded, e) -> {
+					if(!responded.compareAndSet(false, true))
+						return;
+
+					HttpServletResponse asyncResponse = (HttpServletResponse) asyncContext.getResponse();
+					try {
+						Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+						if(cause instanceof HttpTimeoutException) {
+							log.warn("샤드({})의 응답을 기다리는 시간이 초과되었습니다.", owner);
+							error(asyncResponse, 504, "샤드(" + owner + ")의 응답 시간이 초과되었습니다.");
+						} else if(cause != null) {
+							log.warn("샤드({})에 요청을 전달하지 못했습니다 : {}", owner, cause.toString());
+							error(asyncResponse, 502, "샤드(" + owner + ")에 요청을 전달하지 못했습니다.");
+						} else {
+							copy(forwarded, asyncResponse);
+						}
+					} catch(IOException ioException) {
+						log.warn("샤드({})의 응답을 반환하지 못했습니다 : {}", owner, ioException.toString());
+					} finally {
+						asyncContext.complete();
+					}
+				});
+	}
+
+	private void copy(HttpResponse<byte[]> forwarded, HttpServletResponse response) throws IOException {
+		response.setStatus(forwarded.statusCode());
+		forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+		response.setContentLength(forwarded.body().length);
+		response.getOutputStream().write(forwarded.body());
+	}
+
+	private void error(HttpServletResponse response, int status, String message) throws IOException {
+		response.setStatus(status);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.getOutputStream().write(objectMapper.writeValueAsBytes(new ErrorResponse(String.valueOf(status), message)));
+	}
+
+	private static String path(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	static int hops(HttpServletRequest request) {
+		String hops = request.getHeader(ShardRouter.HOPS_HEADER);
+		try {
+			return hops == null ? 0 : Integer.parseInt(hops);
+		} catch(NumberFormatException e) {
+			return 0;
+		}
+	}
+}
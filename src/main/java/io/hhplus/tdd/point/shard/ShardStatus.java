@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.shard;
+
+import java.util.List;
+
+/*
+ * 노드가 알고 있는 샤드 멤버 상태
+ * - migrating : 멤버 변경 후 이 노드로 옮겨올 사용자를 아직 모두 가져오지 않았는지 여부
+ * */
+public record ShardStatus(
+		String self,
+		long version,
+		List<String> nodes,
+		boolean migrating
+) {
+}
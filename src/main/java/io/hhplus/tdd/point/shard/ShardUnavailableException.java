@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.shard;
+
+/*
+ * 샤드 멤버 변경 중 사용자를 옮겨오는 작업이 최대 대기 시간 안에 끝나지 않았거나,
+ * 요청이 최대 전달 횟수를 넘어 전달되었을 때 발생하는 예외(503)
+ * */
+public class ShardUnavailableException extends Exception {
+
+	public ShardUnavailableException(String message) {
+		super(message);
+	}
+}
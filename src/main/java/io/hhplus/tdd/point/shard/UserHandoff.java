@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.shard;
+
+/*
+ * 샤드 간 사용자 이동(handoff)에서 옮기는 사용자의 잔액
+ * 내역은 크기가 정해져 있지 않으므로 함께 옮기지 않고, 사용자별 cursor로 나누어 옮긴다(ShardRouter.handoffHistories).
+ * */
+public record UserHandoff(
+		long userId,
+		long point,
+		long updateMillis
+) {
+}
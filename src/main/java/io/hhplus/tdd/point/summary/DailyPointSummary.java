@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.summary;
+
+import java.time.LocalDate;
+
+/*
+ * 사용자의 하루 동안의 포인트 내역 요약
+ * */
+public record DailyPointSummary(
+		LocalDate date,
+		long count,
+		long chargeTotal,
+		long useTotal
+) {
+}
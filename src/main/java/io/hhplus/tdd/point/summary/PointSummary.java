@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.summary;
+
+import java.util.List;
+
+/*
+ * 사용자의 포인트 내역 요약
+ * - chargeTotal/useTotal : 충전/사용한 포인트의 합계(내역의 amount는 반영 후 포인트이므로 직전 내역과의 차이로 계산한다)
+ * - point : 마지막 내역의 반영 후 포인트
+ * - firstMillis/lastMillis : 가장 이른/늦은 내역의 updateMillis(내역이 없다면 0)
+ * - days : 최근 일자별 요약(일자 순서)
+ * */
+public record PointSummary(
+		long userId,
+		long count,
+		long chargeCount,
+		long chargeTotal,
+		long useCount,
+		long useTotal,
+		long point,
+		long firstMillis,
+		long lastMillis,
+		List<DailyPointSummary> days
+) {
+
+	public static PointSummary empty(long userId) {
+		return new PointSummary(userId, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, List.of());
+	}
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.summary;
+
+/*
+ * 내역으로 다시 계산한 요약과, 다시 계산하기 전의 요약이 같았는지 여부(정합성 검증 결과)
+ * */
+public record PointSummaryRebuild(
+		boolean consistent,
+		PointSummary previous,
+		PointSummary rebuilt
+) {
+}
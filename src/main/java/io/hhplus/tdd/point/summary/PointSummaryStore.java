@@ -0,0 +1,233 @@
+package io.hhplus.tdd.point.summary;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/*
+ * 사용자별 포인트 내역 요약(read model)
+ * - PointHistoryTable에 내역이 추가될 때마다 사용자의 요약(유형별 건수/합계, 첫/마지막 updateMillis, 일자별 요약)을 갱신하므로,
+ *   요약 조회는 내역 수와 관계없이 사용자의 요약 하나만 읽는다.
+ * - 내역의 amount는 반영 후 포인트이므로 충전/사용 금액은 테이블에서 같은 사용자의 직전 내역의 포인트와의 차이로 계산한다.
+ *   포인트는 0에서 시작하고 모든 변경이 내역으로 남으므로(journal 보관, 샤드 이동 시 내역도 함께 이동) 테이블의 첫 내역만 0에서 반영된 것으로 계산한다.
+ *   요약이 사용자의 내역을 처음 받았다면 받은 내역을 첫 내역으로 가정하지 않고 테이블의 내역으로 요약을 만든다.
+ * - 일자별 요약은 사용자마다 최근 daily-buckets일만 보관한다.
+ * - rebuild는 사용자의 내역으로 요약을 다시 계산하여 교체하고, 교체 전의 요약과 같았는지(정합성)를 반환한다.
+ * - 사용하지 않는다면 요약을 보관하지 않고, 조회할 때마다 내역으로 계산한다.
+ * */
+@Component
+public class PointSummaryStore {
+
+	private final PointHistoryTable pointHistoryTable;
+
+	private final boolean enabled;
+
+	private final ZoneId zone;
+
+	private final int dailyBuckets;
+
+	private final ConcurrentHashMap<Long, UserSummary> summaries = new ConcurrentHashMap<>();
+
+	public PointSummaryStore(
+			PointHistoryTable pointHistoryTable,
+			@Value("${point.summary.enabled:true}") boolean enabled,
+			@Value("${point.summary.zone:Asia/Seoul}") String zone,
+			@Value("${point.summary.daily-buckets:90}") int dailyBuckets
+	) {
+		this.pointHistoryTable = pointHistoryTable;
+		this.enabled = enabled;
+		this.zone = ZoneId.of(zone);
+		this.dailyBuckets = Math.max(1, dailyBuckets);
+		if(enabled) {
+			pointHistoryTable.addAppendListener(this::apply);
+			//등록 전에 추가된 내역(기동 시 journal 재생)으로 요약을 만든다
+			pointHistoryTable.forEachUserId(this::rebuild);
+		}
+	}
+
+	public PointSummary summary(long userId) {
+		if(!enabled)
+			return compute(userId).snapshot(userId);
+
+		UserSummary summary = summaries.get(userId);
+		return summary == null ? PointSummary.empty(userId) : summary.snapshot(userId);
+	}
+
+	/*
+	 * 사용자의 내역으로 요약을 다시 계산하여 교체한다.
+	 * 다시 계산하는 동안 내역이 추가되었다면(교체할 요약이 더 최신이라면) 다시 계산한다.
+	 * */
+	public PointSummaryRebuild rebuild(long userId) {
+		while (true) {
+			UserSummary rebuilt = compute(userId);
+			if(!enabled)
+				return new PointSummaryRebuild(true, rebuilt.snapshot(userId), rebuilt.snapshot(userId));
+
+			UserSummary current = summaries.computeIfAbsent(userId, key -> new UserSummary());
+			synchronized (current) {
+				if(current.lastHistoryId > rebuilt.lastHistoryId)
+					continue;
+
+				PointSummary previous = current.snapshot(userId);
+				current.copyFrom(rebuilt);
+				PointSummary replaced = current.snapshot(userId);
+				return new PointSummaryRebuild(previous.equals(replaced), previous, replaced);
+			}
+		}
+	}
+
+	/*
+	 * 내역이 추가될 때 호출된다(사용자의 락 안에서 호출되므로 동일 사용자의 내역은 id 순서대로 반영된다).
+	 * 아직 내역을 반영하지 않은 요약이라면 직전 내역의 포인트를 알 수 없으므로, 이 내역까지 추가된 테이블의 내역으로 요약을 만든다.
+	 * 이미 반영한 내역(다시 계산한 요약에 포함된 내역)은 건너뛴다.
+	 * */
+	private void apply(PointHistory history) {
+		UserSummary summary = summaries.computeIfAbsent(history.userId(), key -> new UserSummary());
+		synchronized (summary) {
+			if(summary.count == 0)
+				summary.copyFrom(compute(history.userId()));
+			else if(history.id() > summary.lastHistoryId)
+				summary.add(history);
+		}
+	}
+
+	private UserSummary compute(long userId) {
+		UserSummary summary = new UserSummary();
+		for (PointHistory history : pointHistoryTable.selectAllByUserId(userId)) {
+			summary.add(history);
+		}
+		return summary;
+	}
+
+	private long epochDayOf(long updateMillis) {
+		return LocalDate.ofInstant(Instant.ofEpochMilli(updateMillis), zone).toEpochDay();
+	}
+
+	/*
+	 * 한 사용자의 요약
+	 * 일자별 요약은 일자 순서로 정렬된 배열에 보관한다.
+	 * */
+	private final class UserSummary {
+		private long lastHistoryId;
+		private long count;
+		private long chargeCount;
+		private long chargeTotal;
+		private long useCount;
+		private long useTotal;
+		private long point;
+		private long firstMillis;
+		private long lastMillis;
+
+		private long[] days = new long[4];
+		private long[] dayCounts = new long[4];
+		private long[] dayCharges = new long[4];
+		private long[] dayUses = new long[4];
+		private int dayCount;
+
+		private synchronized void add(PointHistory history) {
+			long amount = history.type() == TransactionType.CHARGE ? history.amount() - point : point - history.amount();
+			if(history.type() == TransactionType.CHARGE) {
+				chargeCount++;
+				chargeTotal += amount;
+			} else {
+				useCount++;
+				useTotal += amount;
+			}
+
+			firstMillis = count == 0 ? history.updateMillis() : Math.min(firstMillis, history.updateMillis());
+			lastMillis = count == 0 ? history.updateMillis() : Math.max(lastMillis, history.updateMillis());
+			count++;
+			point = history.amount();
+			lastHistoryId = history.id();
+
+			int index = dayIndexOf(epochDayOf(history.updateMillis()));
+			if(index < 0)
+				return;
+
+			dayCounts[index]++;
+			if(history.type() == TransactionType.CHARGE)
+				dayCharges[index] += amount;
+			else
+				dayUses[index] += amount;
+		}
+
+		//일자의 위치, 없다면 추가한다(보관하는 일자 수를 넘으면 가장 이른 일자를 제거하며, 그보다 이른 일자라면 -1)
+		private int dayIndexOf(long day) {
+			int index = Arrays.binarySearch(days, 0, dayCount, day);
+			if(index >= 0)
+				return index;
+
+			index = -index - 1;
+			if(dayCount == dailyBuckets) {
+				if(index == 0)
+					return -1;
+
+				remove(0);
+				index--;
+			}
+			if(dayCount == days.length) {
+				int capacity = Math.min(dailyBuckets, dayCount * 2);
+				days = Arrays.copyOf(days, capacity);
+				dayCounts = Arrays.copyOf(dayCounts, capacity);
+				dayCharges = Arrays.copyOf(dayCharges, capacity);
+				dayUses = Arrays.copyOf(dayUses, capacity);
+			}
+
+			shift(index, index + 1, dayCount - index);
+			days[index] = day;
+			dayCounts[index] = 0L;
+			dayCharges[index] = 0L;
+			dayUses[index] = 0L;
+			dayCount++;
+			return index;
+		}
+
+		private void remove(int index) {
+			shift(index + 1, index, dayCount - index - 1);
+			dayCount--;
+		}
+
+		private void shift(int from, int to, int length) {
+			System.arraycopy(days, from, days, to, length);
+			System.arraycopy(dayCounts, from, dayCounts, to, length);
+			System.arraycopy(dayCharges, from, dayCharges, to, length);
+			System.arraycopy(dayUses, from, dayUses, to, length);
+		}
+
+		private synchronized void copyFrom(UserSummary other) {
+			lastHistoryId = other.lastHistoryId;
+			count = other.count;
+			chargeCount = other.chargeCount;
+			chargeTotal = other.chargeTotal;
+			useCount = other.useCount;
+			useTotal = other.useTotal;
+			point = other.point;
+			firstMillis = other.firstMillis;
+			lastMillis = other.lastMillis;
+			days = other.days.clone();
+			dayCounts = other.dayCounts.clone();
+			dayCharges = other.dayCharges.clone();
+			dayUses = other.dayUses.clone();
+			dayCount = other.dayCount;
+		}
+
+		private synchronized PointSummary snapshot(long userId) {
+			List<DailyPointSummary> daily = new ArrayList<>(dayCount);
+			for (int i = 0; i < dayCount; i++) {
+				daily.add(new DailyPointSummary(LocalDate.ofEpochDay(days[i]), dayCounts[i], dayCharges[i], dayUses[i]));
+			}
+			return new PointSummary(userId, count, chargeCount, chargeTotal, useCount, useTotal, point, firstMillis, lastMillis, daily);
+		}
+	}
+}
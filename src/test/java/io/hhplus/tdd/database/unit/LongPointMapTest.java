@@ -0,0 +1,106 @@
+package io.hhplus.tdd.database.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.database.LongPointMap;
+import io.hhplus.tdd.point.UserPoint;
+
+public class LongPointMapTest {
+
+	@Test
+	@DisplayName("[primitive 포인트 맵 검증] 배열이 여러 번 늘어날 만큼 사용자를 저장하고 갱신할때, 모든 사용자의 포인트와 updateMillis가 조회되는 동작에 대한 테스트")
+	void allEntriesAreReadableAfterResizeAndUpdate() {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 빈 슬롯 표시(0)와 겹치는 0번 사용자와 음수 id도 함께 저장한다.
+		 * */
+		int userCount = 200_000;
+		LongPointMap longPointMap = new LongPointMap();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 모든 사용자를 저장한 뒤 짝수 사용자의 포인트를 갱신한다.
+		 * */
+		for (long id = -10; id < userCount; id++) {
+			longPointMap.put(id, id * 2, id * 3);
+		}
+		for (long id = 0; id < userCount; id += 2) {
+			longPointMap.put(id, id + 1, id + 2);
+		}
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 갱신은 새 항목을 추가하지 않고, 저장하지 않은 사용자는 조회되지 않아야 한다.
+		 * */
+		assertEquals(userCount + 10, longPointMap.size());
+		for (long id = -10; id < userCount; id++) {
+			boolean updated = id >= 0 && id % 2 == 0;
+			assertEquals(updated ? id + 1 : id * 2, longPointMap.point(id, -1L));
+			assertEquals(updated ? id + 2 : id * 3, longPointMap.updateMillis(id, -1L));
+			assertEquals(new UserPoint(id, longPointMap.point(id, -1L), longPointMap.updateMillis(id, -1L)), longPointMap.get(id));
+		}
+		Assertions.assertFalse(longPointMap.contains(userCount));
+		Assertions.assertNull(longPointMap.get(userCount));
+		assertEquals(-1L, longPointMap.point(userCount, -1L));
+	}
+
+	@Test
+	@DisplayName("[primitive 포인트 맵 검증] 여러 스레드가 동시에 저장하고 조회할때, 저장한 사용자가 유실되지 않는 동작에 대한 테스트")
+	void entriesAreNotLostWhenPutConcurrently() throws InterruptedException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 스레드마다 서로 다른 사용자 구간을 저장하며, 저장 직후 조회하여 낙관적 읽기를 검증한다.
+		 * */
+		int threadCount = 16;
+		int userPerThread = 50_000;
+		LongPointMap longPointMap = new LongPointMap();
+		CountDownLatch doneSignal = new CountDownLatch(threadCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		LongPointMap missingReads = new LongPointMap();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		for (int t = 0; t < threadCount; t++) {
+			long base = (long) t * userPerThread;
+			executorService.execute(() -> {
+				try {
+					for (long id = base; id < base + userPerThread; id++) {
+						longPointMap.put(id, id, id);
+						if(longPointMap.point(id, -1L) != id)
+							missingReads.put(id, id, id);
+					}
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		doneSignal.await();
+		executorService.shutdown();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * */
+		assertEquals(0, missingReads.size());
+		assertEquals(threadCount * userPerThread, longPointMap.size());
+		for (long id = 0; id < (long) threadCount * userPerThread; id++) {
+			assertEquals(id, longPointMap.point(id, -1L));
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.database.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.database.HistoryCursorPage;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+public class PointHistoryTableTest {
+
+	@Test
+	@DisplayName("[사용자별 내역 구간 검증] 여러 사용자의 내역이 동시에 기록될때, id가 중복되지 않고 사용자별 내역이 id 순서로 조회되는 동작에 대한 테스트")
+	void historiesAreIndexedByUserAndSortedByIdWhenInsertedConcurrently() throws InterruptedException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 20명의 사용자에게 각각 10건의 내역을 동시에 기록한다.
+		 * */
+		int userCount = 20;
+		int historyPerUser = 10;
+		int requestCount = userCount * historyPerUser;
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		for (int i = 0; i < requestCount; i++) {
+			long userId = i % userCount;
+			long amount = i;
+			executorService.execute(() -> {
+				try {
+					pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		doneSignal.await();
+		executorService.shutdown();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 사용자별로 자신의 내역만 id 오름차순으로 조회되고, 전체 id는 중복되지 않아야 한다.
+		 * */
+		Set<Long> ids = new HashSet<>();
+		for (long userId = 0; userId < userCount; userId++) {
+			List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+			assertEquals(historyPerUser, histories.size());
+
+			for (int i = 0; i < histories.size(); i++) {
+				assertEquals(userId, histories.get(i).userId());
+				Assertions.assertTrue(ids.add(histories.get(i).id()));
+				if(i > 0)
+					Assertions.assertTrue(histories.get(i - 1).id() < histories.get(i).id());
+			}
+		}
+		assertEquals(requestCount, ids.size());
+		assertEquals(0, pointHistoryTable.selectAllByUserId(userCount).size());
+	}
+	@Test
+	@DisplayName("[내역 페이지 조회 검증] cursor(after)와 updateMillis 범위(from/to)로 사용자의 내역을 limit건씩 이어서 조회하는 동작에 대한 테스트")
+	void selectHistoriesPageByCursorAndUpdateMillisRange() {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - updateMillis가 1000 ~ 1009인 내역 10건과 다른 사용자의 내역을 기록한다.
+		 * */
+		long userId = 1L;
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		for (int i = 0; i < 10; i++) {
+			pointHistoryTable.insert(userId, i, TransactionType.CHARGE, 1000L + i);
+			pointHistoryTable.insert(userId + 1, i, TransactionType.USE, 1000L + i);
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - updateMillis 1002 ~ 1007 범위의 내역을 4건씩 두 페이지로 나누어 조회한다.
+		 * */
+		List<PointHistory> firstPage = pointHistoryTable.selectByUserId(userId, 0L, 1002L, 1007L, 4);
+		long cursor = firstPage.get(firstPage.size() - 1).id();
+		List<PointHistory> secondPage = pointHistoryTable.selectByUserId(userId, cursor, 1002L, 1007L, 4);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 첫 페이지는 1002 ~ 1005, 두 번째 페이지는 1006 ~ 1007의 내역이어야 한다.
+		 * */
+		assertEquals(4, firstPage.size());
+		assertEquals(2, secondPage.size());
+		for (int i = 0; i < firstPage.size(); i++) {
+			assertEquals(userId, firstPage.get(i).userId());
+			assertEquals(1002L + i, firstPage.get(i).updateMillis());
+		}
+		assertEquals(1006L, secondPage.get(0).updateMillis());
+		assertEquals(1007L, secondPage.get(1).updateMillis());
+	}
+
+	@Test
+	@DisplayName("[사용자별 cursor 조회 검증] 두 사용자의 내역이 번갈아 기록된 테이블과 한 사용자의 내역만 기록된 테이블에서, 같은 cursor로 같은 내역이 이어서 조회되는 동작에 대한 테스트")
+	void userCursorIsIndependentOfHistoryIds() {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 한 테이블에는 두 사용자의 내역 200건씩을 번갈아, 다른 테이블에는 한 사용자의 내역 200건만 기록한다(내역 id가 서로 다르다).
+		 * - updateMillis는 내역의 순서(1~200)이다.
+		 * */
+		long userId = 1L;
+		PointHistoryTable shared = new PointHistoryTable();
+		PointHistoryTable owned = new PointHistoryTable();
+		for (long i = 1; i <= 200; i++) {
+			shared.restore(userId + 1, i, TransactionType.USE, i);
+			shared.restore(userId, i, TransactionType.CHARGE, i);
+			owned.restore(userId, i, TransactionType.CHARGE, i);
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 첫 테이블에서 70건을 조회한 cursor로, 두 테이블에서 다음 페이지와 updateMillis 범위(100~110)의 페이지를 조회한다.
+		 * */
+		HistoryCursorPage first = shared.selectByUserCursor(userId, 0L, Long.MIN_VALUE, Long.MAX_VALUE, 70);
+		HistoryCursorPage sharedNext = shared.selectByUserCursor(userId, first.cursor(), Long.MIN_VALUE, Long.MAX_VALUE, 70);
+		HistoryCursorPage ownedNext = owned.selectByUserCursor(userId, first.cursor(), Long.MIN_VALUE, Long.MAX_VALUE, 70);
+		HistoryCursorPage ranged = owned.selectByUserCursor(userId, first.cursor(), 100L, 110L, 5);
+		HistoryCursorPage last = owned.selectByUserCursor(userId, 200L, Long.MIN_VALUE, Long.MAX_VALUE, 70);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 두 테이블에서 cursor 70 이후의 내역은 내역 id와 관계없이 71~140번째 내역이어야 한다.
+		 * - 범위 조회의 cursor는 마지막으로 조회한 내역(104번째)이고, 마지막 내역 이후의 조회는 cursor를 유지해야 한다.
+		 * */
+		assertEquals(70L, first.cursor());
+		assertEquals(LongStream.rangeClosed(71, 140).boxed().toList(), sharedNext.histories().stream().map(PointHistory::amount).toList());
+		assertEquals(LongStream.rangeClosed(71, 140).boxed().toList(), ownedNext.histories().stream().map(PointHistory::amount).toList());
+		assertEquals(140L, sharedNext.cursor());
+		assertEquals(140L, ownedNext.cursor());
+		assertEquals(List.of(100L, 101L, 102L, 103L, 104L), ranged.histories().stream().map(PointHistory::amount).toList());
+		assertEquals(104L, ranged.cursor());
+		assertEquals(List.of(), last.histories());
+		assertEquals(200L, last.cursor());
+		assertEquals(200L, owned.countByUserId(userId));
+	}
+
+	@Test
+	@DisplayName("[off-heap 열 저장소 검증] 내역이 여러 chunk에 나뉘어 저장될때, 사용자별 전체 조회와 cursor 페이지 조회, updateMillis 범위 조회가 같은 내역을 반환하는 동작에 대한 테스트")
+	void historiesSpanningChunksAreSelectedConsistently() throws InterruptedException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - chunk 하나에 8행만 저장하도록 하고, 2명의 사용자에게 각각 150건(건너뛰기 색인 3개)의 내역을 동시에 기록한다.
+		 * */
+		int userCount = 2;
+		int historyPerUser = 150;
+		int requestCount = userCount * historyPerUser;
+		PointHistoryTable pointHistoryTable = new PointHistoryTable(3);
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+		for (int i = 0; i < requestCount; i++) {
+			long userId = 100L + i % userCount;
+			long amount = i;
+			TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+			executorService.execute(() -> {
+				try {
+					pointHistoryTable.insert(userId, amount, type, 5000L + amount);
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		doneSignal.await();
+		executorService.shutdown();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 첫 번째 사용자의 내역을 전체 조회하고, cursor로 40건씩 이어서 조회한다.
+		 * */
+		long userId = 100L;
+		List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+		List<PointHistory> pages = new ArrayList<>();
+		long cursor = 0L;
+		while (true) {
+			List<PointHistory> page = pointHistoryTable.selectByUserId(userId, cursor, Long.MIN_VALUE, Long.MAX_VALUE, 40);
+			if(page.isEmpty())
+				break;
+			pages.addAll(page);
+			cursor = page.get(page.size() - 1).id();
+		}
+		List<PointHistory> ranged = pointHistoryTable.selectByUserId(userId, 0L, 5100L, 5199L, Integer.MAX_VALUE);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 기록한 값(금액, 유형, updateMillis)이 그대로 조회되고, 페이지 조회와 범위 조회는 전체 조회 결과와 같아야 한다.
+		 * */
+		assertEquals(historyPerUser, histories.size());
+		assertEquals(LongStream.range(0, requestCount).filter(i -> i % userCount == 0).boxed().collect(Collectors.toSet()),
+				histories.stream().map(PointHistory::amount).collect(Collectors.toSet()));
+		for (int i = 0; i < histories.size(); i++) {
+			PointHistory history = histories.get(i);
+			assertEquals(userId, history.userId());
+			assertEquals(history.amount() % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, history.type());
+			assertEquals(5000L + history.amount(), history.updateMillis());
+			if(i > 0)
+				Assertions.assertTrue(histories.get(i - 1).id() < history.id());
+		}
+		assertEquals(histories, pages);
+		assertEquals(histories.stream().filter(history -> history.updateMillis() >= 5100L && history.updateMillis() <= 5199L).toList(), ranged);
+		Assertions.assertTrue(pointHistoryTable.offHeapBytes() > 0);
+	}
+}
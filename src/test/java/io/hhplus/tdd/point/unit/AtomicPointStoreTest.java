@@ -0,0 +1,348 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointPolicyException;
+import io.hhplus.tdd.point.PointRule;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.atomic.AtomicPointStore;
+import io.hhplus.tdd.point.cache.UserPointCache;
+
+public class AtomicPointStoreTest {
+
+	private static final int THREAD_COUNT = 64;
+
+	private static final AtomicPointStore.AppliedListener NO_LISTENER = (afterPoint, updateMillis) -> {};
+
+	@Test
+	@DisplayName("[원자적 셀 선형성 검증] 64개 스레드가 동일 사용자에게 1포인트씩 5000번 충전할때, 충전마다 서로 다른 잔액(1~5000)을 받고 유실 없이 테이블에 반영되는 동작에 대한 테스트")
+	void everyChargeObservesDistinctBalanceWhenChargedConcurrently() throws InterruptedException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 충전 결과는 CAS 순서대로 1씩 증가하므로, 선형화 가능하다면 모든 결과가 서로 달라야 한다.
+		 * */
+		long userId = 7000L;
+		int requestCount = 5000;
+		UserPointTable userPointTable = new UserPointTable();
+		AtomicPointStore atomicPointStore = new AtomicPointStore(new UserPointCache(userPointTable, true, 1000, 60000L), 4, 100000);
+		Set<Long> observedPoints = ConcurrentHashMap.newKeySet();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		runConcurrently(requestCount, () -> observedPoints.add(atomicPointStore.apply(userId, TransactionType.CHARGE, 1L, NO_LISTENER).point()));
+		atomicPointStore.flush();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 반영되지 않은 잔액 없이 최종 잔액이 테이블에 기록되어야 한다.
+		 * */
+		Set<Long> expectedPoints = LongStream.rangeClosed(1, requestCount).boxed().collect(Collectors.toSet());
+		assertEquals(expectedPoints, observedPoints);
+		assertEquals(requestCount, atomicPointStore.selectById(userId).point());
+		assertEquals(requestCount, userPointTable.selectById(userId).point());
+		assertEquals(0, atomicPointStore.dirtyCount());
+	}
+
+	@Test
+	@DisplayName("[원자적 셀 정책 검증] 동시 충전/사용이 최대 포인트와 최소 포인트에 도달할때, 정책을 넘는 요청만 락 없이 거절되는 동작에 대한 테스트")
+	void chargesAndUsesAreRejectedAtomicallyAtPointBoundaries() throws InterruptedException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 7포인트 충전 3000번은 최대 포인트(10000)를 넘기므로 일부만 성공해야 한다.
+		 * */
+		long userId = 7001L;
+		AtomicPointStore atomicPointStore = new AtomicPointStore(new UserPointCache(new UserPointTable(), true, 1000, 60000L), 4, 100000);
+		AtomicInteger chargedCount = new AtomicInteger();
+		AtomicInteger usedCount = new AtomicInteger();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 최대 포인트까지 충전한 뒤, 3포인트 사용 5000번으로 잔액을 최소 포인트까지 사용한다.
+		 * */
+		runConcurrently(3000, () -> {
+			atomicPointStore.apply(userId, TransactionType.CHARGE, 7L, NO_LISTENER);
+			chargedCount.getAndIncrement();
+		});
+		long chargedPoint = atomicPointStore.selectById(userId).point();
+
+		runConcurrently(5000, () -> {
+			atomicPointStore.apply(userId, TransactionType.USE, 3L, NO_LISTENER);
+			usedCount.getAndIncrement();
+		});
+		long usedPoint = atomicPointStore.selectById(userId).point();
+		atomicPointStore.flush();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 성공한 요청만 잔액에 반영되고, 거절된 요청은 정책을 넘는 요청이어야 한다.
+		 * */
+		assertEquals(7L * chargedCount.get(), chargedPoint);
+		Assertions.assertTrue(chargedPoint <= PointRule.MAX_POINT && PointRule.MAX_POINT - chargedPoint < 7L);
+		assertEquals(chargedPoint - 3L * usedCount.get(), usedPoint);
+		Assertions.assertTrue(usedPoint >= PointRule.MIN_POINT && usedPoint < 3L);
+	}
+
+	@Test
+	@DisplayName("[원자적 셀 선형성 검증] 여러 사용자에게 임의의 충전/사용이 동시에 발생할때, 사용자별 최종 잔액이 성공한 요청의 합과 같고 모든 결과가 정책 범위 안에 있는 동작에 대한 테스트")
+	void balancesEqualSumOfSuccessfulOperationsWhenMixedConcurrently() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - user1(100포인트)과 겹치지 않도록 7100번부터의 사용자를 사용한다.
+		 * */
+		long baseUserId = 7100L;
+		int userCount = 8;
+		int requestCount = 20000;
+		long initialPoint = 5000L;
+		UserPointTable userPointTable = new UserPointTable();
+		AtomicPointStore atomicPointStore = new AtomicPointStore(new UserPointCache(userPointTable, true, 1000, 60000L), 4, 100000);
+		for (int i = 0; i < userCount; i++) {
+			atomicPointStore.apply(baseUserId + i, TransactionType.CHARGE, initialPoint, NO_LISTENER);
+		}
+		AtomicLong[] expectedPoints = new AtomicLong[userCount];
+		for (int i = 0; i < userCount; i++) {
+			expectedPoints[i] = new AtomicLong(initialPoint);
+		}
+		List<Long> outOfRangePoints = new CopyOnWriteArrayList<>();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 사용자와 충전/사용, 금액(1~500)을 임의로 골라 요청하고, 성공한 요청의 증감만 누적한다.
+		 * */
+		runConcurrently(requestCount, () -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int index = random.nextInt(userCount);
+			boolean charge = random.nextBoolean();
+			long amount = random.nextLong(1L, 501L);
+
+			long afterPoint = atomicPointStore.apply(baseUserId + index, charge ? TransactionType.CHARGE : TransactionType.USE, amount, NO_LISTENER).point();
+			expectedPoints[index].addAndGet(charge ? amount : -amount);
+			if(afterPoint < PointRule.MIN_POINT || afterPoint > PointRule.MAX_POINT)
+				outOfRangePoints.add(afterPoint);
+		});
+		atomicPointStore.flush();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * */
+		Assertions.assertTrue(outOfRangePoints.isEmpty());
+		for (int i = 0; i < userCount; i++) {
+			assertEquals(expectedPoints[i].get(), atomicPointStore.selectById(baseUserId + i).point());
+			assertEquals(expectedPoints[i].get(), userPointTable.selectById(baseUserId + i).point());
+		}
+	}
+
+	@Test
+	@DisplayName("[원자적 셀 내역 순서 검증] 64개 스레드가 동일 사용자에게 1포인트씩 5000번 충전할때, 반영 후 처리(내역 기록)가 잔액이 바뀐 순서(1~5000)대로 반영 결과와 같은 시각으로 실행되는 동작에 대한 테스트")
+	void listenersRunInBalanceOrderWhenChargedConcurrently() throws InterruptedException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - listener가 CAS 순서대로 실행된다면 기록된 잔액은 1부터 1씩 증가해야 한다.
+		 * */
+		long userId = 7200L;
+		int requestCount = 5000;
+		AtomicPointStore atomicPointStore = new AtomicPointStore(new UserPointCache(new UserPointTable(), true, 1000, 60000L), 4, 100000);
+		List<Long> recordedPoints = Collections.synchronizedList(new ArrayList<>());
+		Map<Long, Long> recordedMillis = new ConcurrentHashMap<>();
+		Map<Long, Long> appliedMillis = new ConcurrentHashMap<>();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		runConcurrently(requestCount, () -> {
+			UserPoint userPoint = atomicPointStore.apply(userId, TransactionType.CHARGE, 1L, (afterPoint, updateMillis) -> {
+				recordedPoints.add(afterPoint);
+				recordedMillis.put(afterPoint, updateMillis);
+			});
+			appliedMillis.put(userPoint.point(), userPoint.updateMillis());
+		});
+		atomicPointStore.awaitRecorded(userId);
+		atomicPointStore.flush();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 기록된 잔액은 잔액이 바뀐 순서대로이고, 기록된 반영 시각은 반영 결과의 시각과 같아야 한다.
+		 * */
+		assertEquals(LongStream.rangeClosed(1, requestCount).boxed().toList(), recordedPoints);
+		assertEquals(appliedMillis, recordedMillis);
+	}
+
+	@Test
+	@DisplayName("[원자적 셀 내역 순서 검증] 앞선 반영 후 처리(내역 기록)가 지연될때, 이후의 충전은 기다리지 않고 반영되며 지연이 풀리면 반영 후 처리가 잔액이 바뀐 순서대로 이어지는 동작에 대한 테스트")
+	void slowListenerDoesNotBlockLaterCharges() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 첫 충전의 listener는 latch가 열릴 때까지 대기한다(쓰기 지연 버퍼가 가득 찬 상황).
+		 * */
+		long userId = 7250L;
+		int requestCount = 1000;
+		AtomicPointStore atomicPointStore = new AtomicPointStore(new UserPointCache(new UserPointTable(), true, 1000, 60000L), 4, 100000);
+		List<Long> recordedPoints = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread first = new Thread(() -> {
+			try {
+				atomicPointStore.apply(userId, TransactionType.CHARGE, 1L, (afterPoint, updateMillis) -> {
+					blocked.countDown();
+					try {
+						release.await();
+					} catch(InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					recordedPoints.add(afterPoint);
+				});
+			} catch(PointPolicyException ignored) {
+
+			}
+		});
+		first.start();
+		blocked.await();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 첫 listener가 대기하는 동안 64개 스레드가 1포인트씩 1000번 충전한 뒤, latch를 열고 반영 후 처리를 기다린다.
+		 * */
+		runConcurrently(requestCount, () -> atomicPointStore.apply(userId, TransactionType.CHARGE, 1L, (afterPoint, updateMillis) -> recordedPoints.add(afterPoint)));
+		long pointWhileBlocked = atomicPointStore.selectById(userId).point();
+		int recordedWhileBlocked = recordedPoints.size();
+		release.countDown();
+		first.join();
+		atomicPointStore.awaitRecorded(userId);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 첫 listener가 대기하는 동안 모든 충전이 반영되었고, 반영 후 처리는 대기가 풀린 뒤 잔액 순서(1~1001)대로 실행되어야 한다.
+		 * */
+		assertEquals(requestCount + 1L, pointWhileBlocked);
+		assertEquals(0, recordedWhileBlocked);
+		assertEquals(LongStream.rangeClosed(1, requestCount + 1L).boxed().toList(), recordedPoints);
+	}
+
+	@Test
+	@DisplayName("[원자적 셀 제거 검증] 최대 셀 수(10)보다 많은 30명의 사용자가 충전할때, 테이블에 반영된 셀을 제거하여 셀 수를 제한하고 제거된 사용자의 잔액은 테이블의 잔액으로 이어지는 동작에 대한 테스트")
+	void evictsFlushedCellsWhenCellCountExceedsMaxCells() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		long baseUserId = 7300L;
+		int userCount = 30;
+		int maxCells = 10;
+		UserPointTable userPointTable = new UserPointTable();
+		AtomicPointStore atomicPointStore = new AtomicPointStore(new UserPointCache(userPointTable, true, 1000, 60000L), 4, maxCells);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 30명의 사용자에게 100포인트씩 충전하고, 모든 셀이 테이블에 반영된 뒤 새로운 사용자를 충전하여 제거를 시작한다.
+		 * - 이후 모든 사용자에게 한 번 더 충전한다.
+		 * */
+		for (int i = 0; i < userCount; i++) {
+			atomicPointStore.apply(baseUserId + i, TransactionType.CHARGE, 100L, NO_LISTENER);
+		}
+		awaitUntil(() -> atomicPointStore.dirtyCount() == 0);
+		atomicPointStore.apply(baseUserId + userCount, TransactionType.CHARGE, 100L, NO_LISTENER);
+		awaitUntil(() -> atomicPointStore.cellCount() <= maxCells);
+		int evictedCellCount = atomicPointStore.cellCount();
+
+		for (int i = 0; i < userCount; i++) {
+			atomicPointStore.apply(baseUserId + i, TransactionType.CHARGE, 100L, NO_LISTENER);
+		}
+		atomicPointStore.flush();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 제거된 사용자도 잔액을 잃지 않고 200포인트가 되어야 한다.
+		 * */
+		Assertions.assertTrue(evictedCellCount <= maxCells);
+		for (int i = 0; i < userCount; i++) {
+			assertEquals(200L, atomicPointStore.selectById(baseUserId + i).point());
+			assertEquals(200L, userPointTable.selectById(baseUserId + i).point());
+		}
+	}
+
+	//조건을 만족할 때까지 최대 10초 동안 기다린다
+	private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(10L);
+		}
+	}
+
+	/*
+	 * requestCount건의 요청을 THREAD_COUNT개의 스레드에서 동시에 실행한다. 정책에 의해 거절된 요청은 무시한다.
+	 * */
+	private void runConcurrently(int requestCount, PointCommand command) throws InterruptedException {
+		CountDownLatch startSignal = new CountDownLatch(1);
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+		for (int i = 0; i < requestCount; i++) {
+			executorService.execute(() -> {
+				try {
+					startSignal.await();
+					command.run();
+				} catch(PointPolicyException | InterruptedException ignored) {
+
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+
+		startSignal.countDown();
+		doneSignal.await();
+		executorService.shutdown();
+	}
+
+	@FunctionalInterface
+	private interface PointCommand {
+		void run() throws PointPolicyException;
+	}
+}
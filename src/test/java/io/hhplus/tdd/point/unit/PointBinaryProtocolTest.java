@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PointBinaryProtocolTest {
+
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	@Autowired
+	private PointService pointService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	@DisplayName("[binary 형식 검증] binary 형식으로 충전/사용/조회할때, JSON과 같은 결과를 binary로 응답하고 Accept가 없다면 JSON으로 응답하는 동작에 대한 테스트")
+	void binaryRequestsReturnSameResultsAsJson() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		long userId = 9400L;
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 1000포인트 충전, 300포인트 사용을 binary 형식으로 요청하고, 포인트와 내역을 binary와 JSON으로 각각 조회한다.
+		 * */
+		HttpResponse<byte[]> charged = send("PATCH", "/point/" + userId + "/charge", amount(1000L));
+		HttpResponse<byte[]> used = send("PATCH", "/point/" + userId + "/use", amount(300L));
+		HttpResponse<byte[]> point = send("GET", "/point/" + userId, null);
+		HttpResponse<byte[]> histories = send("GET", "/point/" + userId + "/histories", null);
+		HttpResponse<String> json = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userId + "/histories")).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - binary로 응답한 포인트와 내역이 저장된 포인트/내역과 같고, Accept가 없는 요청은 JSON으로 같은 내역을 응답해야 한다.
+		 * */
+		assertEquals(PointBinaryCodec.MEDIA_TYPE, charged.headers().firstValue("Content-Type").orElseThrow());
+		assertEquals(1000L, PointBinaryCodec.getUserPoint(ByteBuffer.wrap(charged.body())).point());
+		assertEquals(700L, PointBinaryCodec.getUserPoint(ByteBuffer.wrap(used.body())).point());
+		assertEquals(pointService.point(userId), PointBinaryCodec.getUserPoint(ByteBuffer.wrap(point.body())));
+		assertEquals(PointBinaryCodec.USER_POINT_BYTES, point.body().length);
+
+		List<PointHistory> expected = pointService.history(userId);
+		assertEquals(2, expected.size());
+		assertEquals(expected, PointBinaryCodec.getHistories(ByteBuffer.wrap(histories.body())));
+		Assertions.assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+		assertEquals(expected, List.of(objectMapper.readValue(json.body(), PointHistory[].class)));
+	}
+
+	@Test
+	@DisplayName("[binary 일괄 처리 검증] binary 형식으로 일괄 처리와 잘못된 요청을 보낼때, 연산별 결과와 실패 사유, 에러 응답을 binary로 응답하는 동작에 대한 테스트")
+	void binaryBatchAndErrors() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 500포인트 충전, 200포인트 사용, 잔고를 초과하는 1000포인트 사용 연산을 binary 형식으로 만든다.
+		 * */
+		long userId = 9401L;
+		List<PointOperation> operations = List.of(
+				new PointOperation(userId, TransactionType.CHARGE, 500L),
+				new PointOperation(userId, TransactionType.USE, 200L),
+				new PointOperation(userId, TransactionType.USE, 1000L)
+		);
+		ByteBuffer body = ByteBuffer.allocate(PointBinaryCodec.operationsSize(operations));
+		PointBinaryCodec.putOperations(body, operations);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 일괄 처리, 정책에 어긋나는 충전(음수 금액), 본문이 모자란 충전을 binary 형식으로 요청한다.
+		 * */
+		HttpResponse<byte[]> batch = send("POST", "/point/batch", body.array());
+		HttpResponse<byte[]> rejected = send("PATCH", "/point/" + userId + "/charge", amount(-1L));
+		HttpResponse<byte[]> truncated = send("PATCH", "/point/" + userId + "/charge", new byte[4]);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 앞의 두 연산은 성공, 마지막 연산은 실패 사유와 함께 실패하고, 정책 위반은 400 ErrorResponse, 잘못된 본문은 400이어야 한다.
+		 * */
+		List<PointOperationResult> results = PointBinaryCodec.getResults(ByteBuffer.wrap(batch.body()));
+		assertEquals(200, batch.statusCode());
+		assertEquals(3, results.size());
+		assertEquals(500L, results.get(0).userPoint().point());
+		assertEquals(300L, results.get(1).userPoint().point());
+		Assertions.assertFalse(results.get(2).success());
+		Assertions.assertFalse(results.get(2).error().isEmpty());
+
+		assertEquals(400, rejected.statusCode());
+		ErrorResponse error = PointBinaryCodec.getError(ByteBuffer.wrap(rejected.body()));
+		assertEquals("400", error.code());
+		Assertions.assertFalse(error.message().isEmpty());
+		assertEquals(400, truncated.statusCode());
+		assertEquals(300L, pointService.point(userId).point());
+	}
+
+	private HttpResponse<byte[]> send(String method, String path, byte[] body) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+				.header("Content-Type", PointBinaryCodec.MEDIA_TYPE)
+				.header("Accept", PointBinaryCodec.MEDIA_TYPE)
+				.build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private static byte[] amount(long amount) {
+		return ByteBuffer.allocate(PointBinaryCodec.AMOUNT_BYTES).putLong(amount).array();
+	}
+}
@@ -0,0 +1,139 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.hhplus.tdd.VirtualThreads;
+import io.hhplus.tdd.point.PointService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/*
+ * 가상 스레드 실행 방식에 대한 부하 테스트
+ * Java 21 이상에서만 실행되며, ./gradlew test -PtestJavaVersion=21 로 실행할 수 있다.
+ * */
+@SpringBootTest
+public class PointExecutorLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(PointExecutorLoadTest.class);
+
+	//Tomcat의 기본 최대 요청 처리 스레드 수(server.tomcat.threads.max)
+	private static final int PLATFORM_THREADS = 200;
+
+	@Autowired
+	private PointService pointService;
+
+	@Test
+	@DisplayName("[가상 스레드 부하 검증] 서로 다른 사용자의 충전 요청 2000건이 동시에 발생할때, 가상 스레드가 플랫폼 스레드 풀(200)보다 빠르게 처리하는 동작에 대한 테스트")
+	void virtualThreadsSustainMoreConcurrentRequestsThanPlatformThreadPool() throws InterruptedException {
+		Assumptions.assumeTrue(VirtualThreads.isSupported(), "가상 스레드는 Java 21 이상에서만 검증할 수 있습니다.");
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 요청마다 서로 다른 사용자를 사용하여 사용자 락 대기 없이 throttle() 대기만 발생하도록 한다.
+		 * */
+		int requestCount = 2000;
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 동일한 요청을 플랫폼 스레드 풀과 가상 스레드 실행기에서 각각 처리하고 처리 시간을 측정한다.
+		 * */
+		long platformMillis = measureChargeMillis(Executors.newFixedThreadPool(PLATFORM_THREADS), 10_000L, requestCount, requestCount);
+		long virtualMillis = measureChargeMillis(VirtualThreads.newVirtualThreadPerTaskExecutor(), 20_000L, requestCount, requestCount);
+
+		log.info("동시 요청 {}건 처리 시간 - 플랫폼 스레드({}개) : {}ms, 가상 스레드 : {}ms", requestCount, PLATFORM_THREADS, platformMillis, virtualMillis);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 플랫폼 스레드는 풀 크기만큼만 동시에 대기할 수 있으므로 가상 스레드보다 느려야 한다.
+		 * */
+		Assertions.assertTrue(virtualMillis < platformMillis);
+	}
+
+	@Test
+	@DisplayName("[가상 스레드 pinning 검증] 동일 사용자의 충전 요청이 사용자 락에서 경합할때, 캐리어 스레드가 고정(pinning)되지 않는 동작에 대한 테스트")
+	void virtualThreadsAreNotPinnedWhileWaitingForUserLock() throws Exception {
+		Assumptions.assumeTrue(VirtualThreads.isSupported(), "가상 스레드는 Java 21 이상에서만 검증할 수 있습니다.");
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 모든 pinning 이벤트를 기록하도록 JFR 기록을 시작한다.
+		 * */
+		Recording recording = new Recording();
+		recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+		recording.start();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 10명의 사용자에게 각각 5건의 충전을 동시에 요청하여 사용자 락 경합을 발생시킨다.
+		 * */
+		measureChargeMillis(VirtualThreads.newVirtualThreadPerTaskExecutor(), 30_000L, 50, 10);
+
+		recording.stop();
+		Path dump = Files.createTempFile("virtual-thread-pinned", ".jfr");
+		recording.dump(dump);
+		recording.close();
+		List<RecordedEvent> pinnedEvents = RecordingFile.readAllEvents(dump);
+		Files.deleteIfExists(dump);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 사용자 락 대기, throttle() 대기 모두 캐리어 스레드를 고정하지 않아야 한다.
+		 * */
+		pinnedEvents.forEach(event -> log.info("pinning 발생 : {}", event));
+		assertEquals(0, pinnedEvents.size());
+	}
+
+	/*
+	 * requestCount건의 충전 요청을 userCount명의 사용자에게 나누어 executorService에서 동시에 처리하고, 처리 시간(ms)을 반환한다.
+	 * */
+	private long measureChargeMillis(ExecutorService executorService, long baseUserId, int requestCount, int userCount) throws InterruptedException {
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		AtomicInteger failCount = new AtomicInteger();
+
+		long startTime = System.nanoTime();
+		for (int i = 0; i < requestCount; i++) {
+			long userId = baseUserId + (i % userCount);
+			executorService.execute(() -> {
+				try {
+					pointService.charge(userId, 10L);
+				} catch(Exception e) {
+					failCount.getAndIncrement();
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+
+		doneSignal.await();
+		long endTime = System.nanoTime();
+		executorService.shutdown();
+
+		assertEquals(0, failCount.get());
+		return (endTime - startTime) / 1_000_000L;
+	}
+}
@@ -0,0 +1,174 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+import io.hhplus.tdd.point.export.ExportFormat;
+import io.hhplus.tdd.point.export.PointHistoryExporter;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PointExportTest {
+
+	private static final Logger log = LoggerFactory.getLogger(PointExportTest.class);
+
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	@Autowired
+	private PointService pointService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	@DisplayName("[내역 내보내기 검증] 여러 유저의 내역을 ndjson과 binary로 내보낼때, 유저별 내역 조회 결과와 같은 내역이 같은 순서로 기록되는 동작에 대한 테스트")
+	void exportWritesSameHistoriesAsHistoryApi() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 두 유저에게 충전/사용 내역을 남긴다.
+		 * */
+		long[] userIds = {9300L, 9301L};
+		for (long userId : userIds) {
+			pointService.charge(userId, 1000L);
+			pointService.use(userId, 300L);
+			pointService.charge(userId, 50L);
+		}
+		List<PointHistory> expected = new ArrayList<>();
+		for (long userId : userIds) {
+			expected.addAll(pointService.history(userId));
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		HttpResponse<String> ndjson = httpClient.send(request("/point/histories/export?users=9300,9301"), HttpResponse.BodyHandlers.ofString());
+		HttpResponse<byte[]> binary = httpClient.send(request("/point/histories/export?users=9300,9301&format=binary"), HttpResponse.BodyHandlers.ofByteArray());
+		HttpResponse<String> unsupported = httpClient.send(request("/point/histories/export?users=9300&format=csv"), HttpResponse.BodyHandlers.ofString());
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 두 형식 모두 유저 순서, 유저별 id 순서로 모든 내역이 기록되고, 지원하지 않는 형식은 400으로 응답해야 한다.
+		 * */
+		List<PointHistory> fromNdjson = new ArrayList<>();
+		for (String line : ndjson.body().split("\n")) {
+			fromNdjson.add(objectMapper.readValue(line, PointHistory.class));
+		}
+		List<PointHistory> fromBinary = new ArrayList<>();
+		ByteBuffer buffer = ByteBuffer.wrap(binary.body());
+		while (buffer.hasRemaining()) {
+			fromBinary.add(new PointHistory(buffer.getLong(), buffer.getLong(), buffer.getLong(), TransactionType.values()[buffer.get()], buffer.getLong()));
+		}
+
+		assertEquals(ExportFormat.NDJSON.mediaType(), ndjson.headers().firstValue("Content-Type").orElseThrow());
+		assertEquals(expected, fromNdjson);
+		assertEquals(expected, fromBinary);
+		assertEquals(400, unsupported.statusCode());
+	}
+
+	@Test
+	@DisplayName("[내역 내보내기 메모리 검증] 200만 건의 내역을 내보낼때, 내역 수와 관계없이 한 페이지 크기의 버퍼 하나를 재사용하여 기록하는 동작에 대한 테스트")
+	void exportWritesBoundedPagesFromReusedBuffer() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 1000명의 유저에게 2000건씩, 200만 건의 내역을 남긴다.
+		 * */
+		int userCount = 1000;
+		int perUser = 2000;
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		for (int i = 0; i < perUser; i++) {
+			for (long userId = 1; userId <= userCount; userId++) {
+				pointHistoryTable.restore(userId, i, TransactionType.CHARGE, i);
+			}
+		}
+		PointHistoryExporter exporter = new PointHistoryExporter(pointHistoryTable, new PointHistoryWriter(pointHistoryTable, false, 1, 1, 1), objectMapper);
+		long totalRows = (long) userCount * perUser;
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 출력을 버리는 스트림으로 내보내면서, 쓰기마다 크기와 기록한 버퍼를 확인한다.
+		 * */
+		WriteRecordingStream out = new WriteRecordingStream();
+		long rows = exporter.exportAll(ExportFormat.BINARY, out);
+		log.info("내역 {}건 내보내기 - 쓰기 {}회, 최대 쓰기 {}bytes, 버퍼 {}개", rows, out.writes, out.maxWrite, out.buffers.size());
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 모든 내역을 내보내고, 쓰기는 유저마다 페이지 수(2000건 / 1024건 = 2회)만큼 한 페이지 이하의 크기로 이루어지며,
+		 *   모든 쓰기가 같은 버퍼 하나에서 기록되어야 한다(내보내는 내역 수와 관계없이 버퍼 크기만큼의 메모리만 사용).
+		 * */
+		long pagesPerUser = (perUser + PointHistoryExporter.PAGE_ROWS - 1) / PointHistoryExporter.PAGE_ROWS;
+		assertEquals(totalRows, rows);
+		assertEquals(totalRows * PointBinaryCodec.HISTORY_BYTES, out.written);
+		assertEquals(userCount * pagesPerUser, out.writes);
+		Assertions.assertTrue(out.maxWrite <= PointHistoryExporter.PAGE_ROWS * PointBinaryCodec.HISTORY_BYTES, "최대 쓰기 " + out.maxWrite + "bytes");
+		assertEquals(1, out.buffers.size());
+	}
+
+	private HttpRequest request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+	}
+
+	//기록된 바이트 수와 쓰기 횟수, 가장 큰 쓰기의 크기, 기록한 버퍼(배열 객체)를 세고 버린다
+	private static final class WriteRecordingStream extends OutputStream {
+		private final Set<byte[]> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private long written;
+
+		private long writes;
+
+		private int maxWrite;
+
+		@Override
+		public void write(int b) {
+			written++;
+			writes++;
+			maxWrite = Math.max(maxWrite, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			written += len;
+			writes++;
+			maxWrite = Math.max(maxWrite, len);
+			buffers.add(b);
+		}
+	}
+}
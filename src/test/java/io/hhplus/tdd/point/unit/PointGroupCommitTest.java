@@ -0,0 +1,127 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.hhplus.tdd.point.PointPolicyException;
+import io.hhplus.tdd.point.PointRule;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * 그룹 커밋을 사용하는 설정으로 동일 사용자의 동시 충전/사용 요청을 검증한다.
+ * */
+@SpringBootTest(properties = {"point.group-commit.enabled=true", "point.group-commit.window-millis=20"})
+public class PointGroupCommitTest {
+
+	private static final Logger log = LoggerFactory.getLogger(PointGroupCommitTest.class);
+
+	@Autowired
+	private PointService pointService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	@DisplayName("[그룹 커밋 검증] 동일 사용자의 충전 요청 100건이 동시에 발생할때, 요청마다 자신의 충전 결과와 내역을 받고 잔액 기록은 모아서 처리되는 동작에 대한 테스트")
+	void concurrentChargesOfSameUserAreCoalescedIntoGroupCommits() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 요청마다 잔액을 기록하면 insertOrUpdate의 지연(평균 150ms)만으로 약 15초가 걸린다.
+		 * - 잔액 기록 횟수는 table.write 단계의 기록 수로 확인한다.
+		 * */
+		long userId = 6000L;
+		int requestCount = 100;
+		long chargePoint = 10L;
+		long tableWrites = tableWriteCount();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 동일 사용자에게 충전 요청을 동시에 적재하고 모든 결과를 기다린다.
+		 * */
+		long startTime = System.nanoTime();
+		List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+		for (int i = 0; i < requestCount; i++) {
+			futures.add(pointService.chargeAsync(userId, chargePoint));
+		}
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+		long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000L;
+		long groupCommits = tableWriteCount() - tableWrites;
+
+		log.info("그룹 커밋 충전 {}건 처리 시간 : {}ms, 잔액 기록 {}회", requestCount, elapsedMillis, groupCommits);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 요청마다 서로 다른 충전 후 포인트(10, 20, ..., 1000)를 받고, 내역은 요청 수만큼 기록되어야 한다.
+		 * - 잔액은 그룹마다 한 번만 기록되므로, 잔액 기록 횟수는 요청 수의 절반보다 적어야 한다(그룹 하나에 평균 2건 이상).
+		 * */
+		Set<Long> actualPoints = new TreeSet<>();
+		for (CompletableFuture<UserPoint> future : futures) {
+			actualPoints.add(future.get().point());
+		}
+		Set<Long> expectedPoints = LongStream.rangeClosed(1, requestCount).map(i -> i * chargePoint).boxed().collect(Collectors.toCollection(TreeSet::new));
+
+		assertEquals(expectedPoints, actualPoints);
+		assertEquals(requestCount * chargePoint, pointService.point(userId).point());
+		assertEquals(requestCount, pointService.history(userId).size());
+		Assertions.assertTrue(groupCommits >= 1 && groupCommits < requestCount / 2, "잔액 기록 " + groupCommits + "회");
+	}
+
+	@Test
+	@DisplayName("[그룹 커밋 검증] 같은 그룹에 담긴 사용 요청 중 잔액을 초과하는 요청만 정책 위반으로 실패하고, 나머지 요청은 순서대로 반영되는 동작에 대한 테스트")
+	void onlyOperationViolatingPolicyFailsInGroupCommit() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 100포인트를 충전한 사용자에게 같은 그룹 안에서 60, 60, 30 포인트 사용을 요청한다.
+		 * */
+		long userId = 6001L;
+		pointService.charge(userId, 100L);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		CompletableFuture<UserPoint> first = pointService.useAsync(userId, 60L);
+		CompletableFuture<UserPoint> second = pointService.useAsync(userId, 60L);
+		CompletableFuture<UserPoint> third = pointService.useAsync(userId, 30L);
+		CompletableFuture<UserPoint> overMax = pointService.chargeAsync(userId, PointRule.MAX_POINT + 1L);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 두 번째 사용과 최대 포인트를 초과한 충전만 실패하고, 잔액은 10포인트가 되어야 한다.
+		 * */
+		assertEquals(40L, first.get().point());
+		assertEquals(PointPolicyException.class, second.handle((userPoint, e) -> e.getClass()).get());
+		assertEquals(10L, third.get().point());
+		assertEquals(PointPolicyException.class, overMax.handle((userPoint, e) -> e.getClass()).get());
+		assertEquals(10L, pointService.point(userId).point());
+	}
+
+	private long tableWriteCount() {
+		return (long) meterRegistry.get("point.stage").tag("stage", "table.write").functionTimer().count();
+	}
+}
@@ -0,0 +1,218 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.hhplus.tdd.point.PointPolicyException;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.idempotency.IdempotencyKeyConflictException;
+
+@SpringBootTest
+public class PointIdempotencyTest {
+
+	@Autowired
+	private PointService pointService;
+
+	@Test
+	@DisplayName("[멱등 키 검증] 같은 멱등 키의 충전 요청 20건이 동시에 발생하고 이후 재시도될때, 한 번만 충전되고 모든 요청이 같은 결과를 받는 동작에 대한 테스트")
+	void concurrentAndRetriedRequestsWithSameKeyAreAppliedOnce() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		long userId = 9000L;
+		long chargePoint = 500L;
+		int requestCount = 20;
+		String idempotencyKey = "charge-9000-1";
+		List<UserPoint> results = new CopyOnWriteArrayList<>();
+		CountDownLatch startSignal = new CountDownLatch(1);
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 같은 키의 충전 요청을 동시에 보내고, 모두 완료된 뒤 같은 키로 한 번 더 요청(재시도)한다.
+		 * */
+		for (int i = 0; i < requestCount; i++) {
+			executorService.execute(() -> {
+				try {
+					startSignal.await();
+					results.add(pointService.charge(userId, chargePoint, idempotencyKey));
+				} catch(Exception ignored) {
+
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		startSignal.countDown();
+		doneSignal.await();
+		executorService.shutdown();
+		UserPoint retried = pointService.charge(userId, chargePoint, idempotencyKey);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 모든 요청이 같은 결과(최초 충전의 결과)를 받고, 포인트와 내역은 한 번만 반영되어야 한다.
+		 * */
+		assertEquals(requestCount, results.size());
+		for (UserPoint result : results) {
+			assertEquals(results.get(0), result);
+		}
+		assertEquals(results.get(0), retried);
+		assertEquals(chargePoint, pointService.point(userId).point());
+		assertEquals(1, pointService.history(userId).size());
+	}
+
+	@Test
+	@DisplayName("[멱등 키 검증] 같은 멱등 키로 금액이 다른 요청을 보내면 거절되고, 정책 위반 결과는 재시도에도 같은 예외로 반환되며, 키가 없는 요청은 매번 처리되는 동작에 대한 테스트")
+	void conflictingAndFailedRequestsWithSameKeyAreNotReexecuted() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		long userId = 9001L;
+		pointService.charge(userId, 100L, "charge-9001-1");
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 같은 키로 금액이 다른 충전, 잔액을 초과하는 사용과 그 재시도, 키가 없는 충전 두 번을 요청한다.
+		 * */
+		Class<?> conflict = exceptionOf(() -> pointService.charge(userId, 200L, "charge-9001-1"));
+		Class<?> firstOverUse = exceptionOf(() -> pointService.use(userId, 1000L, "use-9001-1"));
+		pointService.charge(userId, 100L);
+		Class<?> retriedOverUse = exceptionOf(() -> pointService.use(userId, 1000L, "use-9001-1"));
+		pointService.charge(userId, 100L, null);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 잔액이 충분해진 뒤의 재시도도 최초 요청의 결과(정책 위반)를 반환하고, 키가 없는 충전만 모두 반영되어야 한다.
+		 * */
+		assertEquals(IdempotencyKeyConflictException.class, conflict);
+		assertEquals(PointPolicyException.class, firstOverUse);
+		assertEquals(PointPolicyException.class, retriedOverUse);
+		assertEquals(300L, pointService.point(userId).point());
+		assertEquals(3, pointService.history(userId).size());
+	}
+
+	@Test
+	@DisplayName("[멱등 키 캐시 검증] 최대 크기를 넘거나 만료 시간이 지난 키는 제거되어, 같은 키의 요청이 다시 처리되는 동작에 대한 테스트")
+	void keysAreEvictedBySizeAndTtl() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 구간(16개)마다 키를 하나씩만 보관하고, 200ms 뒤에 만료되는 캐시를 구성한다.
+		 * */
+		IdempotencyCache idempotencyCache = new IdempotencyCache(16, 200L);
+		int[] executions = new int[1];
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 1000개의 키를 요청한 뒤, 같은 키를 즉시 한 번, 만료 후 한 번 더 요청한다.
+		 * */
+		for (int i = 0; i < 1000; i++) {
+			execute(idempotencyCache, "key-" + i, executions);
+		}
+		long size = idempotencyCache.size();
+		execute(idempotencyCache, "key-ttl", executions);
+		execute(idempotencyCache, "key-ttl", executions);
+		Thread.sleep(300L);
+		execute(idempotencyCache, "key-ttl", executions);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 보관된 키는 최대 크기를 넘지 않고, 만료 전의 재요청만 다시 처리되지 않아야 한다.
+		 * */
+		Assertions.assertTrue(size <= 16);
+		assertEquals(1002, executions[0]);
+		assertEquals(1, idempotencyCache.replayCount());
+	}
+
+	@Test
+	@DisplayName("[멱등 키 캐시 검증] 처리 중인 키가 있는 동안 최대 크기를 넘는 키가 요청될때, 처리 중인 키는 제거되지 않아 재시도가 다시 처리되지 않는 동작에 대한 테스트")
+	void inFlightKeysAreNotEvictedBySize() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 구간(16개)마다 키를 하나씩만 보관하는 캐시에서, 완료되지 않는 결과로 키 하나의 처리를 시작한다.
+		 * */
+		IdempotencyCache idempotencyCache = new IdempotencyCache(16, 60000L);
+		CompletableFuture<UserPoint> pending = new CompletableFuture<>();
+		int[] inFlightExecutions = new int[1];
+		int[] executions = new int[1];
+		CompletableFuture<UserPoint> first = idempotencyCache.execute(9003L, TransactionType.CHARGE, 1L, "key-in-flight", () -> {
+			inFlightExecutions[0]++;
+			return pending;
+		});
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 처리 중에 1000개의 키를 요청하여 LRU 제거를 일으킨 뒤, 처리 중인 키를 재시도하고 처리를 완료한다.
+		 * */
+		for (int i = 0; i < 1000; i++) {
+			execute(idempotencyCache, "key-" + i, executions);
+		}
+		CompletableFuture<UserPoint> retried = idempotencyCache.execute(9003L, TransactionType.CHARGE, 1L, "key-in-flight", () -> {
+			inFlightExecutions[0]++;
+			return CompletableFuture.completedFuture(new UserPoint(9003L, 2L, 0L));
+		});
+		pending.complete(new UserPoint(9003L, 1L, 0L));
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 재시도는 다시 처리되지 않고 최초 요청의 결과를 받아야 한다.
+		 * */
+		assertEquals(1, inFlightExecutions[0]);
+		assertEquals(1000, executions[0]);
+		assertEquals(1L, retried.get().point());
+		assertEquals(first.get(), retried.get());
+		Assertions.assertTrue(idempotencyCache.size() <= 16);
+	}
+
+	private void execute(IdempotencyCache idempotencyCache, String idempotencyKey, int[] executions) throws Exception {
+		idempotencyCache.execute(9002L, TransactionType.CHARGE, 1L, idempotencyKey, () -> {
+			executions[0]++;
+			return CompletableFuture.completedFuture(new UserPoint(9002L, executions[0], 0L));
+		}).get();
+	}
+
+	private Class<?> exceptionOf(PointCall call) {
+		try {
+			call.run();
+			return null;
+		} catch(Exception e) {
+			return e.getClass();
+		}
+	}
+
+	@FunctionalInterface
+	private interface PointCall {
+		void run() throws Exception;
+	}
+}
@@ -0,0 +1,325 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.journal.PointJournal;
+
+public class PointJournalTest {
+
+	//기록 하나의 크기
+	private static final int RECORD_BYTES = 40;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("[기록 재생 검증] segment 여러 개에 나뉘어 기록된 충전/사용 기록을 재기동 시 재생할때, 사용자별 포인트와 내역이 기록 순서대로 복구되는 동작에 대한 테스트")
+	void tablesAreRestoredByReplayingRolledSegments() throws IOException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - segment 하나에 기록 4건만 담기도록 하여, 기록 10건이 3개의 segment에 나뉘어 기록되도록 한다.
+		 * */
+		long userId = 8000L;
+		PointJournal journal = journal(new UserPointTable(), new PointHistoryTable(), RECORD_BYTES * 4);
+		journal.open();
+		for (int i = 1; i <= 10; i++) {
+			journal.append(userId, i * 100L, i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, 1000L + i);
+		}
+		journal.append(userId + 1, 500L, TransactionType.CHARGE, 2000L);
+		journal.close();
+		long segmentCount = segmentPaths().size();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 빈 테이블로 journal을 다시 열어 기록을 재생한다.
+		 * */
+		UserPointTable userPointTable = new UserPointTable();
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointJournal restored = journal(userPointTable, pointHistoryTable, RECORD_BYTES * 4);
+		restored.open();
+		restored.close();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 사용자의 포인트는 마지막 기록의 포인트이고, 내역은 기록된 순서대로 복구되어야 한다.
+		 * */
+		assertEquals(3, segmentCount);
+		assertEquals(11, restored.replayedRecords());
+		assertEquals(1000L, userPointTable.selectById(userId).point());
+		assertEquals(1010L, userPointTable.selectById(userId).updateMillis());
+		assertEquals(500L, userPointTable.selectById(userId + 1).point());
+
+		List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+		assertEquals(10, histories.size());
+		for (int i = 0; i < histories.size(); i++) {
+			assertEquals((i + 1) * 100L, histories.get(i).amount());
+			assertEquals(i % 2 == 1 ? TransactionType.USE : TransactionType.CHARGE, histories.get(i).type());
+		}
+	}
+
+	@Test
+	@DisplayName("[torn tail 복구 검증] 마지막 기록이 일부만 저장된 채 중단된 journal을 재생할때, 손상된 기록은 재생하지 않고 이후의 기록은 새 segment에 이어서 기록되는 동작에 대한 테스트")
+	void tornTailIsSkippedAndJournalContinuesAfterRecovery() throws IOException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 기록 5건을 남긴 뒤, 마지막 기록의 뒷부분을 다른 값으로 덮어써 기록 도중 중단된 상태를 만든다.
+		 * */
+		long userId = 8100L;
+		PointJournal journal = journal(new UserPointTable(), new PointHistoryTable(), RECORD_BYTES * 1024);
+		journal.open();
+		for (int i = 1; i <= 5; i++) {
+			journal.append(userId, i * 10L, TransactionType.CHARGE, 1000L + i);
+		}
+		journal.close();
+
+		try (FileChannel channel = FileChannel.open(segmentPaths().get(0), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}), RECORD_BYTES * 4L + 24);
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - journal을 다시 열어 재생하고 기록 1건을 추가한 뒤, 한 번 더 재생한다.
+		 * */
+		UserPointTable recoveredTable = new UserPointTable();
+		PointJournal recovered = journal(recoveredTable, new PointHistoryTable(), RECORD_BYTES * 1024);
+		recovered.open();
+		long recoveredPoint = recoveredTable.selectById(userId).point();
+		long replayedRecords = recovered.replayedRecords();
+		recovered.append(userId, 70L, TransactionType.CHARGE, 2000L);
+		recovered.close();
+
+		UserPointTable userPointTable = new UserPointTable();
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointJournal restored = journal(userPointTable, pointHistoryTable, RECORD_BYTES * 1024);
+		restored.open();
+		restored.close();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 손상된 5번째 기록을 제외한 4건이 재생되고, 복구 이후의 기록은 4번째 기록 뒤에 이어서 재생되어야 한다.
+		 * */
+		assertEquals(4, replayedRecords);
+		assertEquals(40L, recoveredPoint);
+		assertEquals(5, restored.replayedRecords());
+		assertEquals(70L, userPointTable.selectById(userId).point());
+		assertEquals(List.of(10L, 20L, 30L, 40L, 70L),
+				pointHistoryTable.selectAllByUserId(userId).stream().map(PointHistory::amount).toList());
+	}
+
+	@Test
+	@DisplayName("[스냅샷 검증] 스냅샷을 남긴 뒤 재기동할때, 스냅샷이 포함하는 segment는 내역 보관 파일로 압축되어 삭제되고 포인트는 스냅샷과 이후의 기록으로, 내역은 보관 파일의 내역까지 모두 복구되는 동작에 대한 테스트")
+	void tablesAreRestoredFromSnapshotAndTailAfterTruncation() throws IOException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - segment 하나에 기록 4건만 담기도록 하고, 기록 10건 뒤에 스냅샷을 남긴 다음 기록 3건을 더 남긴다.
+		 * */
+		long userId = 8200L;
+		PointJournal journal = journal(new UserPointTable(), new PointHistoryTable(), RECORD_BYTES * 4);
+		journal.open();
+		for (int i = 1; i <= 10; i++) {
+			journal.append(userId + i % 2, i * 100L, TransactionType.CHARGE, 1000L + i);
+		}
+		long snapshotSequence = journal.snapshot();
+		for (int i = 11; i <= 13; i++) {
+			journal.append(userId, i * 100L, TransactionType.USE, 1000L + i);
+		}
+		journal.close();
+		List<String> files = fileNames(directory);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 빈 테이블로 journal을 다시 열어 스냅샷을 적재하고 이후의 기록을 재생한다.
+		 * */
+		UserPointTable userPointTable = new UserPointTable();
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointJournal restored = journal(userPointTable, pointHistoryTable, RECORD_BYTES * 4);
+		restored.open();
+		restored.close();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 순번 0~7의 기록만 담은 segment 2개는 내역 보관 파일 하나로 압축되어 삭제되어야 한다.
+		 * - 내역 보관 파일의 내역 8건을 적재하고 남은 segment의 기록 5건(순번 8~12)을 읽되, 포인트에는 스냅샷 이후의 기록 3건만 반영되어야 한다.
+		 * - 내역은 스냅샷 이전의 기록을 포함한 13건이 기록된 순서와 id로 복구되어야 한다.
+		 * */
+		assertEquals(10L, snapshotSequence);
+		assertEquals(List.of("00000000000000000000.history", "00000000000000000008.journal", "00000000000000000010.snapshot", "00000000000000000012.journal"), files);
+		assertEquals(8, restored.archivedRecords());
+		assertEquals(5, restored.replayedRecords());
+		assertEquals(1300L, userPointTable.selectById(userId).point());
+		assertEquals(900L, userPointTable.selectById(userId + 1).point());
+		assertEquals(1009L, userPointTable.selectById(userId + 1).updateMillis());
+		assertEquals(List.of(200L, 400L, 600L, 800L, 1000L, 1100L, 1200L, 1300L),
+				pointHistoryTable.selectAllByUserId(userId).stream().map(PointHistory::amount).toList());
+		assertEquals(List.of(2L, 4L, 6L, 8L, 10L, 11L, 12L, 13L),
+				pointHistoryTable.selectAllByUserId(userId).stream().map(PointHistory::id).toList());
+		assertEquals(List.of(100L, 300L, 500L, 700L, 900L),
+				pointHistoryTable.selectAllByUserId(userId + 1).stream().map(PointHistory::amount).toList());
+	}
+
+	@Test
+	@DisplayName("[스냅샷 검증] 내역 보관 파일을 작성한 뒤 segment를 삭제하기 전에 중단되었다가 재기동할때, 남은 segment의 내역은 중복해서 복구되지 않고 segment는 삭제되는 동작에 대한 테스트")
+	void segmentsLeftAfterArchivingAreNotReplayedTwice() throws IOException {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - segment 하나에 기록 4건만 담기도록 하고, 기록 10건 뒤에 스냅샷을 남긴 다음 기록 1건을 더 남긴다.
+		 * - 스냅샷 직전의 segment를 복사해 두었다가, 종료 후 되돌려 segment 삭제 전에 중단된 상황을 만든다.
+		 * */
+		long userId = 8250L;
+		PointJournal journal = journal(new UserPointTable(), new PointHistoryTable(), RECORD_BYTES * 4);
+		journal.open();
+		for (int i = 1; i <= 10; i++) {
+			journal.append(userId, i * 100L, TransactionType.CHARGE, 1000L + i);
+		}
+		journal.sync();
+		Path copies = Files.createDirectory(directory.resolve("copies"));
+		for (String name : List.of("00000000000000000000.journal", "00000000000000000004.journal")) {
+			Files.copy(directory.resolve(name), copies.resolve(name));
+		}
+		journal.snapshot();
+		journal.append(userId, 1100L, TransactionType.USE, 1011L);
+		journal.close();
+		for (String name : List.of("00000000000000000000.journal", "00000000000000000004.journal")) {
+			Files.move(copies.resolve(name), directory.resolve(name));
+		}
+		Files.delete(copies);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 빈 테이블로 journal을 다시 연다.
+		 * */
+		UserPointTable userPointTable = new UserPointTable();
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointJournal restored = journal(userPointTable, pointHistoryTable, RECORD_BYTES * 4);
+		restored.open();
+		restored.close();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 내역 보관 파일에 포함된 segment 2개는 삭제되고(순번 11의 segment는 재기동 시 새로 연 segment이다), 내역은 11건이 한 번씩만 기록된 순서와 id로 복구되어야 한다.
+		 * */
+		assertEquals(List.of("00000000000000000000.history", "00000000000000000008.journal", "00000000000000000010.snapshot", "00000000000000000011.journal"), fileNames(directory));
+		assertEquals(1100L, userPointTable.selectById(userId).point());
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L),
+				pointHistoryTable.selectAllByUserId(userId).stream().map(PointHistory::id).toList());
+		assertEquals(List.of(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1000L, 1100L),
+				pointHistoryTable.selectAllByUserId(userId).stream().map(PointHistory::amount).toList());
+	}
+
+	@Test
+	@DisplayName("[스냅샷 검증] 여러 스레드가 기록하는 도중에 스냅샷을 반복해서 남길때, 기록이 멈추지 않고 재기동 시 사용자별 마지막 포인트가 복구되는 동작에 대한 테스트")
+	void snapshotsTakenDuringConcurrentAppendsRestoreLastPoints() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 8명의 사용자마다 하나의 스레드가 포인트 1~5000을 차례로 기록한다.
+		 * */
+		long baseUserId = 8300L;
+		int userCount = 8;
+		int recordCount = 5000;
+		PointJournal journal = journal(new UserPointTable(), new PointHistoryTable(), RECORD_BYTES * 1024);
+		journal.open();
+		CountDownLatch doneSignal = new CountDownLatch(userCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(userCount);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 기록이 끝날 때까지 스냅샷을 반복해서 남긴 뒤, 빈 테이블로 journal을 다시 연다.
+		 * */
+		for (int i = 0; i < userCount; i++) {
+			long userId = baseUserId + i;
+			executorService.execute(() -> {
+				try {
+					for (long point = 1; point <= recordCount; point++) {
+						journal.append(userId, point, TransactionType.CHARGE, point);
+					}
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		int snapshotCount = 0;
+		while (doneSignal.getCount() > 0) {
+			journal.snapshot();
+			snapshotCount++;
+		}
+		executorService.shutdown();
+		journal.close();
+
+		UserPointTable userPointTable = new UserPointTable();
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointJournal restored = journal(userPointTable, pointHistoryTable, RECORD_BYTES * 1024);
+		restored.open();
+		restored.close();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 스냅샷 이전의 기록은 포인트에 다시 반영하지 않지만, 내역은 사용자별 5000건이 모두 복구되어야 한다.
+		 * - 모든 기록은 내역 보관 파일이나 segment 중 한 곳에서 한 번씩만 읽혀야 한다.
+		 * */
+		assertTrue(snapshotCount > 0);
+		assertTrue(restored.replayedRecords() < (long) userCount * recordCount);
+		assertEquals((long) userCount * recordCount, restored.archivedRecords() + restored.replayedRecords());
+		for (int i = 0; i < userCount; i++) {
+			assertEquals(recordCount, userPointTable.selectById(baseUserId + i).point());
+			assertEquals(recordCount, pointHistoryTable.selectAllByUserId(baseUserId + i).size());
+		}
+	}
+
+	private PointJournal journal(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, long segmentBytes) {
+		return new PointJournal(userPointTable, pointHistoryTable, true, directory.toString(), segmentBytes, 1000, 0L, 0L);
+	}
+
+	//journal 디렉터리의 파일(segment, 스냅샷, 내역 보관 파일)을 이름 순서대로 조회한다
+	private List<Path> segmentPaths() throws IOException {
+		try (Stream<Path> paths = Files.list(directory)) {
+			return paths.filter(Files::isRegularFile).sorted().toList();
+		}
+	}
+
+	private List<String> fileNames(Path path) throws IOException {
+		try (Stream<Path> paths = Files.list(path)) {
+			return paths.map(file -> file.getFileName().toString()).sorted().toList();
+		}
+	}
+}
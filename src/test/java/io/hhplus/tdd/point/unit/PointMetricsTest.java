@@ -0,0 +1,177 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * 포인트 API 지표(point.operation, point.stage, point.rule.rejections, point.lock.contentions)에 대한 테스트
+ * 지표는 컨텍스트 안에서 누적되므로, 요청 전후의 차이로 검증한다.
+ * */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+public class PointMetricsTest {
+
+	@Autowired
+	private PointService pointService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	@DisplayName("[지표 검증] 충전 2건과 잔액을 초과하는 사용 1건을 요청할때, 연산별/단계별 처리 시간과 정책 위반 수가 요청한 만큼 기록되는 동작에 대한 테스트")
+	void operationsAndStagesAreRecorded() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		long userId = 9100L;
+		long charges = operationCount("charge");
+		long uses = operationCount("use");
+		long tableReads = stageCount("table.read");
+		long historyInserts = stageCount("history.insert");
+		long tableWrites = stageCount("table.write");
+		long lockWaits = stageCount("lock.wait");
+		double useRejections = meterRegistry.get("point.rule.rejections").tag("type", "USE").counter().count();
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		pointService.charge(userId, 100L);
+		pointService.charge(userId, 100L);
+		Assertions.assertThrows(Exception.class, () -> pointService.use(userId, 1000L));
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 거절된 사용은 조회와 락 대기까지만 기록되고, 내역 기록과 반영은 기록되지 않아야 한다.
+		 * */
+		assertEquals(charges + 2, operationCount("charge"));
+		assertEquals(uses + 1, operationCount("use"));
+		assertEquals(lockWaits + 3, stageCount("lock.wait"));
+		assertEquals(tableReads + 3, stageCount("table.read"));
+		assertEquals(historyInserts + 2, stageCount("history.insert"));
+		assertEquals(tableWrites + 2, stageCount("table.write"));
+		assertEquals(useRejections + 1, meterRegistry.get("point.rule.rejections").tag("type", "USE").counter().count());
+	}
+
+	@Test
+	@DisplayName("[지표 검증] 동일 사용자의 충전 요청 10건이 동시에 발생할때, 락 경합이 기록되고 /actuator/prometheus로 지연 시간 histogram이 노출되는 동작에 대한 테스트")
+	void lockContentionsAreRecordedAndExposed() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		long userId = 9101L;
+		int requestCount = 10;
+		double contentions = meterRegistry.get("point.lock.contentions").counter().count();
+		CountDownLatch startSignal = new CountDownLatch(1);
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 같은 사용자의 충전을 동시에 요청한 뒤, 지표 endpoint를 조회한다.
+		 * */
+		for (int i = 0; i < requestCount; i++) {
+			executorService.execute(() -> {
+				try {
+					startSignal.await();
+					pointService.charge(userId, 10L);
+				} catch(Exception ignored) {
+
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		startSignal.countDown();
+		doneSignal.await();
+		executorService.shutdown();
+
+		HttpResponse<String> prometheus = HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/prometheus")).build(),
+				HttpResponse.BodyHandlers.ofString());
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 먼저 락을 획득한 요청을 제외한 요청은 경합으로 기록되어야 한다.
+		 * */
+		Assertions.assertTrue(meterRegistry.get("point.lock.contentions").counter().count() > contentions);
+		assertEquals(200, prometheus.statusCode());
+		Assertions.assertTrue(prometheus.body().contains("point_operation_seconds_count{operation=\"charge\""));
+		Assertions.assertTrue(prometheus.body().contains("point_stage_percentile_seconds{quantile=\"0.99\",stage=\"lock.wait\""));
+		Assertions.assertTrue(prometheus.body().contains("point_lock_contentions_total"));
+	}
+
+	@Test
+	@DisplayName("[지연 시간 histogram 검증] 1us ~ 10ms의 처리 시간 10000건을 기록할때, 백분위수가 상대 오차 약 3% 이내로 계산되는 동작에 대한 테스트")
+	void percentilesAreWithinHistogramPrecision() {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 다른 테스트와 지표가 섞이지 않도록 별도의 레지스트리를 사용한다.
+		 * */
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PointMetrics pointMetrics = new PointMetrics(registry, 60000L);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 1us부터 10ms까지 1us 간격의 처리 시간을 기록한다.
+		 * */
+		for (long micros = 1; micros <= 10_000; micros++) {
+			pointMetrics.recordNanos(PointMetrics.Stage.TABLE_READ, micros * 1_000L);
+		}
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * */
+		assertEquals(10_000.0, registry.get("point.stage").tag("stage", "table.read").functionTimer().count());
+		assertPercentile(registry, "0.5", 5_000_000L);
+		assertPercentile(registry, "0.99", 9_900_000L);
+		assertPercentile(registry, "1.0", 10_000_000L);
+	}
+
+	private void assertPercentile(SimpleMeterRegistry registry, String quantile, long expectedNanos) {
+		double actualNanos = registry.get("point.stage.percentile").tag("stage", "table.read").tag("quantile", quantile).gauge().value() * 1e9;
+		Assertions.assertTrue(Math.abs(actualNanos - expectedNanos) <= expectedNanos * 0.035, quantile + " : " + actualNanos);
+	}
+
+	private long operationCount(String operation) {
+		return (long) meterRegistry.get("point.operation").tag("operation", operation).functionTimer().count();
+	}
+
+	private long stageCount(String stage) {
+		return (long) meterRegistry.get("point.stage").tag("stage", stage).functionTimer().count();
+	}
+}
@@ -0,0 +1,262 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.reactive.PointReactiveService;
+
+/*
+ * /point(Servlet, 요청 스레드에서 블로킹)와 /reactive/point(non-blocking, 블로킹 전용 스케줄러)에 대한 부하 테스트
+ * 요청 처리 스레드를 8개로 제한하여, 요청 스레드가 블로킹 호출을 기다리는 방식과 기다리지 않는 방식의 지연 시간/처리량을 비교한다.
+ * */
+@SpringBootTest(
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {
+				"server.tomcat.threads.max=" + PointReactiveLoadTest.REQUEST_THREADS,
+				"point.reactive.blocking-threads=64",
+				"point.reactive.history-page-size=4"
+		}
+)
+public class PointReactiveLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(PointReactiveLoadTest.class);
+
+	static final int REQUEST_THREADS = 8;
+
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PointService pointService;
+
+	@Autowired
+	private PointReactiveService pointReactiveService;
+
+	@Autowired
+	private UserLockManager userLockManager;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	@DisplayName("[non-blocking API 검증] 충전/사용 결과와 정책 위반 응답이 /point와 같고, 내역은 페이지 크기(4)를 넘어도 id 순서로 모두 스트리밍되는 동작에 대한 테스트")
+	void reactiveApiChargesAndStreamsHistoriesAcrossPages() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		long userId = 40_000L;
+		int chargeCount = 9;
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 10포인트씩 9번 충전하고, 같은 멱등 키로 두 번 충전한 뒤, 잔액을 초과하는 사용을 요청한다.
+		 * */
+		for (int i = 0; i < chargeCount; i++) {
+			send("PATCH", "/reactive/point/" + userId + "/charge", "10", null);
+		}
+		HttpResponse<String> keyed = send("PATCH", "/reactive/point/" + userId + "/charge", "10", "reactive-40000-1");
+		HttpResponse<String> retried = send("PATCH", "/reactive/point/" + userId + "/charge", "10", "reactive-40000-1");
+		HttpResponse<String> overUse = send("PATCH", "/reactive/point/" + userId + "/use", "1000", null);
+		HttpResponse<String> histories = send("GET", "/reactive/point/" + userId + "/histories", null, null);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 멱등 키의 재요청은 다시 충전되지 않고, 정책 위반은 400으로 응답하며, 내역은 3페이지에 걸쳐 10건 모두 순서대로 조회되어야 한다.
+		 * */
+		assertEquals(200, keyed.statusCode());
+		assertEquals(keyed.body(), retried.body());
+		assertEquals(400, overUse.statusCode());
+		assertEquals(100L, objectMapper.readTree(send("GET", "/point/" + userId, null, null).body()).get("point").asLong());
+
+		List<String> lines = histories.body().lines().filter(line -> !line.isBlank()).toList();
+		assertEquals(chargeCount + 1, lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			PointHistory history = objectMapper.readValue(lines.get(i), PointHistory.class);
+			assertEquals(10L * (i + 1), history.amount());
+			if(i > 0)
+				Assertions.assertTrue(objectMapper.readValue(lines.get(i - 1), PointHistory.class).id() < history.id());
+		}
+	}
+
+	@Test
+	@DisplayName("[non-blocking API 부하 검증] 서로 다른 사용자의 조회 요청 400건이 동시에 발생할때, 요청 스레드가 8개뿐이어도 두 경로 모두 정상 응답하고 처리량과 지연 시간을 기록하는 동작에 대한 테스트")
+	void reactiveApiServesMoreConcurrentRequestsThanServletApi() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 요청마다 서로 다른(캐시되지 않은) 사용자를 조회하여 테이블 조회 대기(throttle)가 발생하도록 한다.
+		 * - 각 경로의 첫 요청(초기화)은 측정에서 제외한다.
+		 * */
+		int requestCount = 400;
+		send("GET", "/point/1", null, null);
+		send("GET", "/reactive/point/1", null, null);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 같은 수의 조회를 두 경로에 각각 동시에 요청하고, 요청별 지연 시간과 전체 처리 시간을 측정한다.
+		 * */
+		LoadResult servlet = measure("/point/", 50_000L, requestCount);
+		LoadResult reactive = measure("/reactive/point/", 60_000L, requestCount);
+
+		log.info("동시 조회 {}건, 요청 스레드 {}개 - /point : {}", requestCount, REQUEST_THREADS, servlet);
+		log.info("동시 조회 {}건, 요청 스레드 {}개 - /reactive/point : {}", requestCount, REQUEST_THREADS, reactive);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 모든 요청이 200으로 응답해야 한다(measure에서 검증).
+		 * - 처리량과 지연 시간은 실행 환경에 따라 달라지므로 비교하지 않고 기록만 한다.
+		 * */
+		Assertions.assertTrue(servlet.throughput() > 0 && reactive.throughput() > 0);
+	}
+
+	@Test
+	@DisplayName("[non-blocking API 취소 검증] 처리 중인 멱등 키와 같은 키의 reactive 충전이 시간 초과로 취소될때, 공유된 결과는 취소되지 않고 최초 요청이 충전 결과를 받는 동작에 대한 테스트")
+	void cancelledReactiveChargeDoesNotCancelSharedIdempotentResult() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 사용자의 락을 점유하여, 멱등 키의 최초 충전 요청이 처리 중인 상태로 머무르게 한다.
+		 * */
+		long userId = 41_000L;
+		String idempotencyKey = "reactive-41000-1";
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> {
+			try {
+				return userLockManager.executeWithLock(userId, () -> {
+					locked.countDown();
+					return release.await(10, TimeUnit.SECONDS);
+				});
+			} catch(Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		locked.await();
+		CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return pointService.charge(userId, 10L, idempotencyKey);
+			} catch(Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		while (userLockManager.status(userId).queueDepth() == 0) {
+			Thread.sleep(10L);
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 같은 키의 reactive 충전을 100ms 뒤 시간 초과로 취소한 뒤, 락을 놓고 같은 키로 한 번 더 충전한다.
+		 * */
+		Class<?> timeout = exceptionOf(() -> pointReactiveService.charge(userId, 10L, idempotencyKey).timeout(Duration.ofMillis(100)).block());
+		release.countDown();
+		holder.get(10, TimeUnit.SECONDS);
+		UserPoint charged = first.get(10, TimeUnit.SECONDS);
+		UserPoint retried = pointService.charge(userId, 10L, idempotencyKey);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 취소된 구독과 관계없이 한 번만 충전되고, 최초 요청과 재요청이 같은 결과를 받아야 한다.
+		 * */
+		assertEquals(TimeoutException.class, timeout);
+		assertEquals(10L, charged.point());
+		assertEquals(charged, retried);
+		assertEquals(1, pointService.history(userId).size());
+	}
+
+	private Class<?> exceptionOf(Runnable call) {
+		try {
+			call.run();
+			return null;
+		} catch(RuntimeException e) {
+			return (e.getCause() != null ? e.getCause() : e).getClass();
+		}
+	}
+
+	/*
+	 * requestCount명의 사용자를 path로 동시에 조회하고, 지연 시간 분포와 처리량을 반환한다.
+	 * */
+	private LoadResult measure(String path, long baseUserId, int requestCount) {
+		List<CompletableFuture<Long>> latencies = new ArrayList<>(requestCount);
+
+		long startTime = System.nanoTime();
+		for (int i = 0; i < requestCount; i++) {
+			long requestTime = System.nanoTime();
+			latencies.add(httpClient.sendAsync(request("GET", path + (baseUserId + i), null, null), HttpResponse.BodyHandlers.ofString())
+					.thenApply(response -> {
+						assertEquals(200, response.statusCode());
+						return (System.nanoTime() - requestTime) / 1_000_000L;
+					}));
+		}
+		long[] sorted = latencies.stream().mapToLong(CompletableFuture::join).toArray();
+		long elapsedMillis = Math.max(1L, (System.nanoTime() - startTime) / 1_000_000L);
+
+		Arrays.sort(sorted);
+		return new LoadResult(
+				requestCount * 1000.0 / elapsedMillis,
+				sorted[sorted.length / 2],
+				sorted[(int) (sorted.length * 0.99)],
+				sorted[sorted.length - 1]
+		);
+	}
+
+	private HttpResponse<String> send(String method, String path, String body, String idempotencyKey) throws Exception {
+		return httpClient.send(request(method, path, body, idempotencyKey), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest request(String method, String path, String body, String idempotencyKey) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+		if(body != null)
+			builder.header("Content-Type", "application/json");
+		if(idempotencyKey != null)
+			builder.header("Idempotency-Key", idempotencyKey);
+
+		return builder.build();
+	}
+
+	private record LoadResult(double throughput, long p50Millis, long p99Millis, long maxMillis) {
+		@Override
+		public String toString() {
+			return String.format("처리량 %.1f req/s, 지연 시간 p50 %dms, p99 %dms, max %dms", throughput, p50Millis, p99Millis, maxMillis);
+		}
+	}
+}
@@ -0,0 +1,261 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.replication.ReplicaReadFilter;
+
+/*
+ * 충전/사용 내역 복제(리더/팔로워)에 대한 테스트
+ * 하나의 JVM에서 포트가 다른 리더와 팔로워 애플리케이션 컨텍스트를 기동하여 검증한다.
+ * */
+public class PointReplicationTest {
+
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		contexts.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	@DisplayName("[복제 검증] 리더에서 여러 사용자의 충전/사용이 동시에 발생할때, 마지막으로 본 내역 id를 전달하면 팔로워가 리더와 같은 포인트와 내역(같은 id)을 조회하고 충전 요청은 거절하는 동작에 대한 테스트")
+	void followerServesLeaderPointsAndHistoriesWithReadYourWrites() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 리더와 팔로워를 기동한다.
+		 * */
+		int[] ports = freePorts(2);
+		String leader = node(ports[0]);
+		String follower = node(ports[1]);
+		start(ports[0], "--point.replication.role=LEADER");
+		start(ports[1], "--point.replication.role=FOLLOWER", "--point.replication.leader-url=" + leader);
+
+		int userCount = 20;
+		long baseUserId = 100_000L;
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 사용자마다 100포인트씩 3번 충전하고 50포인트를 사용하는 요청을 리더에 동시에 보낸 뒤,
+		 *   리더에서 조회한 마지막 내역 id를 전달하여 팔로워에서 조회한다.
+		 * */
+		List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+		for (int i = 0; i < userCount; i++) {
+			long userId = baseUserId + i;
+			responses.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					for (int j = 0; j < 3; j++) {
+						send(leader, "PATCH", "/point/" + userId + "/charge", "100", 0L);
+					}
+					return send(leader, "PATCH", "/point/" + userId + "/use", "50", 0L);
+				} catch(Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}));
+		}
+		responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+
+		List<List<PointHistory>> leaderHistories = new ArrayList<>();
+		long lastSeenId = 0L;
+		for (int i = 0; i < userCount; i++) {
+			List<PointHistory> histories = histories(leader, baseUserId + i, 0L);
+			leaderHistories.add(histories);
+			lastSeenId = Math.max(lastSeenId, histories.get(histories.size() - 1).id());
+		}
+
+		List<List<PointHistory>> followerHistories = new ArrayList<>();
+		List<Long> followerPoints = new ArrayList<>();
+		for (int i = 0; i < userCount; i++) {
+			followerHistories.add(histories(follower, baseUserId + i, lastSeenId));
+			followerPoints.add(objectMapper.readTree(send(follower, "GET", "/point/" + (baseUserId + i), null, lastSeenId).body()).get("point").asLong());
+		}
+		HttpResponse<String> followerCharge = send(follower, "PATCH", "/point/" + baseUserId + "/charge", "100", 0L);
+		String metrics = send(follower, "GET", "/actuator/prometheus", null, 0L).body();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 팔로워의 내역은 리더와 id까지 같고, 포인트는 250이며, 팔로워에 보낸 충전은 503으로 거절되어야 한다.
+		 * */
+		for (int i = 0; i < userCount; i++) {
+			assertEquals(leaderHistories.get(i), followerHistories.get(i));
+			assertEquals(250L, followerPoints.get(i));
+		}
+		assertEquals(503, followerCharge.statusCode());
+		Assertions.assertTrue(metrics.contains("point_replication_lag_events"));
+		Assertions.assertTrue(metrics.contains("point_replication_lag_seconds"));
+	}
+
+	@Test
+	@DisplayName("[복제 지연 검증] 리더가 종료되어 최대 지연 시간이 지나거나 아직 복제되지 않은 내역 id를 요청할때, 팔로워가 오래된 포인트를 응답하지 않고 503으로 거절하는 동작에 대한 테스트")
+	void followerRejectsReadsBeyondStalenessBound() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 최대 지연 시간이 1초인 팔로워를 기동하고, 리더에 충전한 내역이 팔로워에 반영된 것을 확인한다.
+		 * */
+		int[] ports = freePorts(2);
+		String leader = node(ports[0]);
+		String follower = node(ports[1]);
+		start(ports[0], "--point.replication.role=LEADER");
+		start(ports[1], "--point.replication.role=FOLLOWER", "--point.replication.leader-url=" + leader,
+				"--point.replication.max-staleness-millis=1000", "--point.replication.read-your-writes-wait-millis=300");
+
+		long userId = 110_000L;
+		send(leader, "PATCH", "/point/" + userId + "/charge", "100", 0L);
+		long lastSeenId = histories(leader, userId, 0L).get(0).id();
+		HttpResponse<String> caughtUp = send(follower, "GET", "/point/" + userId, null, lastSeenId);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 아직 발급되지 않은 내역 id와 사용자의 내역 cursor로 조회하고, 리더를 종료한 뒤 최대 지연 시간이 지나고 나서 조회한다.
+		 * */
+		HttpResponse<String> notReplicated = send(follower, "GET", "/point/" + userId, null, lastSeenId + 1000L);
+		HttpResponse<String> cursorReplicated = httpClient.send(HttpRequest.newBuilder(URI.create(follower + "/point/" + userId))
+				.header(ReplicaReadFilter.MIN_HISTORY_CURSOR_HEADER, "1").build(), HttpResponse.BodyHandlers.ofString());
+		HttpResponse<String> cursorNotReplicated = httpClient.send(HttpRequest.newBuilder(URI.create(follower + "/point/" + userId))
+				.header(ReplicaReadFilter.MIN_HISTORY_CURSOR_HEADER, "2").build(), HttpResponse.BodyHandlers.ofString());
+		contexts.get(0).close();
+		Thread.sleep(1500L);
+		HttpResponse<String> stale = send(follower, "GET", "/point/" + userId + "/histories", null, 0L);
+		String status = send(follower, "GET", "/point/replication/status", null, 0L).body();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 반영된 내역까지는 조회되고, 반영되지 않은 내역 id나 cursor와 최대 지연 시간을 넘은 조회는 503으로 거절되어야 한다.
+		 * */
+		assertEquals(200, caughtUp.statusCode());
+		assertEquals(100L, objectMapper.readTree(caughtUp.body()).get("point").asLong());
+		assertEquals(503, notReplicated.statusCode());
+		assertEquals(200, cursorReplicated.statusCode());
+		assertEquals(503, cursorNotReplicated.statusCode());
+		assertEquals(503, stale.statusCode());
+		Assertions.assertTrue(objectMapper.readTree(status).get("stalenessMillis").asLong() > 1000L);
+	}
+
+	@Test
+	@DisplayName("[복제 불일치 검증] 리더가 재기동되어 리더의 내역 id가 팔로워에 반영된 내역 id보다 작아질때, 팔로워가 복제를 멈추고 조회를 503으로 거절하는 동작에 대한 테스트")
+	void followerStopsReadsWhenLeaderHistoryGoesBackwards() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 리더에 두 번 충전하고 팔로워에 반영된 것을 확인한다.
+		 * */
+		int[] ports = freePorts(2);
+		String leader = node(ports[0]);
+		String follower = node(ports[1]);
+		start(ports[0], "--point.replication.role=LEADER");
+		start(ports[1], "--point.replication.role=FOLLOWER", "--point.replication.leader-url=" + leader,
+				"--point.replication.read-your-writes-wait-millis=3000");
+
+		long userId = 120_000L;
+		send(leader, "PATCH", "/point/" + userId + "/charge", "100", 0L);
+		send(leader, "PATCH", "/point/" + userId + "/charge", "100", 0L);
+		long lastSeenId = histories(leader, userId, 0L).get(1).id();
+		HttpResponse<String> caughtUp = send(follower, "GET", "/point/" + userId, null, lastSeenId);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 리더를 종료하고 같은 포트로 빈 리더를 다시 기동한 뒤, 팔로워가 어긋난 것을 확인할 때까지 상태를 조회한다.
+		 * */
+		contexts.get(0).close();
+		start(ports[0], "--point.replication.role=LEADER");
+		long deadline = System.currentTimeMillis() + 10_000L;
+		String status = send(follower, "GET", "/point/replication/status", null, 0L).body();
+		while (!objectMapper.readTree(status).get("diverged").asBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(100L);
+			status = send(follower, "GET", "/point/replication/status", null, 0L).body();
+		}
+		HttpResponse<String> point = send(follower, "GET", "/point/" + userId, null, 0L);
+		HttpResponse<String> waiting = send(follower, "GET", "/point/" + userId, null, lastSeenId + 1);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 반영된 내역까지는 조회되었고, 리더가 재기동된 뒤에는 팔로워가 어긋남을 표시하고 조회를 기다리지 않고 503으로 거절해야 한다.
+		 * */
+		assertEquals(200, caughtUp.statusCode());
+		assertEquals(200L, objectMapper.readTree(caughtUp.body()).get("point").asLong());
+		Assertions.assertTrue(objectMapper.readTree(status).get("diverged").asBoolean());
+		assertEquals(lastSeenId, objectMapper.readTree(status).get("appliedId").asLong());
+		assertEquals(503, point.statusCode());
+		assertEquals(503, waiting.statusCode());
+	}
+
+	private void start(int port, String... args) {
+		List<String> arguments = new ArrayList<>(List.of("--server.port=" + port));
+		arguments.addAll(Arrays.asList(args));
+		contexts.add(new SpringApplicationBuilder(TddApplication.class).run(arguments.toArray(String[]::new)));
+	}
+
+	private List<PointHistory> histories(String node, long userId, long minHistoryId) throws Exception {
+		HttpResponse<String> response = send(node, "GET", "/point/" + userId + "/histories", null, minHistoryId);
+		assertEquals(200, response.statusCode());
+		return Arrays.asList(objectMapper.readValue(response.body(), PointHistory[].class));
+	}
+
+	private HttpResponse<String> send(String node, String method, String path, String body, long minHistoryId) throws Exception {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node + path))
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+		if(body != null)
+			builder.header("Content-Type", "application/json");
+		if(minHistoryId > 0)
+			builder.header(ReplicaReadFilter.MIN_HISTORY_ID_HEADER, String.valueOf(minHistoryId));
+
+		return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static String node(int port) {
+		return "http://localhost:" + port;
+	}
+
+	private static int[] freePorts(int count) throws IOException {
+		int[] ports = new int[count];
+		List<ServerSocket> sockets = new ArrayList<>();
+		try {
+			for (int i = 0; i < count; i++) {
+				ServerSocket socket = new ServerSocket(0);
+				sockets.add(socket);
+				ports[i] = socket.getLocalPort();
+			}
+		} finally {
+			for (ServerSocket socket : sockets) {
+				socket.close();
+			}
+		}
+		return ports;
+	}
+}
@@ -0,0 +1,451 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.shard.ConsistentHashRing;
+
+/*
+ * 사용자 id 기준 샤딩(ShardRouter)에 대한 테스트
+ * 하나의 JVM에서 포트가 다른 애플리케이션 컨텍스트를 노드 수만큼 기동하여, 노드 간 요청 전달과 사용자 이동을 검증한다.
+ * */
+public class PointShardTest {
+
+	private static final Logger log = LoggerFactory.getLogger(PointShardTest.class);
+
+	//노드별 요청 처리 스레드 수
+	private static final int REQUEST_THREADS = 8;
+
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		contexts.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	@DisplayName("[hash ring 검증] 사용자가 노드에 고르게 배정되고, 노드가 추가될때 추가된 노드로 옮겨가는 사용자만 소유 노드가 바뀌는 동작에 대한 테스트")
+	void ringSpreadsUsersAndMovesOnlyUsersOfJoinedNode() {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * */
+		int userCount = 30_000;
+		ConsistentHashRing before = new ConsistentHashRing(0L, List.of("a", "b", "c"), 128);
+		ConsistentHashRing after = new ConsistentHashRing(1L, List.of("a", "b", "c", "d"), 128);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 노드 추가 전후의 사용자별 소유 노드를 구한다.
+		 * */
+		Map<String, Integer> owned = new HashMap<>();
+		int moved = 0;
+		int movedToOthers = 0;
+		for (long userId = 1; userId <= userCount; userId++) {
+			String owner = before.owner(userId);
+			owned.merge(owner, 1, Integer::sum);
+			if(!owner.equals(after.owner(userId))) {
+				moved++;
+				if(!after.owner(userId).equals("d"))
+					movedToOthers++;
+			}
+		}
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 노드별 사용자 수는 평균(1/3)에서 크게 벗어나지 않고, 새 노드의 몫(약 1/4)만큼만 새 노드로 옮겨가야 한다.
+		 * */
+		for (int count : owned.values()) {
+			Assertions.assertTrue(Math.abs(count - userCount / 3) < userCount / 3 * 0.25, "노드별 사용자 수 : " + owned);
+		}
+		assertEquals(0, movedToOthers);
+		Assertions.assertTrue(Math.abs(moved - userCount / 4) < userCount / 4 * 0.25, "옮겨간 사용자 수 : " + moved);
+	}
+
+	@Test
+	@DisplayName("[샤드 멤버 변경 검증] 충전이 계속되는 동안 노드가 추가되고 이후 다른 노드가 제거될때, 모든 사용자의 잔액과 내역이 유지되는 동작에 대한 테스트")
+	void usersKeepPointsAndHistoriesAcrossJoinAndLeave() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 노드 A, B로 구성된 샤드에 40명의 사용자를 한 번씩 충전하고, 아직 멤버가 아닌 노드 C를 기동한다.
+		 * */
+		int[] ports = freePorts(3);
+		String a = node(ports[0]);
+		String b = node(ports[1]);
+		String c = node(ports[2]);
+		start(ports[0], a, b);
+		start(ports[1], a, b);
+		start(ports[2], a, b);
+
+		int userCount = 40;
+		long baseUserId = 70_000L;
+		AtomicLongArray charged = new AtomicLongArray(userCount);
+		for (int i = 0; i < userCount; i++) {
+			assertEquals(200, send(i % 2 == 0 ? a : b, "PATCH", "/point/" + (baseUserId + i) + "/charge", "100").statusCode());
+			charged.addAndGet(i, 1);
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 노드 A에 C의 추가를 요청하는 동안 다른 스레드에서 충전을 계속하고, 이후 B의 제거를 요청한 뒤 B를 종료한다.
+		 * */
+		AtomicBoolean running = new AtomicBoolean(true);
+		CompletableFuture<Void> load = CompletableFuture.runAsync(() -> {
+			for (int i = 0; running.get(); i++) {
+				int index = i % userCount;
+				try {
+					if(send(i % 2 == 0 ? a : b, "PATCH", "/point/" + (baseUserId + index) + "/charge", "100").statusCode() == 200)
+						charged.addAndGet(index, 1);
+				} catch(Exception ignored) {
+
+				}
+			}
+		});
+		HttpResponse<String> joined = send(a, "POST", "/point/shards/join?node=" + c, null);
+		running.set(false);
+		load.join();
+
+		Map<Long, Long> pointsAfterJoin = points(c, baseUserId, userCount);
+		HttpResponse<String> left = send(a, "POST", "/point/shards/leave?node=" + b, null);
+		contexts.get(1).close();
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 멤버 변경 후에도 성공한 충전이 모두 잔액과 내역에 반영되어 있고, 노드 C가 일부 사용자를 소유해야 한다.
+		 * */
+		assertEquals(200, joined.statusCode());
+		assertEquals(200, left.statusCode());
+		assertEquals(List.of(a, c).stream().sorted().toList(), nodes(send(c, "GET", "/point/shards", null)));
+
+		int ownedByC = 0;
+		for (int i = 0; i < userCount; i++) {
+			long userId = baseUserId + i;
+			long expected = charged.get(i) * 100L;
+			assertEquals(expected, pointsAfterJoin.get(userId));
+			assertEquals(expected, point(a, userId));
+			assertEquals(expected, point(c, userId));
+			assertEquals(charged.get(i), objectMapper.readTree(send(c, "GET", "/point/" + userId + "/histories", null).body()).size());
+			if(new ConsistentHashRing(0L, List.of(a, c), 128).owner(userId).equals(c))
+				ownedByC++;
+		}
+		Assertions.assertTrue(ownedByC > 0);
+	}
+
+	@Test
+	@DisplayName("[샤드 부하 검증] 요청 스레드가 8개인 노드에 서로 다른 사용자의 충전 240건이 동시에 발생할때, 노드 1개와 노드 3개 모두 모든 충전을 반영하고 처리량을 기록하는 동작에 대한 테스트")
+	void threeShardsChargeFasterThanOne() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 노드 1개로 구성된 샤드와 노드 3개로 구성된 샤드를 기동한다.
+		 * */
+		int requestCount = 240;
+		int[] ports = freePorts(4);
+		String single = node(ports[0]);
+		List<String> cluster = List.of(node(ports[1]), node(ports[2]), node(ports[3]));
+		start(ports[0], single);
+		for (int i = 1; i < ports.length; i++) {
+			start(ports[i], cluster.toArray(String[]::new));
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 각 샤드에 서로 다른 사용자의 충전을 동시에 요청한다(노드 3개인 경우 노드를 번갈아 요청).
+		 * */
+		double singleThroughput = measure(List.of(single), 80_000L, requestCount);
+		double clusterThroughput = measure(cluster, 90_000L, requestCount);
+		log.info("동시 충전 {}건, 노드별 요청 스레드 {}개 - 노드 1개 : {} req/s, 노드 3개 : {} req/s",
+				requestCount, REQUEST_THREADS, String.format("%.1f", singleThroughput), String.format("%.1f", clusterThroughput));
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 처리량은 실행 환경에 따라 달라지므로 비교하지 않고 기록만 하며, 모든 충전이 소유 노드에 반영되어야 한다.
+		 * */
+		for (int i = 0; i < requestCount; i += 40) {
+			assertEquals(100L, point(cluster.get(0), 90_000L + i));
+		}
+	}
+
+	@Test
+	@DisplayName("[샤드 전달 시간 초과 검증] 소유 노드가 응답하지 않을때, 전달한 요청은 무기한 기다리지 않고 forward-timeout-millis 뒤에 504로 응답하는 동작에 대한 테스트")
+	void forwardedRequestTimesOutWithGatewayTimeout() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 연결은 받지만 응답하지 않는 노드를 멤버로 두고, 그 노드가 소유한 사용자를 고른다.
+		 * */
+		int[] ports = freePorts(1);
+		try (ServerSocket silent = new ServerSocket(0)) {
+			String node = node(ports[0]);
+			String silentNode = node(silent.getLocalPort());
+			start(ports[0], List.of("--point.shard.forward-timeout-millis=500"), node, silentNode);
+			ConsistentHashRing ring = new ConsistentHashRing(0L, List.of(node, silentNode), 128);
+			long userId = 95_000L;
+			while (!ring.owner(userId).equals(silentNode)) {
+				userId++;
+			}
+
+			/*
+			 * when
+			 * - 실제 동작이 이루어진다.
+			 * */
+			long startTime = System.nanoTime();
+			HttpResponse<String> response = send(node, "GET", "/point/" + userId, null);
+			long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000L;
+
+			/*
+			 * Then
+			 * - 최종적으로 테스트를 검증한다.
+			 * - 전달 요청의 timeout(500ms)이 지난 뒤 504로 응답해야 한다.
+			 * */
+			assertEquals(504, response.statusCode());
+			assertEquals("504", objectMapper.readTree(response.body()).get("code").asText());
+			Assertions.assertTrue(elapsedMillis >= 500L);
+		}
+	}
+
+	@Test
+	@DisplayName("[샤드 멤버 변경 실패 검증] 추가한 노드가 사용자를 옮기지 못할때, 변경이 실패하고 모든 노드가 이전 멤버로 되돌아가 사용자의 요청이 이전 소유 노드에서 계속 처리되는 동작에 대한 테스트")
+	void failedJoinRollsBackToPreviousMembers() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 노드 1개를 기동하고, ring 설치와 내보내기(빈 목록)에는 응답하지만 가져오기(rebalance)에는 실패하는 노드를 준비한다.
+		 * - 추가할 노드가 소유하게 될 사용자를 골라 충전한다.
+		 * */
+		int[] ports = freePorts(1);
+		String node = node(ports[0]);
+		start(ports[0], node);
+		List<String> failingRequests = new CopyOnWriteArrayList<>();
+		HttpServer failing = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		failing.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			failingRequests.add(exchange.getRequestMethod() + " " + path);
+			byte[] body = (path.endsWith("/handoff") ? "[]" : "{}").getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(path.endsWith("/rebalance") ? 500 : 200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		failing.start();
+		try {
+			String failingNode = node(failing.getAddress().getPort());
+			ConsistentHashRing joinedRing = new ConsistentHashRing(1L, List.of(node, failingNode), 128);
+			long userId = 96_000L;
+			while (!joinedRing.owner(userId).equals(failingNode)) {
+				userId++;
+			}
+			send(node, "PATCH", "/point/" + userId + "/charge", "100");
+
+			/*
+			 * when
+			 * - 실제 동작이 이루어진다.
+			 * */
+			HttpResponse<String> joined = send(node, "POST", "/point/shards/join?node=" + failingNode, null);
+			HttpResponse<String> status = send(node, "GET", "/point/shards", null);
+			HttpResponse<String> charged = send(node, "PATCH", "/point/" + userId + "/charge", "100");
+
+			/*
+			 * Then
+			 * - 최종적으로 테스트를 검증한다.
+			 * - 변경은 실패로 응답하고, 두 노드 모두에 이전 멤버(노드 1개)로 되돌리는 변경(version 2)이 설치되어야 한다.
+			 * - 사용자의 충전은 이전 소유 노드에서 이어서 반영되어야 한다.
+			 * */
+			assertEquals(500, joined.statusCode());
+			assertEquals(2L, objectMapper.readTree(status.body()).get("version").asLong());
+			assertEquals(List.of(node), nodes(status));
+			Assertions.assertFalse(objectMapper.readTree(status.body()).get("migrating").asBoolean());
+			assertEquals(List.of("PUT /point/shards", "POST /point/shards/rebalance", "PUT /point/shards", "POST /point/shards/handoff"), failingRequests);
+			assertEquals(200, charged.statusCode());
+			assertEquals(200L, point(node, userId));
+		} finally {
+			failing.stop(0);
+		}
+	}
+
+	@Test
+	@DisplayName("[샤드 멤버 변경 검증] 내역을 cursor로 페이지 조회하는 도중 사용자가 추가된 노드로 옮겨갈때, 이전 페이지의 cursor로 빠지거나 중복된 내역 없이 이어서 조회되는 동작에 대한 테스트")
+	void historyPagesContinueAcrossJoin() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 노드 A만 멤버인 샤드에서, 노드 B가 추가되면 B가 소유하게 될 사용자를 5번 충전하고 첫 페이지(2건)를 조회한다.
+		 * - 옮기는 내역을 2건씩 나누어 가져오도록 하여 여러 페이지로 옮겨지도록 한다.
+		 * */
+		int[] ports = freePorts(2);
+		String a = node(ports[0]);
+		String b = node(ports[1]);
+		List<String> properties = List.of("--point.shard.handoff-page-rows=2");
+		start(ports[0], properties, a);
+		start(ports[1], properties, a);
+
+		ConsistentHashRing joinedRing = new ConsistentHashRing(1L, List.of(a, b), 128);
+		long userId = 97_000L;
+		while (!joinedRing.owner(userId).equals(b)) {
+			userId++;
+		}
+		for (int i = 0; i < 5; i++) {
+			assertEquals(200, send(a, "PATCH", "/point/" + userId + "/charge", "100").statusCode());
+		}
+		JsonNode firstPage = objectMapper.readTree(send(a, "GET", "/point/" + userId + "/histories/page?limit=2", null).body());
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - B를 추가한 뒤 한 번 더 충전하고, 첫 페이지의 cursor로 다음 페이지를 조회한다(B로 전달된다).
+		 * */
+		HttpResponse<String> joined = send(a, "POST", "/point/shards/join?node=" + b, null);
+		assertEquals(200, send(a, "PATCH", "/point/" + userId + "/charge", "100").statusCode());
+		JsonNode nextPage = objectMapper.readTree(send(a, "GET", "/point/" + userId + "/histories/page?limit=10&cursor=" + firstPage.get("cursor").asLong(), null).body());
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 첫 페이지는 1~2번째 내역, 다음 페이지는 옮겨온 3~5번째 내역과 옮겨간 뒤의 6번째 내역이어야 한다.
+		 * */
+		assertEquals(200, joined.statusCode());
+		assertEquals(List.of(100L, 200L), amounts(firstPage));
+		assertEquals(2L, firstPage.get("cursor").asLong());
+		assertEquals(List.of(300L, 400L, 500L, 600L), amounts(nextPage));
+		assertEquals(6L, nextPage.get("cursor").asLong());
+		assertEquals(600L, point(b, userId));
+	}
+
+	private List<Long> amounts(JsonNode page) {
+		List<Long> amounts = new ArrayList<>();
+		for (JsonNode history : page.get("histories")) {
+			amounts.add(history.get("amount").asLong());
+		}
+		return amounts;
+	}
+
+	private double measure(List<String> nodes, long baseUserId, int requestCount) {
+		List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(requestCount);
+		long startTime = System.nanoTime();
+		for (int i = 0; i < requestCount; i++) {
+			responses.add(httpClient.sendAsync(request(nodes.get(i % nodes.size()), "PATCH", "/point/" + (baseUserId + i) + "/charge", "100"), HttpResponse.BodyHandlers.ofString()));
+		}
+		for (CompletableFuture<HttpResponse<String>> response : responses) {
+			assertEquals(200, response.join().statusCode());
+		}
+		long elapsedMillis = Math.max(1L, (System.nanoTime() - startTime) / 1_000_000L);
+		return requestCount * 1000.0 / elapsedMillis;
+	}
+
+	private void start(int port, String... nodes) {
+		start(port, List.of(), nodes);
+	}
+
+	private void start(int port, List<String> properties, String... nodes) {
+		//application.yml보다 우선하도록 명령행 인자로 전달한다
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=" + port,
+				"--server.tomcat.threads.max=" + REQUEST_THREADS,
+				"--point.shard.enabled=true",
+				"--point.shard.self=" + node(port),
+				"--point.shard.nodes=" + String.join(",", nodes)
+		));
+		args.addAll(properties);
+		contexts.add(new SpringApplicationBuilder(TddApplication.class).run(args.toArray(String[]::new)));
+	}
+
+	private Map<Long, Long> points(String node, long baseUserId, int userCount) throws Exception {
+		Map<Long, Long> points = new HashMap<>();
+		for (long userId = baseUserId; userId < baseUserId + userCount; userId++) {
+			points.put(userId, point(node, userId));
+		}
+		return points;
+	}
+
+	private long point(String node, long userId) throws Exception {
+		return objectMapper.readTree(send(node, "GET", "/point/" + userId, null).body()).get("point").asLong();
+	}
+
+	private List<String> nodes(HttpResponse<String> status) throws IOException {
+		List<String> nodes = new ArrayList<>();
+		for (JsonNode node : objectMapper.readTree(status.body()).get("nodes")) {
+			nodes.add(node.asText());
+		}
+		return nodes;
+	}
+
+	private HttpResponse<String> send(String node, String method, String path, String body) throws Exception {
+		return httpClient.send(request(node, method, path, body), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest request(String node, String method, String path, String body) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node + path))
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+		if(body != null)
+			builder.header("Content-Type", "application/json");
+
+		return builder.build();
+	}
+
+	private static String node(int port) {
+		return "http://localhost:" + port;
+	}
+
+	private static int[] freePorts(int count) throws IOException {
+		int[] ports = new int[count];
+		List<ServerSocket> sockets = new ArrayList<>();
+		try {
+			for (int i = 0; i < count; i++) {
+				ServerSocket socket = new ServerSocket(0);
+				sockets.add(socket);
+				ports[i] = socket.getLocalPort();
+			}
+		} finally {
+			for (ServerSocket socket : sockets) {
+				socket.close();
+			}
+		}
+		return ports;
+	}
+}
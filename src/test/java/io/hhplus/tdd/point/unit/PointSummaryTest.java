@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.summary.DailyPointSummary;
+import io.hhplus.tdd.point.summary.PointSummary;
+import io.hhplus.tdd.point.summary.PointSummaryRebuild;
+import io.hhplus.tdd.point.summary.PointSummaryStore;
+
+@SpringBootTest
+public class PointSummaryTest {
+
+	private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+	@Autowired
+	private PointService pointService;
+
+	@Test
+	@DisplayName("[내역 요약 검증] 충전/사용이 동시에 발생한 뒤 요약을 조회할때, 유형별 건수/합계와 마지막 포인트가 내역과 같고 다시 계산한 요약과 일치하는 동작에 대한 테스트")
+	void summaryMatchesHistoriesAfterConcurrentChargesAndUses() throws Exception {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 1000포인트를 충전한 뒤, 100포인트 충전과 50포인트 사용을 각각 10건씩 동시에 요청한다.
+		 * */
+		long userId = 9200L;
+		int requestCount = 10;
+		pointService.charge(userId, 1000L);
+		CountDownLatch doneSignal = new CountDownLatch(requestCount * 2);
+		ExecutorService executorService = Executors.newFixedThreadPool(requestCount * 2);
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		for (int i = 0; i < requestCount; i++) {
+			executorService.execute(() -> {
+				try {
+					pointService.charge(userId, 100L);
+				} catch(Exception ignored) {
+
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+			executorService.execute(() -> {
+				try {
+					pointService.use(userId, 50L);
+				} catch(Exception ignored) {
+
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		doneSignal.await();
+		executorService.shutdown();
+		PointSummary summary = pointService.summary(userId);
+		PointSummaryRebuild rebuild = pointService.rebuildSummary(userId);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 충전 2000포인트(11건), 사용 500포인트(10건), 마지막 포인트 1500이고, 다시 계산한 요약과 같아야 한다.
+		 * */
+		assertEquals(21L, summary.count());
+		assertEquals(11L, summary.chargeCount());
+		assertEquals(2000L, summary.chargeTotal());
+		assertEquals(10L, summary.useCount());
+		assertEquals(500L, summary.useTotal());
+		assertEquals(1500L, summary.point());
+		assertEquals(pointService.point(userId).point(), summary.point());
+		assertEquals(1, summary.days().size());
+		assertEquals(21L, summary.days().get(0).count());
+		Assertions.assertTrue(rebuild.consistent());
+		assertEquals(summary, rebuild.rebuilt());
+	}
+
+	@Test
+	@DisplayName("[일자별 요약 검증] 여러 일자의 내역이 추가될때, 일자별 합계가 시간대 기준으로 나누어지고 최근 일자만 보관되며, 전체 합계는 모든 내역을 포함하는 동작에 대한 테스트")
+	void dailyBucketsKeepRecentDays() {
+
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 최근 3일만 보관하는 요약을 구성하고, 5일 동안 하루 1만 건씩(충전 10포인트, 사용 5포인트 반복) 내역을 추가한다.
+		 * */
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointSummaryStore pointSummaryStore = new PointSummaryStore(pointHistoryTable, true, "Asia/Seoul", 3);
+		long userId = 1L;
+		long startMillis = LocalDate.of(2024, 1, 1).atStartOfDay(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
+		int perDay = 10_000;
+		long point = 0L;
+		for (int day = 0; day < 5; day++) {
+			for (int i = 0; i < perDay; i++) {
+				boolean charge = i % 2 == 0;
+				point += charge ? 10L : -5L;
+				pointHistoryTable.restore(userId, point, charge ? TransactionType.CHARGE : TransactionType.USE, startMillis + day * DAY_MILLIS + i);
+			}
+		}
+
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		PointSummary summary = pointSummaryStore.summary(userId);
+
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 전체 합계는 5일치, 일자별 요약은 최근 3일(1월 3일 ~ 5일)이며, 다시 계산한 요약과 같아야 한다.
+		 * - 요약 조회와 전체 내역 조회의 시간 비교는 PointSummaryBenchmark에서 측정한다.
+		 * */
+		assertEquals(5L * perDay, summary.count());
+		assertEquals(5L * perDay / 2 * 10, summary.chargeTotal());
+		assertEquals(5L * perDay / 2 * 5, summary.useTotal());
+		assertEquals(point, summary.point());
+		assertEquals(startMillis, summary.firstMillis());
+		assertEquals(List.of(
+				new DailyPointSummary(LocalDate.of(2024, 1, 3), perDay, perDay / 2 * 10L, perDay / 2 * 5L),
+				new DailyPointSummary(LocalDate.of(2024, 1, 4), perDay, perDay / 2 * 10L, perDay / 2 * 5L),
+				new DailyPointSummary(LocalDate.of(2024, 1, 5), perDay, perDay / 2 * 10L, perDay / 2 * 5L)
+		), summary.days());
+		Assertions.assertTrue(pointSummaryStore.rebuild(userId).consistent());
+	}
+}
@@ -2,11 +2,17 @@ package io.hhplus.tdd.point.unit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
@@ -17,9 +23,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicyException;
 import io.hhplus.tdd.point.PointService;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.actor.PointMailboxEngine;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.cache.UserPointCacheStats;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.PointQueueTimeoutException;
+import io.hhplus.tdd.point.lock.UserLockManager;
 
 @SpringBootTest
 public class PointUnitTest {
@@ -28,9 +45,18 @@ public class PointUnitTest {
 	
 	private static int MAX_THREAD = 3000;
 	
+	//사용자 단위 락 처리량 테스트에서 사용자마다 요청하는 충전 횟수
+	private static final int CHARGE_PER_USER = 10;
+	
 	@Autowired
 	private PointService pointService;
 	
+	@Autowired
+	private UserLockManager userLockManager;
+	
+	@Autowired
+	private PointController pointController;
+	
 	@Test
 	@DisplayName("[환경에 따른 추가 테스트] user1 정보를 확인하는 동작에 대한 테스트")
 	void confirmUser1FromUserPoint() {
@@ -385,4 +411,462 @@ public class PointUnitTest {
 		assertEquals(expectedPoint, actualPoint);
 		assertEquals(expectedSuccessCount, successCount.longValue());
 	}
+	
+	@Test
+	@DisplayName("[사용자 단위 락 동시성 검증] 서로 다른 사용자의 충전은 각자의 락으로 동시에 임계영역에 진입하고, 동일 사용자의 충전은 직렬로 처리되는 동작에 대한 테스트")
+	void distinctUsersEnterCriticalSectionConcurrentlyWithUserLock() throws Exception {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 사용자마다 CHARGE_PER_USER 개의 충전 요청이 동시에 발생한다.
+		 * - 사용자 락 관리자를 따로 구성하고, distinctUserCount명이 모두 도착해야 통과하는 barrier를 준비한다.
+		 * */
+		long baseUserId = 1000L;
+		long chargePoint = 10L;
+		int distinctUserCount = 8;
+		UserLockManager lockManager = new UserLockManager(true, 5000L);
+		CyclicBarrier allInside = new CyclicBarrier(distinctUserCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(distinctUserCount);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - distinctUserCount명의 사용자에 대한 충전의 처리량(건/초)을 측정한다(기록용).
+		 * - 사용자마다 자신의 락을 보유한 채로 barrier에서 다른 사용자들을 기다린다.
+		 *   락이 사용자마다 독립적이라면 모든 사용자가 동시에 임계영역 안에 있게 되어 barrier를 통과한다.
+		 * */
+		double multiUserThroughput = measureChargeThroughput(baseUserId + 100L, distinctUserCount, chargePoint);
+		log.info("사용자 {}명 처리량 : {}건/초", distinctUserCount, multiUserThroughput);
+		
+		List<Future<Integer>> insides = new ArrayList<>();
+		for (int i = 0; i < distinctUserCount; i++) {
+			long userId = baseUserId + i;
+			insides.add(executorService.submit(() -> lockManager.executeWithLock(userId, () -> allInside.await(5, TimeUnit.SECONDS))));
+		}
+		for (Future<Integer> inside : insides) {
+			inside.get(10, TimeUnit.SECONDS);
+		}
+		executorService.shutdown();
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 동일 사용자는 직렬화되어 충전 누락이 없어야 하고, 사용이 끝난 사용자 락은 모두 회수되어야 한다.
+		 * - 모든 사용자의 임계영역이 함께 barrier를 통과(시간 초과 없이 완료)해야 한다.
+		 * */
+		for (int i = 0; i < distinctUserCount; i++) {
+			assertEquals(CHARGE_PER_USER * chargePoint, pointService.point(baseUserId + 100L + i).point());
+		}
+		assertEquals(0, userLockManager.activeLockCount());
+		Assertions.assertFalse(allInside.isBroken());
+		assertEquals(0, lockManager.activeLockCount());
+	}
+	
+	@Test
+	@DisplayName("[사용자 요청 대기열 검증] 동일 사용자의 락을 최대 대기 시간 안에 획득하지 못하면 PointQueueTimeoutException으로 빠르게 실패하는 동작에 대한 테스트")
+	void throwPointQueueTimeoutExceptionWhenWaitingLongerThanMaxWait() throws InterruptedException {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 최대 대기 시간이 50ms인 공정 락 관리자를 구성하고, 다른 스레드가 사용자 락을 보유하도록 한다.
+		 * */
+		long userId = 2000L;
+		UserLockManager lockManager = new UserLockManager(true, 50L);
+		CountDownLatch lockAcquired = new CountDownLatch(1);
+		CountDownLatch releaseSignal = new CountDownLatch(1);
+		
+		Thread holder = new Thread(() -> {
+			try {
+				lockManager.executeWithLock(userId, () -> {
+					lockAcquired.countDown();
+					return releaseSignal.await(5, TimeUnit.SECONDS);
+				});
+			} catch(Exception e) {
+				log.info(e.getMessage());
+			}
+		});
+		holder.start();
+		lockAcquired.await();
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 락을 보유한 동안의 대기열 상태를 확인한다.
+		 * */
+		int queueDepthWhileHeld = lockManager.status(userId).queueDepth();
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 대기 시간을 초과한 요청은 예외로 실패하고, 락 보유 스레드가 종료되면 락이 회수되어야 한다.
+		 * */
+		Assertions.assertThrows(PointQueueTimeoutException.class, ()->{
+			lockManager.executeWithLock(userId, () -> 0L);
+		});
+		
+		releaseSignal.countDown();
+		holder.join();
+		
+		assertEquals(0, queueDepthWhileHeld);
+		assertEquals(0, lockManager.activeLockCount());
+	}
+	
+	@Test
+	@DisplayName("[메일박스 엔진 검증] 동일 사용자의 명령은 적재된 순서대로 처리되고, 처리되지 않은 명령은 메일박스 적체로 조회되는 동작에 대한 테스트")
+	void commandsOfSameUserAreProcessedInSubmittedOrderByMailbox() throws Exception {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 메일박스 스레드가 첫 명령에서 대기하도록 하여 이후 명령이 적체되도록 한다.
+		 * */
+		long userId = 3000L;
+		int commandCount = 100;
+		PointMailboxEngine mailboxEngine = new PointMailboxEngine(2, 1000, 10000L);
+		CountDownLatch releaseSignal = new CountDownLatch(1);
+		List<Integer> processedOrder = new ArrayList<>();
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 동일 사용자의 명령을 순서대로 적재한다.
+		 * */
+		mailboxEngine.submit(userId, () -> releaseSignal.await(5, TimeUnit.SECONDS));
+		
+		List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < commandCount; i++) {
+			int order = i;
+			futures.add(mailboxEngine.submit(userId, () -> {
+				processedOrder.add(order);
+				return order;
+			}));
+		}
+		int backlogWhileBlocked = mailboxEngine.status(userId).queueDepth();
+		
+		releaseSignal.countDown();
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+		mailboxEngine.shutdown();
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 명령은 적재된 순서대로 처리되어야 하고, 대기 중인 명령의 수가 적체로 조회되어야 한다.
+		 * */
+		assertEquals(commandCount, backlogWhileBlocked);
+		for (int i = 0; i < commandCount; i++) {
+			assertEquals(i, processedOrder.get(i));
+		}
+	}
+	
+	@Test
+	@DisplayName("[내역 쓰기 지연 검증] 버퍼보다 많은 내역을 적재하더라도 종료(flush) 시 모든 내역이 사용자별 적재 순서대로 기록되는 동작에 대한 테스트")
+	void allPendingHistoriesAreWrittenInOrderWhenWriterIsFlushed() throws Exception {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 버퍼 크기(4)보다 많은 내역을 적재하여 적재하는 스레드가 대기(backpressure)하도록 한다.
+		 * */
+		long userId = 4000L;
+		int historyCount = 12;
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, true, 4, 2, 2);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 내역을 적재한 뒤 기록기를 종료한다.
+		 * */
+		List<CompletableFuture<PointHistory>> acks = new ArrayList<>();
+		for (int i = 0; i < historyCount; i++) {
+			acks.add(pointHistoryWriter.append(userId, i, TransactionType.CHARGE, System.currentTimeMillis()));
+		}
+		pointHistoryWriter.flush();
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 모든 기록 확인(ack)이 완료되고, 내역은 적재한 순서대로 기록되어야 한다.
+		 * */
+		List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+		assertEquals(historyCount, histories.size());
+		for (int i = 0; i < historyCount; i++) {
+			Assertions.assertTrue(acks.get(i).isDone());
+			assertEquals(i, histories.get(i).amount());
+		}
+		assertEquals(0, pointHistoryWriter.pendingCount());
+	}
+	
+	@Test
+	@DisplayName("[내역 쓰기 지연 검증] 여러 스레드가 내역을 적재하는 도중에 종료(flush)될때, 종료 직전에 적재된 내역까지 모든 기록 확인(ack)이 완료되는 동작에 대한 테스트")
+	void appendsRacingWithFlushAreAllAcknowledged() throws Exception {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 작은 버퍼(8)와 writer 2개로 기록기를 구성하고, 8개의 스레드가 내역을 계속 적재한다.
+		 * */
+		int threadCount = 8;
+		int historyPerThread = 30;
+		PointHistoryTable pointHistoryTable = new PointHistoryTable();
+		PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, true, 8, 4, 2);
+		List<CompletableFuture<PointHistory>> acks = new CopyOnWriteArrayList<>();
+		CountDownLatch startSignal = new CountDownLatch(threadCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 모든 스레드가 적재를 시작하면 기록기를 종료하고, 적재가 끝날 때까지 기다린다.
+		 * */
+		for (int i = 0; i < threadCount; i++) {
+			long userId = 4100L + i;
+			executorService.execute(() -> {
+				startSignal.countDown();
+				for (int j = 0; j < historyPerThread; j++) {
+					acks.add(pointHistoryWriter.append(userId, j, TransactionType.CHARGE, j));
+				}
+			});
+		}
+		startSignal.await();
+		pointHistoryWriter.flush();
+		executorService.shutdown();
+		Assertions.assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 모든 기록 확인이 완료되고, 사용자별 내역은 적재한 순서대로 모두 기록되어야 한다.
+		 * */
+		assertEquals(threadCount * historyPerThread, acks.size());
+		for (CompletableFuture<PointHistory> ack : acks) {
+			ack.get(10, TimeUnit.SECONDS);
+		}
+		for (int i = 0; i < threadCount; i++) {
+			List<PointHistory> histories = pointHistoryTable.selectAllByUserId(4100L + i);
+			assertEquals(historyPerThread, histories.size());
+			for (int j = 0; j < historyPerThread; j++) {
+				assertEquals(j, histories.get(j).amount());
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName("[포인트 조회 캐시 검증] 조회는 캐시를 거쳐 적재되고, 반영된 포인트로 캐시가 갱신되며, 만료된 항목은 다시 테이블에서 조회하는 동작에 대한 테스트")
+	void userPointCacheReadsThroughAndWritesThroughTable() throws InterruptedException {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 만료 시간이 200ms인 캐시를 구성한다.
+		 * */
+		long userId = 5000L;
+		long chargedPoint = 300L;
+		UserPointCache userPointCache = new UserPointCache(new UserPointTable(), true, 1000, 200L);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 조회(miss) → 조회(hit) → 반영 → 조회(hit) → 만료 후 조회(miss) 순서로 동작한다.
+		 * */
+		userPointCache.selectById(userId);
+		userPointCache.selectById(userId);
+		userPointCache.insertOrUpdate(userId, chargedPoint);
+		long cachedPoint = userPointCache.selectById(userId).point();
+		
+		TimeUnit.MILLISECONDS.sleep(250L);
+		long expiredPoint = userPointCache.selectById(userId).point();
+		UserPointCacheStats stats = userPointCache.stats();
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 반영된 포인트는 캐시와 테이블 모두에서 동일하게 조회되어야 한다.
+		 * */
+		assertEquals(chargedPoint, cachedPoint);
+		assertEquals(chargedPoint, expiredPoint);
+		assertEquals(2L, stats.hits());
+		assertEquals(2L, stats.misses());
+		assertEquals(1L, stats.evictions());
+	}
+	
+	@Test
+	@DisplayName("[조회 요청 병합 검증] 동일 사용자의 조회 50건이 동시에 발생할때, 테이블 조회는 실행 중인 조회 하나로 병합되고 모든 조회가 같은 결과를 받는 동작에 대한 테스트")
+	void concurrentLookupsOfSameUserAreCollapsedIntoOneTableRead() throws InterruptedException {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 캐시를 사용하지 않아 모든 조회가 테이블 조회로 이어지고, 테이블 조회는 100ms가 걸리도록 한다.
+		 * */
+		long userId = 5100L;
+		int requestCount = 50;
+		AtomicInteger tableReads = new AtomicInteger();
+		UserPointTable userPointTable = new UserPointTable() {
+			@Override
+			public UserPoint selectById(Long id) {
+				tableReads.incrementAndGet();
+				sleep(100L);
+				return new UserPoint(id, 700L, 0L);
+			}
+		};
+		UserPointCache userPointCache = new UserPointCache(userPointTable, false, 1000, 60000L, true);
+		List<UserPoint> results = new CopyOnWriteArrayList<>();
+		CountDownLatch startSignal = new CountDownLatch(1);
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		for (int i = 0; i < requestCount; i++) {
+			executorService.execute(() -> {
+				try {
+					startSignal.await();
+					results.add(userPointCache.selectById(userId));
+				} catch(InterruptedException ignored) {
+					
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		startSignal.countDown();
+		doneSignal.await();
+		executorService.shutdown();
+		UserPointCacheStats stats = userPointCache.stats();
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 실행된 테이블 조회와 병합된 조회의 합은 전체 조회 수와 같아야 한다.
+		 * */
+		assertEquals(requestCount, results.size());
+		results.forEach(result -> assertEquals(700L, result.point()));
+		Assertions.assertTrue(tableReads.get() < requestCount / 2);
+		assertEquals(tableReads.get(), stats.loads());
+		assertEquals(requestCount, stats.loads() + stats.collapsed());
+	}
+	
+	@Test
+	@DisplayName("[조회 요청 병합 검증] 반영이 완료된 이후의 조회는 반영 이전에 시작된 조회를 기다리지 않고, 반영된 포인트를 조회하는 동작에 대한 테스트")
+	void lookupAfterWriteDoesNotJoinLookupStartedBeforeWrite() throws Exception {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 첫 번째 테이블 조회는 반영 이전의 포인트를 읽은 뒤, 신호를 받을 때까지 반환하지 않도록 한다.
+		 * */
+		long userId = 5200L;
+		CountDownLatch firstReadStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirstRead = new CountDownLatch(1);
+		AtomicInteger tableReads = new AtomicInteger();
+		UserPointTable userPointTable = new UserPointTable() {
+			@Override
+			public UserPoint selectById(Long id) {
+				UserPoint userPoint = super.selectById(id);
+				if(tableReads.incrementAndGet() == 1) {
+					firstReadStarted.countDown();
+					try {
+						releaseFirstRead.await();
+					} catch(InterruptedException ignored) {
+						
+					}
+				}
+				return userPoint;
+			}
+		};
+		UserPointCache userPointCache = new UserPointCache(userPointTable, false, 1000, 60000L, true);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - 조회가 실행 중인 동안 포인트를 반영하고, 반영이 완료된 뒤 다시 조회한다.
+		 * */
+		CompletableFuture<UserPoint> staleRead = CompletableFuture.supplyAsync(() -> userPointCache.selectById(userId));
+		firstReadStarted.await();
+		userPointCache.insertOrUpdate(userId, 500L);
+		long readAfterWrite = userPointCache.selectById(userId).point();
+		releaseFirstRead.countDown();
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 반영 이후의 조회는 새로운 테이블 조회로 반영된 포인트를 받아야 한다.
+		 * */
+		assertEquals(500L, readAfterWrite);
+		assertEquals(0L, staleRead.get().point());
+		assertEquals(2, tableReads.get());
+		assertEquals(0L, userPointCache.stats().collapsed());
+	}
+	
+	@Test
+	@DisplayName("[내역 페이지 조회 검증] limit이 1보다 작은 페이지 조회는 PointPolicyException(400)으로 거절하고, 1 이상이면 limit건까지 조회하는 동작에 대한 테스트")
+	void rejectHistoryPageWithLimitLessThanOne() throws Exception {
+		
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - 충전 내역 2건을 남긴다.
+		 * */
+		long userId = 5300L;
+		pointService.charge(userId, 100L);
+		pointService.charge(userId, 100L);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * - limit 1로 내역을 조회한다.
+		 * */
+		List<PointHistory> page = pointController.history(userId, null, null, null, 1);
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - limit 1은 1건을 조회하고, limit 0과 음수는 정책 위반으로 거절되어야 한다.
+		 * */
+		assertEquals(1, page.size());
+		Assertions.assertThrows(PointPolicyException.class, () -> pointController.history(userId, null, null, null, 0));
+		Assertions.assertThrows(PointPolicyException.class, () -> pointController.history(userId, 0L, null, null, -1));
+	}
+	
+	private static void sleep(long millis) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch(InterruptedException ignored) {
+			
+		}
+	}
+	
+	/*
+	 * userCount명의 사용자에게 각각 CHARGE_PER_USER번의 충전을 동시에 요청하고 처리량(건/초)을 반환한다.
+	 * */
+	private double measureChargeThroughput(long baseUserId, int userCount, long chargePoint) throws InterruptedException {
+		int requestCount = userCount * CHARGE_PER_USER;
+		CountDownLatch doneSignal = new CountDownLatch(requestCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+		
+		long startTime = System.nanoTime();
+		for (int i = 0; i < requestCount; i++) {
+			long userId = baseUserId + (i % userCount);
+			executorService.execute(() -> {
+				try {
+					pointService.charge(userId, chargePoint);
+				} catch(Exception e) {
+					log.info(e.getMessage());
+				} finally {
+					doneSignal.countDown();
+				}
+			});
+		}
+		
+		doneSignal.await();
+		long endTime = System.nanoTime();
+		executorService.shutdown();
+		
+		return requestCount / ((endTime - startTime) / 1_000_000_000.0);
+	}
 }
@@ -2,6 +2,8 @@ package io.hhplus.tdd.point.unit.integration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,14 +11,33 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
 
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.PointRule;
 import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
 
+/*
+ * user1(100포인트)과 빈 포인트 내역에서 시작하는 것을 전제로 검증하므로,
+ * 테스트마다 새로운 컨텍스트(테이블, 캐시)를 구성하여 다른 테스트의 충전/사용 결과가 남지 않도록 한다.
+ * */
 @SpringBootTest
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
 public class PointIntegrationTest {
 	
 	private static final Logger log = LoggerFactory.getLogger(PointService.class);
 	
+	//테이블 조회가 항상 실패하는 사용자(일괄 처리 중 한 사용자의 묶음 처리가 예기치 않게 실패하는 상황)
+	private static final long FAILING_USER_ID = 66L;
+	
 	@Autowired
 	PointService pointService;
 	
@@ -255,4 +276,99 @@ public class PointIntegrationTest {
 		 * */
 		assertEquals(expectedSize, actualSize);
 	}
+	
+	@Test
+	@DisplayName("[일괄처리API 동작 검증] 여러 사용자의 충전/사용 연산을 한 번에 요청할때, 사용자별로 요청 순서대로 반영하고 정책에 어긋나는 연산만 실패로 응답하는 동작에 대한 테스트")
+	void applyBatchOperationsWithPartialFailure() throws Exception {
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - user1(100포인트)과 신규 사용자(40L)의 연산을 섞어서 요청한다.
+		 * - user1의 두 번째 사용(500)은 잔액 부족, 신규 사용자의 충전(MAX_POINT 초과)은 금액 범위 위반으로 실패해야 한다.
+		 * */
+		long user1Id = 1L;
+		long newUserId = 40L;
+		List<PointOperation> operations = List.of(
+				new PointOperation(user1Id, TransactionType.CHARGE, 100L),
+				new PointOperation(newUserId, TransactionType.CHARGE, 300L),
+				new PointOperation(user1Id, TransactionType.USE, 500L),
+				new PointOperation(newUserId, TransactionType.CHARGE, PointRule.MAX_POINT + 1L),
+				new PointOperation(user1Id, TransactionType.USE, 50L)
+		);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		List<PointOperationResult> results = pointService.batch(operations);
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 연산별 결과는 요청 순서대로 반환되고, 성공한 연산만 잔액과 내역에 반영된다.
+		 * */
+		assertEquals(operations.size(), results.size());
+		assertEquals(List.of(true, true, false, false, true), results.stream().map(PointOperationResult::success).toList());
+		assertEquals(200L, results.get(0).userPoint().point());
+		assertEquals(150L, results.get(4).userPoint().point());
+		
+		assertEquals(150L, pointService.point(user1Id).point());
+		assertEquals(300L, pointService.point(newUserId).point());
+		assertEquals(2, pointService.history(user1Id).size());
+		assertEquals(1, pointService.history(newUserId).size());
+	}
+	
+	@Test
+	@DisplayName("[일괄처리API 동작 검증] 한 사용자의 묶음 처리가 예기치 않은 예외로 실패할때, 해당 사용자의 연산만 실패로 응답하고 다른 사용자의 반영 결과는 그대로 응답하는 동작에 대한 테스트")
+	void failOnlyOperationsOfUserWhoseGroupThrows() throws Exception {
+		/*
+		 * given
+		 * - 테스트에 사용할 변수 및 입력값을 정의한다.
+		 * - user1, 테이블 조회가 실패하는 사용자, 신규 사용자의 연산을 섞어서 요청한다.
+		 * */
+		long user1Id = 1L;
+		long newUserId = 41L;
+		List<PointOperation> operations = List.of(
+				new PointOperation(user1Id, TransactionType.CHARGE, 100L),
+				new PointOperation(FAILING_USER_ID, TransactionType.CHARGE, 10L),
+				new PointOperation(newUserId, TransactionType.CHARGE, 20L),
+				new PointOperation(FAILING_USER_ID, TransactionType.USE, 5L)
+		);
+		
+		/*
+		 * when
+		 * - 실제 동작이 이루어진다.
+		 * */
+		List<PointOperationResult> results = pointService.batch(operations);
+		
+		/*
+		 * Then
+		 * - 최종적으로 테스트를 검증한다.
+		 * - 조회가 실패한 사용자의 연산만 실패 사유와 함께 실패하고, 다른 사용자의 연산은 반영된 결과를 받아야 한다.
+		 * */
+		assertEquals(List.of(true, false, true, false), results.stream().map(PointOperationResult::success).toList());
+		assertEquals("테이블 조회에 실패했습니다.", results.get(1).error());
+		assertEquals("테이블 조회에 실패했습니다.", results.get(3).error());
+		assertEquals(200L, pointService.point(user1Id).point());
+		assertEquals(20L, pointService.point(newUserId).point());
+		assertEquals(0, pointService.history(FAILING_USER_ID).size());
+	}
+	
+	@TestConfiguration
+	static class FailingUserPointTableConfig {
+		
+		@Bean
+		@Primary
+		UserPointTable failingUserPointTable() {
+			return new UserPointTable() {
+				@Override
+				public UserPoint selectById(Long id) {
+					if(id == FAILING_USER_ID)
+						throw new IllegalStateException("테이블 조회에 실패했습니다.");
+					
+					return super.selectById(id);
+				}
+			};
+		}
+	}
 }